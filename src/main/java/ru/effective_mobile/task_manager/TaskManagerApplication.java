@@ -2,8 +2,10 @@ package ru.effective_mobile.task_manager;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class TaskManagerApplication {
   public static void main(String[] args) {
     SpringApplication.run(TaskManagerApplication.class, args);
@@ -0,0 +1,240 @@
+package ru.effective_mobile.task_manager.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Локальный кэш ограниченного размера с вытеснением давно не использованных записей (LRU) и
+ * истечением записей по времени жизни (TTL). Ведет счетчики попаданий, промахов и вытеснений.
+ *
+ * <p>Загрузка значения выполняется вне блокировки, поэтому медленный источник данных не блокирует
+ * остальные обращения к кэшу. Если во время загрузки кэш был инвалидирован, загруженное значение не
+ * сохраняется, чтобы не вернуть в кэш устаревшие данные.
+ *
+ * @param <K> тип ключа
+ * @param <V> тип значения
+ */
+public class ExpiringLruCache<K, V> {
+
+  private final int maxSize;
+  private final long ttlNanos;
+  private final LongSupplier ticker;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final LinkedHashMap<K, Entry<V>> entries;
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+  private final AtomicLong invalidations = new AtomicLong();
+
+  public ExpiringLruCache(int maxSize, Duration ttl) {
+    this(maxSize, ttl, System::nanoTime);
+  }
+
+  ExpiringLruCache(int maxSize, Duration ttl, LongSupplier ticker) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("Cache size must be positive");
+    }
+    this.maxSize = maxSize;
+    this.ttlNanos = ttl.toNanos();
+    this.ticker = ticker;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true);
+  }
+
+  /**
+   * Возвращает значение из кэша.
+   *
+   * @param key Ключ.
+   * @return Значение или пустой Optional, если записи нет или она истекла.
+   */
+  public Optional<V> get(K key) {
+    lock.lock();
+    try {
+      Entry<V> entry = entries.get(key);
+      if (entry != null && !isExpired(entry)) {
+        hits.incrementAndGet();
+        return Optional.of(entry.value());
+      }
+      if (entry != null) {
+        entries.remove(key);
+        evictions.incrementAndGet();
+      }
+      misses.incrementAndGet();
+      return Optional.empty();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Возвращает значение из кэша без учета в счетчиках попаданий и промахов. Предназначен для
+   * служебных обращений, например для изменения закэшированного значения при записи, которые не
+   * должны искажать долю попаданий.
+   *
+   * @param key Ключ.
+   * @return Значение или пустой Optional, если записи нет или она истекла.
+   */
+  public Optional<V> peek(K key) {
+    lock.lock();
+    try {
+      Entry<V> entry = entries.get(key);
+      if (entry == null) {
+        return Optional.empty();
+      }
+      if (isExpired(entry)) {
+        entries.remove(key);
+        evictions.incrementAndGet();
+        return Optional.empty();
+      }
+      return Optional.of(entry.value());
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Возвращает значение из кэша, при промахе загружая его через {@code loader}. Значение null не
+   * кэшируется; исключения загрузчика пробрасываются вызывающему.
+   *
+   * @param key Ключ.
+   * @param loader Функция загрузки значения.
+   * @return Значение.
+   */
+  public V get(K key, Function<? super K, ? extends V> loader) {
+    Optional<V> cached = get(key);
+    if (cached.isPresent()) {
+      return cached.get();
+    }
+    long invalidationsBeforeLoad = invalidations.get();
+    V value = loader.apply(key);
+    if (value != null) {
+      putIfNotInvalidated(key, value, invalidationsBeforeLoad);
+    }
+    return value;
+  }
+
+  /**
+   * Помещает значение в кэш.
+   *
+   * @param key Ключ.
+   * @param value Значение.
+   */
+  public void put(K key, V value) {
+    lock.lock();
+    try {
+      entries.put(key, new Entry<>(value, ticker.getAsLong()));
+      evictOverflow();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Удаляет запись из кэша.
+   *
+   * @param key Ключ.
+   */
+  public void invalidate(K key) {
+    lock.lock();
+    try {
+      invalidations.incrementAndGet();
+      entries.remove(key);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Очищает кэш. */
+  public void invalidateAll() {
+    lock.lock();
+    try {
+      invalidations.incrementAndGet();
+      entries.clear();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int size() {
+    lock.lock();
+    try {
+      return entries.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public long hitCount() {
+    return hits.get();
+  }
+
+  public long missCount() {
+    return misses.get();
+  }
+
+  public long evictionCount() {
+    return evictions.get();
+  }
+
+  /**
+   * Регистрирует метрики кэша в формате стандартных метрик кэшей Micrometer.
+   *
+   * @param registry Реестр метрик.
+   * @param cacheName Имя кэша, попадает в тег {@code cache}.
+   */
+  public void bindTo(MeterRegistry registry, String cacheName) {
+    FunctionCounter.builder("cache.gets", this, ExpiringLruCache::hitCount)
+        .tags("cache", cacheName, "result", "hit")
+        .description("Количество попаданий в кэш")
+        .register(registry);
+    FunctionCounter.builder("cache.gets", this, ExpiringLruCache::missCount)
+        .tags("cache", cacheName, "result", "miss")
+        .description("Количество промахов кэша")
+        .register(registry);
+    FunctionCounter.builder("cache.evictions", this, ExpiringLruCache::evictionCount)
+        .tags("cache", cacheName)
+        .description("Количество вытесненных и истекших записей")
+        .register(registry);
+    Gauge.builder("cache.size", this, ExpiringLruCache::size)
+        .tags("cache", cacheName)
+        .description("Количество записей в кэше")
+        .register(registry);
+  }
+
+  private void putIfNotInvalidated(K key, V value, long invalidationsBeforeLoad) {
+    lock.lock();
+    try {
+      if (invalidations.get() == invalidationsBeforeLoad) {
+        entries.put(key, new Entry<>(value, ticker.getAsLong()));
+        evictOverflow();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void evictOverflow() {
+    Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+    while (entries.size() > maxSize && iterator.hasNext()) {
+      iterator.next();
+      iterator.remove();
+      evictions.incrementAndGet();
+    }
+  }
+
+  private boolean isExpired(Entry<V> entry) {
+    return ticker.getAsLong() - entry.createdAt() > ttlNanos;
+  }
+
+  private record Entry<V>(V value, long createdAt) {}
+}
@@ -0,0 +1,58 @@
+package ru.effective_mobile.task_manager.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.function.ToDoubleFunction;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+/**
+ * Публикует статистику регионов кэша второго уровня Hibernate в метриках {@code cache.gets} и
+ * {@code cache.puts} с тегом {@code cache=<регион>}, как и у остальных кэшей приложения.
+ */
+@Component
+public class HibernateCacheMetrics implements MeterBinder {
+
+  private final Statistics statistics;
+
+  public HibernateCacheMetrics(EntityManagerFactory entityManagerFactory) {
+    this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    for (String region : statistics.getSecondLevelCacheRegionNames()) {
+      register(registry, "cache.gets", region, "hit", CacheRegionStatistics::getHitCount);
+      register(registry, "cache.gets", region, "miss", CacheRegionStatistics::getMissCount);
+      FunctionCounter.builder(
+              "cache.puts", statistics, regionStatistic(region, CacheRegionStatistics::getPutCount))
+          .tags("cache", region)
+          .description("Количество записей в регион кэша второго уровня")
+          .register(registry);
+    }
+  }
+
+  private void register(
+      MeterRegistry registry,
+      String name,
+      String region,
+      String result,
+      ToDoubleFunction<CacheRegionStatistics> count) {
+    FunctionCounter.builder(name, statistics, regionStatistic(region, count))
+        .tags("cache", region, "result", result)
+        .description("Количество обращений к региону кэша второго уровня")
+        .register(registry);
+  }
+
+  private static ToDoubleFunction<Statistics> regionStatistic(
+      String region, ToDoubleFunction<CacheRegionStatistics> count) {
+    return statistics -> {
+      CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+      return regionStatistics == null ? 0 : count.applyAsDouble(regionStatistics);
+    };
+  }
+}
@@ -0,0 +1,128 @@
+package ru.effective_mobile.task_manager.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Кэш сущностей в пределах одного HTTP-запроса. Позволяет проверкам доступа и методам сервисов,
+ * выполняющимся в рамках одного запроса, загружать одну и ту же сущность из базы данных не более
+ * одного раза. Вне HTTP-запроса (например, в фоновых задачах) просто делегирует загрузку.
+ *
+ * <p>Количество загрузок сущностей за запрос публикуется в метрике {@code
+ * entity.loads.per.request}.
+ */
+@Component
+public class RequestEntityCache {
+
+  private static final String ENTITIES_ATTRIBUTE = RequestEntityCache.class.getName() + ".entities";
+  private static final String LOADS_ATTRIBUTE = RequestEntityCache.class.getName() + ".loads";
+
+  private final DistributionSummary loadsPerRequest;
+  private final Counter reuses;
+
+  public RequestEntityCache(MeterRegistry meterRegistry) {
+    this.loadsPerRequest =
+        DistributionSummary.builder("entity.loads.per.request")
+            .description("Количество загрузок сущностей из базы данных за один HTTP-запрос")
+            .register(meterRegistry);
+    this.reuses =
+        Counter.builder("entity.reuses")
+            .description("Количество повторных обращений к сущности, обслуженных без запроса к БД")
+            .register(meterRegistry);
+  }
+
+  /**
+   * Возвращает сущность, загруженную ранее в рамках текущего запроса, либо загружает ее.
+   *
+   * @param type Класс сущности.
+   * @param id Идентификатор сущности.
+   * @param loader Функция загрузки сущности из базы данных.
+   * @return Сущность или пустой Optional, если она не найдена.
+   * @param <T> тип сущности
+   * @param <ID> тип идентификатора
+   */
+  public <T, ID> Optional<T> find(Class<T> type, ID id, Function<ID, Optional<T>> loader) {
+    RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    if (attributes == null) {
+      return loader.apply(id);
+    }
+
+    Map<EntityKey, Object> entities = entities(attributes);
+    EntityKey key = new EntityKey(type, id);
+    Object cached = entities.get(key);
+    if (cached != null) {
+      reuses.increment();
+      return Optional.of(type.cast(cached));
+    }
+
+    Optional<T> loaded = loader.apply(id);
+    countLoad(attributes);
+    loaded.ifPresent(entity -> entities.put(key, entity));
+    return loaded;
+  }
+
+  /**
+   * Возвращает сущность, если она уже была загружена в рамках текущего запроса.
+   *
+   * @param type Класс сущности.
+   * @param id Идентификатор сущности.
+   * @return Сущность или пустой Optional, если она еще не загружалась.
+   * @param <T> тип сущности
+   */
+  public <T> Optional<T> findLoaded(Class<T> type, Object id) {
+    RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    if (attributes == null) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(entities(attributes).get(new EntityKey(type, id))).map(type::cast);
+  }
+
+  /**
+   * Удаляет сущность из кэша текущего запроса.
+   *
+   * @param type Класс сущности.
+   * @param id Идентификатор сущности.
+   */
+  public void evict(Class<?> type, Object id) {
+    RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    if (attributes != null) {
+      entities(attributes).remove(new EntityKey(type, id));
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<EntityKey, Object> entities(RequestAttributes attributes) {
+    Map<EntityKey, Object> entities =
+        (Map<EntityKey, Object>)
+            attributes.getAttribute(ENTITIES_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    if (entities == null) {
+      entities = new HashMap<>();
+      attributes.setAttribute(ENTITIES_ATTRIBUTE, entities, RequestAttributes.SCOPE_REQUEST);
+    }
+    return entities;
+  }
+
+  private void countLoad(RequestAttributes attributes) {
+    int[] loads = (int[]) attributes.getAttribute(LOADS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    if (loads == null) {
+      int[] counter = {0};
+      attributes.setAttribute(LOADS_ATTRIBUTE, counter, RequestAttributes.SCOPE_REQUEST);
+      attributes.registerDestructionCallback(
+          LOADS_ATTRIBUTE,
+          () -> loadsPerRequest.record(counter[0]),
+          RequestAttributes.SCOPE_REQUEST);
+      loads = counter;
+    }
+    loads[0]++;
+  }
+
+  private record EntityKey(Class<?> type, Object id) {}
+}
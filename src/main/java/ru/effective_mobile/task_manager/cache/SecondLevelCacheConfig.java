@@ -0,0 +1,83 @@
+package ru.effective_mobile.task_manager.cache;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.effective_mobile.task_manager.entities.Task;
+import ru.effective_mobile.task_manager.entities.User;
+
+/**
+ * Кэш второго уровня Hibernate на Ehcache (JCache). Кэшируются сущности {@link User} и {@link
+ * Task}, а также результаты запросов с подсказкой {@code org.hibernate.cacheable}. Регионы
+ * создаются здесь, чтобы их размер и время жизни задавались настройками приложения.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+  private static final long TIMESTAMPS_MAX_SIZE = 1000;
+
+  /**
+   * Менеджер кэша для регионов Hibernate. Для каждого контекста приложения создается отдельный
+   * менеджер со своим URI, так как провайдер JCache хранит менеджеры глобально по URI.
+   */
+  @Bean(destroyMethod = "close")
+  public CacheManager hibernateCacheManager(
+      @Value("${app.cache.users.max-size:10000}") long usersMaxSize,
+      @Value("${app.cache.users.ttl:10m}") Duration usersTtl,
+      @Value("${app.cache.tasks.max-size:50000}") long tasksMaxSize,
+      @Value("${app.cache.tasks.ttl:10m}") Duration tasksTtl,
+      @Value("${app.cache.queries.max-size:10000}") long queriesMaxSize,
+      @Value("${app.cache.queries.ttl:5m}") Duration queriesTtl) {
+    org.ehcache.config.Configuration configuration =
+        ConfigurationBuilder.newConfigurationBuilder()
+            .withCache(User.class.getName(), region(usersMaxSize, usersTtl))
+            .withCache(Task.class.getName(), region(tasksMaxSize, tasksTtl))
+            .withCache(
+                RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                region(queriesMaxSize, queriesTtl))
+            // Метки времени обновления таблиц (по одной на таблицу) не должны истекать раньше
+            // результатов запросов, иначе кэш запросов может вернуть устаревшие данные.
+            .withCache(
+                RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                CacheConfigurationBuilder.newCacheConfigurationBuilder(
+                    Object.class, Object.class, ResourcePoolsBuilder.heap(TIMESTAMPS_MAX_SIZE)))
+            .build();
+    EhcacheCachingProvider provider =
+        (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+    return provider.getCacheManager(
+        URI.create("urn:task-manager:hibernate:" + UUID.randomUUID()), configuration);
+  }
+
+  @Bean
+  public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager cacheManager) {
+    return (Map<String, Object> properties) -> {
+      properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+      properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+      properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+      properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+      properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+      properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+    };
+  }
+
+  private static CacheConfigurationBuilder<Object, Object> region(long maxSize, Duration ttl) {
+    return CacheConfigurationBuilder.newCacheConfigurationBuilder(
+            Object.class, Object.class, ResourcePoolsBuilder.heap(maxSize))
+        .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(ttl));
+  }
+}
@@ -9,6 +9,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -19,6 +21,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import ru.effective_mobile.task_manager.dto.*;
+import ru.effective_mobile.task_manager.exception.PasswordHashingRejectedException;
 import ru.effective_mobile.task_manager.exception.TokenRefreshException;
 import ru.effective_mobile.task_manager.security.JwtRequestFilter;
 import ru.effective_mobile.task_manager.service.RefreshTokenService;
@@ -53,6 +56,10 @@ public class AuthController {
         @ApiResponse(
             responseCode = "400",
             description = "Неверный email или пароль",
+            content = @Content),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Сервер перегружен, повторите попытку позже",
             content = @Content)
       })
   @PostMapping("/login")
@@ -64,6 +71,12 @@ public class AuthController {
           new UsernamePasswordAuthenticationToken(
               authRequest.getEmail(), authRequest.getPassword()));
     } catch (Exception e) {
+      // Для неизвестного email пароль хэшируется при поиске пользователя (защита от timing-атак),
+      // и отказ пула хэширования может прийти обернутым в InternalAuthenticationServiceException
+      if (NestedExceptionUtils.getMostSpecificCause(e)
+          instanceof PasswordHashingRejectedException) {
+        return serviceUnavailable();
+      }
       return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Неверный email или пароль");
     }
 
@@ -73,7 +86,6 @@ public class AuthController {
     log.debug("Generated JWT: {}", jwt);
     log.debug("Generated Refresh Token: {}", refreshToken);
 
-    userService.saveRefreshToken(authRequest.getEmail(), refreshToken);
     return ResponseEntity.ok(new AuthResponse(jwt, refreshToken));
   }
 
@@ -81,7 +93,11 @@ public class AuthController {
   @ApiResponses(
       value = {
         @ApiResponse(responseCode = "200", description = "Пользователь успешно зарегистрирован"),
-        @ApiResponse(responseCode = "400", description = "Ошибка регистрации", content = @Content)
+        @ApiResponse(responseCode = "400", description = "Ошибка регистрации", content = @Content),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Сервер перегружен, повторите попытку позже",
+            content = @Content)
       })
   @PostMapping("/register")
   public ResponseEntity<?> registerUser(
@@ -90,6 +106,8 @@ public class AuthController {
     try {
       userService.registerUser(registrationRequest);
       return ResponseEntity.ok("Пользователь успешно зарегистрирован!");
+    } catch (PasswordHashingRejectedException e) {
+      return serviceUnavailable();
     } catch (Exception e) {
       return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
     }
@@ -127,12 +145,27 @@ public class AuthController {
   @Operation(summary = "Выход пользователя и аннулирование refresh токена")
   @ApiResponses(
       value = {
-        @ApiResponse(responseCode = "200", description = "Выход успешный", content = @Content)
+        @ApiResponse(responseCode = "200", description = "Выход успешный", content = @Content),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Неверный или просроченный refresh токен",
+            content = @Content)
       })
   @PostMapping("/logout")
   public ResponseEntity<?> logoutUser(
       @RequestBody @Parameter(description = "Запрос на выход") LogoutRequest logoutRequest) {
-    refreshTokenService.deleteRefreshToken(logoutRequest.getEmail());
-    return ResponseEntity.ok("Выход успешный");
+    try {
+      refreshTokenService.deleteRefreshToken(
+          logoutRequest.getRefreshToken(), logoutRequest.isAllDevices());
+      return ResponseEntity.ok("Выход успешный");
+    } catch (TokenRefreshException e) {
+      return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+    }
+  }
+
+  private ResponseEntity<?> serviceUnavailable() {
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .body("Сервер перегружен, повторите попытку позже");
   }
 }
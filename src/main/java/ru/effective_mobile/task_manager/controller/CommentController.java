@@ -12,12 +12,14 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import ru.effective_mobile.task_manager.dto.CommentRequest;
 import ru.effective_mobile.task_manager.dto.CommentResponse;
+import ru.effective_mobile.task_manager.dto.CursorPage;
 import ru.effective_mobile.task_manager.service.CommentService;
 
 /** Контроллер для работы с комментариями. */
@@ -97,6 +99,10 @@ public class CommentController {
                   mediaType = "application/json",
                   schema = @Schema(implementation = Page.class))
             }),
+        @ApiResponse(
+            responseCode = "304",
+            description = "Данные не изменились с момента получения копии",
+            content = @Content),
         @ApiResponse(
             responseCode = "400",
             description = "Неверные данные запроса",
@@ -111,10 +117,67 @@ public class CommentController {
       "hasRole('ADMIN') or (hasRole('USER') and @taskService.isAssignee(authentication.name, #taskId))")
   public ResponseEntity<?> getCommentsByTask(
       @PathVariable @Parameter(description = "Идентификатор задачи") Long taskId,
-      Pageable pageable) {
+      Pageable pageable,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+          @Parameter(
+              description =
+                  "ETag сохраненной копии ответа; без заголовка ETag списка не возвращается")
+          String ifNoneMatch) {
+    try {
+      return ETags.ofList(
+          ifNoneMatch,
+          () -> commentService.getCommentsWatermark(taskId),
+          () -> commentService.getCommentsByTask(taskId, pageable));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+    } catch (Exception e) {
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Произошла ошибка");
+    }
+  }
+
+  /**
+   * Получает ленту комментариев задачи в порядке написания.
+   *
+   * @param taskId Идентификатор задачи.
+   * @param after Курсор предыдущей страницы.
+   * @param size Размер страницы.
+   * @return Страница ленты или сообщение об ошибке.
+   */
+  @Operation(
+      summary = "Лента комментариев задачи",
+      description =
+          "Курсорная пагинация без подсчета общего количества. Для следующей страницы передайте"
+              + " nextCursor из ответа в параметре after.",
+      security = @SecurityRequirement(name = "Bearer Authentication"))
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Комментарии успешно получены",
+            content = {
+              @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = CursorPage.class))
+            }),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Неверный курсор или размер страницы",
+            content = @Content),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Внутренняя ошибка сервера",
+            content = @Content)
+      })
+  @PreAuthorize(
+      "hasRole('ADMIN') or (hasRole('USER') and @taskService.isAssignee(authentication.name, #taskId))")
+  @GetMapping("/task/{taskId}/feed")
+  public ResponseEntity<?> getCommentFeedByTask(
+      @PathVariable @Parameter(description = "Идентификатор задачи") Long taskId,
+      @RequestParam(required = false) @Parameter(description = "Курсор предыдущей страницы")
+          String after,
+      @RequestParam(defaultValue = "20") @Parameter(description = "Размер страницы") int size) {
     try {
-      Page<CommentResponse> comments = commentService.getCommentsByTask(taskId, pageable);
-      return ResponseEntity.ok(comments);
+      return ResponseEntity.ok(commentService.getCommentFeedByTask(taskId, after, size));
     } catch (IllegalArgumentException e) {
       return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
     } catch (Exception e) {
@@ -0,0 +1,148 @@
+package ru.effective_mobile.task_manager.controller;
+
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import ru.effective_mobile.task_manager.repository.Watermark;
+
+/**
+ * Построение ETag для задач и списков и разбор условных заголовков. ETag задачи — ее версия, ETag
+ * списка — отметка состояния выборки. Оба значения сильные: меняются при любом изменении данных,
+ * попадающих в ответ. Отметка списка требует агрегации по всей выборке, поэтому ETag списка
+ * вычисляется и возвращается только на условный запрос с заголовком If-None-Match.
+ */
+final class ETags {
+
+  /**
+   * Ответы зависят от пользователя и могут меняться в любой момент, поэтому разделяемые кэши их не
+   * хранят, а клиент перепроверяет сохраненную копию при каждом обращении через If-None-Match.
+   */
+  static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+  private ETags() {}
+
+  /**
+   * Возвращает ETag задачи.
+   *
+   * @param version Версия задачи.
+   * @return Версия задачи в кавычках.
+   */
+  static String ofVersion(long version) {
+    return "\"" + version + "\"";
+  }
+
+  /**
+   * Возвращает ETag списка.
+   *
+   * @param watermark Отметка состояния выборки.
+   * @return Количество записей, контрольная сумма и время последнего изменения в микросекундах в
+   *     кавычках.
+   */
+  static String ofWatermark(Watermark watermark) {
+    String eTag = watermark.count() + "-" + Long.toHexString(watermark.checksum());
+    if (watermark.lastModifiedAt() == null) {
+      return "\"" + eTag + "\"";
+    }
+    long micros =
+        TimeUnit.SECONDS.toMicros(watermark.lastModifiedAt().toEpochSecond(ZoneOffset.UTC))
+            + TimeUnit.NANOSECONDS.toMicros(watermark.lastModifiedAt().getNano());
+    return "\"" + eTag + "-" + Long.toHexString(micros) + "\"";
+  }
+
+  /**
+   * Проверяет, есть ли текущий ETag среди перечисленных в заголовке If-None-Match. Сравнение
+   * слабое, как требует RFC 9110 для этого заголовка.
+   *
+   * @param ifNoneMatch Значение заголовка If-None-Match или null.
+   * @param eTag Текущий ETag.
+   * @return true, если у клиента актуальная копия ответа.
+   */
+  static boolean matches(String ifNoneMatch, String eTag) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+    for (String tag : ifNoneMatch.split(",")) {
+      String value = tag.trim();
+      if (value.startsWith("W/")) {
+        value = value.substring(2);
+      }
+      if (value.equals("*") || value.equals(eTag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Возвращает ответ с телом, ETag и заголовком Cache-Control.
+   *
+   * @param eTag ETag ответа.
+   * @param body Тело ответа.
+   * @return Ответ 200.
+   */
+  static <T> ResponseEntity<T> ok(String eTag, T body) {
+    return ResponseEntity.ok().eTag(eTag).cacheControl(CACHE_CONTROL).body(body);
+  }
+
+  /**
+   * Возвращает список с учетом условного заголовка. Без If-None-Match отметка состояния не читается
+   * и ответ возвращается без ETag. Отметка читается до списка: если данные изменятся между
+   * запросами, ETag окажется старше ответа и клиент получит список заново при следующем обращении.
+   *
+   * @param ifNoneMatch Значение заголовка If-None-Match или null.
+   * @param watermark Чтение отметки состояния выборки.
+   * @param body Чтение списка.
+   * @return Ответ 304, если у клиента актуальная копия, иначе ответ 200 со списком.
+   */
+  static <T> ResponseEntity<T> ofList(
+      String ifNoneMatch, Supplier<Watermark> watermark, Supplier<T> body) {
+    if (ifNoneMatch == null) {
+      return ResponseEntity.ok().cacheControl(CACHE_CONTROL).body(body.get());
+    }
+    String eTag = ofWatermark(watermark.get());
+    if (matches(ifNoneMatch, eTag)) {
+      return notModified(eTag);
+    }
+    return ok(eTag, body.get());
+  }
+
+  /**
+   * Возвращает ответ без тела для клиента с актуальной копией.
+   *
+   * @param eTag ETag ответа.
+   * @return Ответ 304.
+   */
+  static <T> ResponseEntity<T> notModified(String eTag) {
+    return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+        .eTag(eTag)
+        .cacheControl(CACHE_CONTROL)
+        .build();
+  }
+
+  /**
+   * Извлекает ожидаемую версию задачи из заголовка If-Match.
+   *
+   * @param ifMatch Значение заголовка If-Match или null.
+   * @return Ожидаемая версия или null, если заголовок не передан или равен "*".
+   * @throws OptimisticLockingFailureException Если заголовок не содержит версию задачи, например
+   *     слабый ETag: такое условие не может совпасть ни с одной версией.
+   */
+  static Long parseIfMatch(String ifMatch) {
+    if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+      return null;
+    }
+    String value = ifMatch.trim();
+    if (value.length() > 1 && value.startsWith("\"") && value.endsWith("\"")) {
+      value = value.substring(1, value.length() - 1);
+    }
+    try {
+      return Long.valueOf(value);
+    } catch (NumberFormatException e) {
+      throw new OptimisticLockingFailureException("Task version mismatch");
+    }
+  }
+}
@@ -2,6 +2,7 @@ package ru.effective_mobile.task_manager.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -9,18 +10,33 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.io.InputStream;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.effective_mobile.task_manager.dto.CursorPage;
 import ru.effective_mobile.task_manager.dto.PartialUpdateTaskRequest;
+import ru.effective_mobile.task_manager.dto.TaskBatchResult;
+import ru.effective_mobile.task_manager.dto.TaskBatchUpdateRequest;
+import ru.effective_mobile.task_manager.dto.TaskImportResult;
 import ru.effective_mobile.task_manager.dto.TaskRequest;
 import ru.effective_mobile.task_manager.dto.TaskResponse;
 import ru.effective_mobile.task_manager.dto.UpdateTaskStatusRequest;
+import ru.effective_mobile.task_manager.exception.ChangesCursorExpiredException;
+import ru.effective_mobile.task_manager.service.TaskChangesService;
+import ru.effective_mobile.task_manager.service.TaskExportService;
+import ru.effective_mobile.task_manager.service.TaskImportService;
 import ru.effective_mobile.task_manager.service.TaskService;
 
 @Tag(name = "Задачи", description = "Эндпоинты для работы с задачами")
@@ -29,6 +45,9 @@ import ru.effective_mobile.task_manager.service.TaskService;
 @RequiredArgsConstructor
 public class TaskController {
   private final TaskService taskService;
+  private final TaskExportService taskExportService;
+  private final TaskImportService taskImportService;
+  private final TaskChangesService taskChangesService;
 
   /**
    * Метод создания задачи.
@@ -79,6 +98,140 @@ public class TaskController {
     }
   }
 
+  /**
+   * Метод пакетного создания задач.
+   *
+   * @param taskRequests Запросы, содержащие данные о задачах.
+   * @return ResponseEntity с результатами по каждой задаче или сообщением об ошибке.
+   */
+  @Operation(
+      summary = "Пакетное создание задач",
+      description =
+          "Необходима роль администратора! Элементы с ошибками пропускаются, остальные сохраняются"
+              + " в одной транзакции. Результат возвращается по каждому элементу.",
+      security = @SecurityRequirement(name = "Bearer Authentication"))
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Пакет обработан",
+            content = {
+              @Content(
+                  mediaType = "application/json",
+                  array = @ArraySchema(schema = @Schema(implementation = TaskBatchResult.class)))
+            }),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Пустой пакет или превышен допустимый размер пакета",
+            content = @Content),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Внутренняя ошибка сервера",
+            content = @Content)
+      })
+  @PreAuthorize("hasRole('ADMIN')")
+  @PostMapping("/batch")
+  public ResponseEntity<?> createTasksBatch(
+      @RequestBody @Parameter(description = "Данные для создания задач")
+          List<TaskRequest> taskRequests) {
+    try {
+      return ResponseEntity.ok(taskService.createTasksBatch(taskRequests));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+    } catch (Exception e) {
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Произошла ошибка");
+    }
+  }
+
+  /**
+   * Метод пакетного частичного обновления задач.
+   *
+   * @param taskRequests Запросы, содержащие идентификаторы и изменения задач.
+   * @return ResponseEntity с результатами по каждой задаче или сообщением об ошибке.
+   */
+  @Operation(
+      summary = "Пакетное частичное обновление задач",
+      description =
+          "Необходима роль администратора! Элементы с ошибками пропускаются, остальные сохраняются"
+              + " в одной транзакции. Результат возвращается по каждому элементу.",
+      security = @SecurityRequirement(name = "Bearer Authentication"))
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Пакет обработан",
+            content = {
+              @Content(
+                  mediaType = "application/json",
+                  array = @ArraySchema(schema = @Schema(implementation = TaskBatchResult.class)))
+            }),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Пустой пакет или превышен допустимый размер пакета",
+            content = @Content),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Внутренняя ошибка сервера",
+            content = @Content)
+      })
+  @PreAuthorize("hasRole('ADMIN')")
+  @PatchMapping("/batch")
+  public ResponseEntity<?> updateTasksBatch(
+      @RequestBody @Parameter(description = "Данные для частичного обновления задач")
+          List<TaskBatchUpdateRequest> taskRequests) {
+    try {
+      return ResponseEntity.ok(taskService.updateTasksBatch(taskRequests));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+    } catch (Exception e) {
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Произошла ошибка");
+    }
+  }
+
+  /**
+   * Метод импорта задач из NDJSON. Входные данные читаются построчно и сохраняются порциями, каждая
+   * порция фиксируется в отдельной транзакции.
+   *
+   * @param body Тело запроса: одна задача в формате JSON на строку.
+   * @return ResponseEntity с количеством импортированных задач и ошибками по строкам.
+   */
+  @Operation(
+      summary = "Импорт задач из NDJSON",
+      description =
+          "Необходима роль администратора! Каждая строка тела запроса содержит одну задачу."
+              + " Строки с ошибками пропускаются, остальные сохраняются порциями.",
+      security = @SecurityRequirement(name = "Bearer Authentication"))
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Импорт завершен",
+            content = {
+              @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = TaskImportResult.class))
+            }),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Неверные данные запроса",
+            content = @Content),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Внутренняя ошибка сервера",
+            content = @Content)
+      })
+  @PreAuthorize("hasRole('ADMIN')")
+  @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<?> importTasks(InputStream body) {
+    try {
+      return ResponseEntity.ok(taskImportService.importTasks(body));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+    } catch (Exception e) {
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Произошла ошибка");
+    }
+  }
+
   @Operation(
       summary = "Полное обновление задачи",
       description = "Требуется роль администратора!",
@@ -97,6 +250,14 @@ public class TaskController {
             responseCode = "400",
             description = "Неверные данные запроса",
             content = @Content),
+        @ApiResponse(
+            responseCode = "409",
+            description = "Задача была изменена другим запросом",
+            content = @Content),
+        @ApiResponse(
+            responseCode = "412",
+            description = "Версия задачи не совпадает с заголовком If-Match",
+            content = @Content),
         @ApiResponse(
             responseCode = "500",
             description = "Внутренняя ошибка сервера",
@@ -106,11 +267,20 @@ public class TaskController {
   @PutMapping("/{id}")
   public ResponseEntity<TaskResponse> fullUpdateTask(
       @PathVariable @Parameter(description = "Идентификатор задачи") Long id,
-      @RequestBody @Parameter(description = "Данные для обновления задачи")
-          TaskRequest taskRequest) {
+      @RequestBody @Parameter(description = "Данные для обновления задачи") TaskRequest taskRequest,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+          @Parameter(description = "Ожидаемая версия задачи (ETag)")
+          String ifMatch) {
     try {
-      TaskResponse taskResponse = taskService.fullUpdateTask(id, taskRequest);
-      return ResponseEntity.ok(taskResponse);
+      TaskResponse taskResponse =
+          taskService.fullUpdateTask(id, taskRequest, ETags.parseIfMatch(ifMatch));
+      return ResponseEntity.ok()
+          .eTag(ETags.ofVersion(taskResponse.getVersion()))
+          .body(taskResponse);
+    } catch (OptimisticLockingFailureException e) {
+      return ResponseEntity.status(
+              ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT)
+          .body(null);
     } catch (IllegalArgumentException e) {
       return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
     } catch (Exception e) {
@@ -136,6 +306,14 @@ public class TaskController {
             responseCode = "400",
             description = "Неверные данные запроса",
             content = @Content),
+        @ApiResponse(
+            responseCode = "409",
+            description = "Задача была изменена другим запросом",
+            content = @Content),
+        @ApiResponse(
+            responseCode = "412",
+            description = "Версия задачи не совпадает с заголовком If-Match",
+            content = @Content),
         @ApiResponse(
             responseCode = "500",
             description = "Внутренняя ошибка сервера",
@@ -146,10 +324,20 @@ public class TaskController {
   public ResponseEntity<TaskResponse> partialUpdateTask(
       @PathVariable @Parameter(description = "Идентификатор задачи") Long id,
       @RequestBody @Parameter(description = "Данные для частичного обновления задачи")
-          PartialUpdateTaskRequest taskRequest) {
+          PartialUpdateTaskRequest taskRequest,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+          @Parameter(description = "Ожидаемая версия задачи (ETag)")
+          String ifMatch) {
     try {
-      TaskResponse taskResponse = taskService.partialUpdateTask(id, taskRequest);
-      return ResponseEntity.ok(taskResponse);
+      TaskResponse taskResponse =
+          taskService.partialUpdateTask(id, taskRequest, ETags.parseIfMatch(ifMatch));
+      return ResponseEntity.ok()
+          .eTag(ETags.ofVersion(taskResponse.getVersion()))
+          .body(taskResponse);
+    } catch (OptimisticLockingFailureException e) {
+      return ResponseEntity.status(
+              ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT)
+          .body(null);
     } catch (IllegalArgumentException e) {
       return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
     } catch (Exception e) {
@@ -188,6 +376,39 @@ public class TaskController {
     return ResponseEntity.noContent().build();
   }
 
+  @Operation(
+      summary = "Массовое удаление задач",
+      description =
+          "Удаляет задачи и их комментарии без загрузки в память. Несуществующие идентификаторы"
+              + " пропускаются. Требуется роль администратора!",
+      security = @SecurityRequirement(name = "Bearer Authentication"))
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "204",
+            description = "Задачи успешно удалены",
+            content = @Content),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Неверные данные запроса",
+            content = @Content),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Внутренняя ошибка сервера",
+            content = @Content)
+      })
+  @PreAuthorize("hasRole('ADMIN')")
+  @DeleteMapping
+  public ResponseEntity<?> deleteTasks(
+      @RequestParam @Parameter(description = "Идентификаторы задач") List<Long> ids) {
+    try {
+      taskService.deleteTasks(ids);
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+    }
+    return ResponseEntity.noContent().build();
+  }
+
   @Operation(
       summary = "Получение задачи по идентификатору",
       security = @SecurityRequirement(name = "Bearer Authentication"))
@@ -201,6 +422,10 @@ public class TaskController {
                   mediaType = "application/json",
                   schema = @Schema(implementation = TaskResponse.class))
             }),
+        @ApiResponse(
+            responseCode = "304",
+            description = "Данные не изменились с момента получения копии",
+            content = @Content),
         @ApiResponse(
             responseCode = "400",
             description = "Неверные данные запроса",
@@ -213,8 +438,19 @@ public class TaskController {
   @PreAuthorize("hasRole('ADMIN') or (hasRole('USER'))")
   @GetMapping("/{id}")
   public ResponseEntity<TaskResponse> getTaskById(
-      @PathVariable @Parameter(description = "Идентификатор задачи") Long id) {
-    return ResponseEntity.ok(taskService.getTaskById(id));
+      @PathVariable @Parameter(description = "Идентификатор задачи") Long id,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+          @Parameter(description = "ETag сохраненной копии ответа")
+          String ifNoneMatch) {
+    // Версия читается отдельным запросом по первичному ключу, сама задача не загружается
+    if (ifNoneMatch != null) {
+      String eTag = ETags.ofVersion(taskService.getTaskVersion(id));
+      if (ETags.matches(ifNoneMatch, eTag)) {
+        return ETags.notModified(eTag);
+      }
+    }
+    TaskResponse taskResponse = taskService.getTaskById(id);
+    return ETags.ok(ETags.ofVersion(taskResponse.getVersion()), taskResponse);
   }
 
   @Operation(
@@ -230,6 +466,10 @@ public class TaskController {
                   mediaType = "application/json",
                   schema = @Schema(implementation = Page.class))
             }),
+        @ApiResponse(
+            responseCode = "304",
+            description = "Данные не изменились с момента получения копии",
+            content = @Content),
         @ApiResponse(
             responseCode = "400",
             description = "Неверные данные запроса",
@@ -241,8 +481,57 @@ public class TaskController {
       })
   @PreAuthorize("hasRole('ADMIN')")
   @GetMapping
-  public ResponseEntity<Page<TaskResponse>> getAllTasks(Pageable pageable) {
-    return ResponseEntity.ok(taskService.getAllTasks(pageable));
+  public ResponseEntity<Slice<TaskResponse>> getAllTasks(
+      Pageable pageable,
+      @RequestParam(defaultValue = "true")
+          @Parameter(description = "Подсчитывать общее количество задач; false возвращает срез")
+          boolean withTotal,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+          @Parameter(
+              description =
+                  "ETag сохраненной копии ответа; без заголовка ETag списка не возвращается")
+          String ifNoneMatch) {
+    return ETags.ofList(
+        ifNoneMatch,
+        taskService::getTasksWatermark,
+        () ->
+            withTotal
+                ? taskService.getAllTasks(pageable)
+                : taskService.getAllTasksSlice(pageable));
+  }
+
+  /**
+   * Метод выгрузки всех задач. Задачи читаются одним запросом и передаются клиенту по мере чтения,
+   * без загрузки всей выборки в память.
+   *
+   * @return ResponseEntity с потоком задач в формате NDJSON.
+   */
+  @Operation(
+      summary = "Выгрузка всех задач в формате NDJSON",
+      description = "Необходима роль администратора! Каждая строка ответа содержит одну задачу.",
+      security = @SecurityRequirement(name = "Bearer Authentication"))
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Задачи успешно выгружены",
+            content = {
+              @Content(
+                  mediaType = "application/x-ndjson",
+                  schema = @Schema(implementation = TaskResponse.class))
+            }),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Внутренняя ошибка сервера",
+            content = @Content)
+      })
+  @PreAuthorize("hasRole('ADMIN')")
+  @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportTasks() {
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks.ndjson\"")
+        .body(taskExportService::exportTasks);
   }
 
   @Operation(
@@ -258,6 +547,10 @@ public class TaskController {
                   mediaType = "application/json",
                   schema = @Schema(implementation = Page.class))
             }),
+        @ApiResponse(
+            responseCode = "304",
+            description = "Данные не изменились с момента получения копии",
+            content = @Content),
         @ApiResponse(
             responseCode = "400",
             description = "Неверные данные запроса",
@@ -269,10 +562,24 @@ public class TaskController {
       })
   @PreAuthorize("hasRole('ADMIN')")
   @GetMapping("/author/{authorId}")
-  public ResponseEntity<Page<TaskResponse>> getTasksByAuthor(
+  public ResponseEntity<Slice<TaskResponse>> getTasksByAuthor(
       @PathVariable @Parameter(description = "Идентификатор автора") Long authorId,
-      Pageable pageable) {
-    return ResponseEntity.ok(taskService.getTasksByAuthor(authorId, pageable));
+      Pageable pageable,
+      @RequestParam(defaultValue = "true")
+          @Parameter(description = "Подсчитывать общее количество задач; false возвращает срез")
+          boolean withTotal,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+          @Parameter(
+              description =
+                  "ETag сохраненной копии ответа; без заголовка ETag списка не возвращается")
+          String ifNoneMatch) {
+    return ETags.ofList(
+        ifNoneMatch,
+        () -> taskService.getTasksByAuthorWatermark(authorId),
+        () ->
+            withTotal
+                ? taskService.getTasksByAuthor(authorId, pageable)
+                : taskService.getTasksByAuthorSlice(authorId, pageable));
   }
 
   @Operation(
@@ -288,6 +595,10 @@ public class TaskController {
                   mediaType = "application/json",
                   schema = @Schema(implementation = Page.class))
             }),
+        @ApiResponse(
+            responseCode = "304",
+            description = "Данные не изменились с момента получения копии",
+            content = @Content),
         @ApiResponse(
             responseCode = "400",
             description = "Неверные данные запроса",
@@ -300,10 +611,284 @@ public class TaskController {
   @PreAuthorize(
       "hasRole('ADMIN') or (hasRole('USER') and @taskService.isAssignee(authentication.name, #assigneeId))")
   @GetMapping("/assignee/{assigneeId}")
-  public ResponseEntity<Page<TaskResponse>> getTasksByAssignee(
+  public ResponseEntity<Slice<TaskResponse>> getTasksByAssignee(
+      @PathVariable @Parameter(description = "Идентификатор исполнителя") Long assigneeId,
+      Pageable pageable,
+      @RequestParam(defaultValue = "true")
+          @Parameter(description = "Подсчитывать общее количество задач; false возвращает срез")
+          boolean withTotal,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+          @Parameter(
+              description =
+                  "ETag сохраненной копии ответа; без заголовка ETag списка не возвращается")
+          String ifNoneMatch) {
+    return ETags.ofList(
+        ifNoneMatch,
+        () -> taskService.getTasksByAssigneeWatermark(assigneeId),
+        () ->
+            withTotal
+                ? taskService.getTasksByAssignee(assigneeId, pageable)
+                : taskService.getTasksByAssigneeSlice(assigneeId, pageable));
+  }
+
+  /**
+   * Получает ленту всех задач, начиная с недавно обновленных.
+   *
+   * @param after Курсор предыдущей страницы.
+   * @param size Размер страницы.
+   * @return Страница ленты или сообщение об ошибке.
+   */
+  @Operation(
+      summary = "Лента всех задач",
+      description =
+          "Курсорная пагинация без подсчета общего количества. Для следующей страницы передайте"
+              + " nextCursor из ответа в параметре after.",
+      security = @SecurityRequirement(name = "Bearer Authentication"))
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Задачи успешно получены",
+            content = {
+              @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = CursorPage.class))
+            }),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Неверный курсор или размер страницы",
+            content = @Content),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Внутренняя ошибка сервера",
+            content = @Content)
+      })
+  @PreAuthorize("hasRole('ADMIN')")
+  @GetMapping("/feed")
+  public ResponseEntity<?> getTaskFeed(
+      @RequestParam(required = false) @Parameter(description = "Курсор предыдущей страницы")
+          String after,
+      @RequestParam(defaultValue = "20") @Parameter(description = "Размер страницы") int size) {
+    try {
+      return ResponseEntity.ok(taskService.getTaskFeed(after, size));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+    } catch (Exception e) {
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Произошла ошибка");
+    }
+  }
+
+  /**
+   * Получает ленту задач автора, начиная с недавно обновленных.
+   *
+   * @param authorId Идентификатор автора.
+   * @param after Курсор предыдущей страницы.
+   * @param size Размер страницы.
+   * @return Страница ленты или сообщение об ошибке.
+   */
+  @Operation(
+      summary = "Лента задач автора",
+      description =
+          "Курсорная пагинация без подсчета общего количества. Для следующей страницы передайте"
+              + " nextCursor из ответа в параметре after.",
+      security = @SecurityRequirement(name = "Bearer Authentication"))
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Задачи успешно получены",
+            content = {
+              @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = CursorPage.class))
+            }),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Неверный курсор или размер страницы",
+            content = @Content),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Внутренняя ошибка сервера",
+            content = @Content)
+      })
+  @PreAuthorize("hasRole('ADMIN')")
+  @GetMapping("/author/{authorId}/feed")
+  public ResponseEntity<?> getTaskFeedByAuthor(
+      @PathVariable @Parameter(description = "Идентификатор автора") Long authorId,
+      @RequestParam(required = false) @Parameter(description = "Курсор предыдущей страницы")
+          String after,
+      @RequestParam(defaultValue = "20") @Parameter(description = "Размер страницы") int size) {
+    try {
+      return ResponseEntity.ok(taskService.getTaskFeedByAuthor(authorId, after, size));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+    } catch (Exception e) {
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Произошла ошибка");
+    }
+  }
+
+  /**
+   * Получает ленту задач исполнителя, начиная с недавно обновленных.
+   *
+   * @param assigneeId Идентификатор исполнителя.
+   * @param after Курсор предыдущей страницы.
+   * @param size Размер страницы.
+   * @return Страница ленты или сообщение об ошибке.
+   */
+  @Operation(
+      summary = "Лента задач исполнителя",
+      description =
+          "Курсорная пагинация без подсчета общего количества. Для следующей страницы передайте"
+              + " nextCursor из ответа в параметре after.",
+      security = @SecurityRequirement(name = "Bearer Authentication"))
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Задачи успешно получены",
+            content = {
+              @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = CursorPage.class))
+            }),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Неверный курсор или размер страницы",
+            content = @Content),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Внутренняя ошибка сервера",
+            content = @Content)
+      })
+  @PreAuthorize(
+      "hasRole('ADMIN') or (hasRole('USER') and authentication.principal.id == #assigneeId)")
+  @GetMapping("/assignee/{assigneeId}/feed")
+  public ResponseEntity<?> getTaskFeedByAssignee(
+      @PathVariable @Parameter(description = "Идентификатор исполнителя") Long assigneeId,
+      @RequestParam(required = false) @Parameter(description = "Курсор предыдущей страницы")
+          String after,
+      @RequestParam(defaultValue = "20") @Parameter(description = "Размер страницы") int size) {
+    try {
+      return ResponseEntity.ok(taskService.getTaskFeedByAssignee(assigneeId, after, size));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+    } catch (Exception e) {
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Произошла ошибка");
+    }
+  }
+
+  /**
+   * Получает изменения всех задач после курсора: созданные, измененные и удаленные задачи.
+   *
+   * @param since Курсор последнего полученного изменения.
+   * @param size Размер страницы.
+   * @return Страница изменений или сообщение об ошибке.
+   */
+  @Operation(
+      summary = "Изменения задач",
+      description =
+          "Возвращает задачи, созданные, измененные или удаленные после курсора since, в порядке"
+              + " изменения. Курсор nextCursor из ответа сохраняется клиентом и передается в"
+              + " следующем запросе. Первая синхронизация выполняется без курсора.",
+      security = @SecurityRequirement(name = "Bearer Authentication"))
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Изменения успешно получены",
+            content = {
+              @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = CursorPage.class))
+            }),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Неверный курсор или размер страницы",
+            content = @Content),
+        @ApiResponse(
+            responseCode = "410",
+            description = "Курсор устарел, требуется полная синхронизация",
+            content = @Content),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Внутренняя ошибка сервера",
+            content = @Content)
+      })
+  @PreAuthorize("hasRole('ADMIN')")
+  @GetMapping("/changes")
+  public ResponseEntity<?> getTaskChanges(
+      @RequestParam(required = false)
+          @Parameter(description = "Курсор последнего полученного изменения")
+          String since,
+      @RequestParam(defaultValue = "20") @Parameter(description = "Размер страницы") int size) {
+    try {
+      return ResponseEntity.ok(taskChangesService.getChanges(since, size));
+    } catch (ChangesCursorExpiredException e) {
+      return ResponseEntity.status(HttpStatus.GONE).body(e.getMessage());
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+    } catch (Exception e) {
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Произошла ошибка");
+    }
+  }
+
+  /**
+   * Получает изменения задач исполнителя после курсора, включая задачи, переданные другому
+   * исполнителю.
+   *
+   * @param assigneeId Идентификатор исполнителя.
+   * @param since Курсор последнего полученного изменения.
+   * @param size Размер страницы.
+   * @return Страница изменений или сообщение об ошибке.
+   */
+  @Operation(
+      summary = "Изменения задач исполнителя",
+      description =
+          "Возвращает задачи исполнителя, созданные или измененные после курсора since, и"
+              + " задачи, которые были удалены или переданы другому исполнителю. Курсор"
+              + " nextCursor из ответа передается в следующем запросе.",
+      security = @SecurityRequirement(name = "Bearer Authentication"))
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Изменения успешно получены",
+            content = {
+              @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = CursorPage.class))
+            }),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Неверный курсор или размер страницы",
+            content = @Content),
+        @ApiResponse(
+            responseCode = "410",
+            description = "Курсор устарел, требуется полная синхронизация",
+            content = @Content),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Внутренняя ошибка сервера",
+            content = @Content)
+      })
+  @PreAuthorize(
+      "hasRole('ADMIN') or (hasRole('USER') and authentication.principal.id == #assigneeId)")
+  @GetMapping("/assignee/{assigneeId}/changes")
+  public ResponseEntity<?> getTaskChangesByAssignee(
       @PathVariable @Parameter(description = "Идентификатор исполнителя") Long assigneeId,
-      Pageable pageable) {
-    return ResponseEntity.ok(taskService.getTasksByAssignee(assigneeId, pageable));
+      @RequestParam(required = false)
+          @Parameter(description = "Курсор последнего полученного изменения")
+          String since,
+      @RequestParam(defaultValue = "20") @Parameter(description = "Размер страницы") int size) {
+    try {
+      return ResponseEntity.ok(taskChangesService.getChangesByAssignee(assigneeId, since, size));
+    } catch (ChangesCursorExpiredException e) {
+      return ResponseEntity.status(HttpStatus.GONE).body(e.getMessage());
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+    } catch (Exception e) {
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Произошла ошибка");
+    }
   }
 
   /**
@@ -332,6 +917,14 @@ public class TaskController {
             description = "Неверные данные запроса",
             content = @Content),
         @ApiResponse(responseCode = "403", description = "Доступ запрещен", content = @Content),
+        @ApiResponse(
+            responseCode = "409",
+            description = "Задача была изменена другим запросом",
+            content = @Content),
+        @ApiResponse(
+            responseCode = "412",
+            description = "Версия задачи не совпадает с заголовком If-Match",
+            content = @Content),
         @ApiResponse(
             responseCode = "500",
             description = "Внутренняя ошибка сервера",
@@ -343,10 +936,20 @@ public class TaskController {
   public ResponseEntity<TaskResponse> updateTaskStatus(
       @PathVariable @Parameter(description = "Идентификатор задачи") Long id,
       @RequestBody @Parameter(description = "Данные для изменения статуса задачи")
-          UpdateTaskStatusRequest updateTaskStatusRequest) {
+          UpdateTaskStatusRequest updateTaskStatusRequest,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+          @Parameter(description = "Ожидаемая версия задачи (ETag)")
+          String ifMatch) {
     try {
-      TaskResponse taskResponse = taskService.updateTaskStatus(id, updateTaskStatusRequest);
-      return ResponseEntity.ok(taskResponse);
+      TaskResponse taskResponse =
+          taskService.updateTaskStatus(id, updateTaskStatusRequest, ETags.parseIfMatch(ifMatch));
+      return ResponseEntity.ok()
+          .eTag(ETags.ofVersion(taskResponse.getVersion()))
+          .body(taskResponse);
+    } catch (OptimisticLockingFailureException e) {
+      return ResponseEntity.status(
+              ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT)
+          .body(null);
     } catch (IllegalArgumentException e) {
       return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
     } catch (Exception e) {
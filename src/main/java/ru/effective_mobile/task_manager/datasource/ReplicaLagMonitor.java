@@ -0,0 +1,93 @@
+package ru.effective_mobile.task_manager.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Периодически измеряет отставание реплики PostgreSQL. Реплика считается доступной, пока запрос
+ * отставания выполняется успешно и отставание не превышает допустимого. До первой успешной проверки
+ * чтение выполняется на основной базе.
+ *
+ * <p>Отставание в секундах и признак доступности публикуются в метриках {@code
+ * datasource.replica.lag} и {@code datasource.replica.available}.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements MeterBinder {
+
+  /**
+   * Отставание воспроизведения WAL в секундах. Если реплика воспроизвела все полученные записи,
+   * отставание равно нулю, даже когда основная база давно не менялась и время последней
+   * воспроизведенной транзакции устарело. База, не находящаяся в режиме восстановления, считается
+   * не отстающей.
+   */
+  static final String LAG_QUERY =
+      "select case when not pg_is_in_recovery()"
+          + " or pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0"
+          + " else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0) end";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final Duration maxLag;
+
+  private volatile boolean available;
+  private volatile double lagSeconds = Double.NaN;
+
+  public ReplicaLagMonitor(DataSource replica, Duration maxLag, Duration queryTimeout) {
+    this.jdbcTemplate = new JdbcTemplate(replica);
+    this.jdbcTemplate.setQueryTimeout((int) Math.max(1, queryTimeout.toSeconds()));
+    this.maxLag = maxLag;
+  }
+
+  /** Измеряет отставание реплики и обновляет признак ее доступности. */
+  @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval:PT5S}")
+  public void checkLag() {
+    try {
+      Double lag = jdbcTemplate.queryForObject(LAG_QUERY, Double.class);
+      lagSeconds = lag == null ? 0 : lag;
+      setAvailable(lagSeconds * 1000 <= maxLag.toMillis());
+    } catch (DataAccessException e) {
+      lagSeconds = Double.NaN;
+      if (available) {
+        log.warn("Replica lag check failed", e);
+      }
+      setAvailable(false);
+    }
+  }
+
+  /**
+   * Возвращает признак доступности реплики по результату последней проверки.
+   *
+   * @return true, если на реплику можно направлять чтение.
+   */
+  public boolean isAvailable() {
+    return available;
+  }
+
+  private void setAvailable(boolean available) {
+    if (this.available != available) {
+      log.info(
+          "Replica {} (lag {} s, max {} s)",
+          available ? "enabled for reads" : "disabled, reads fall back to primary",
+          lagSeconds,
+          maxLag.toSeconds());
+    }
+    this.available = available;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("datasource.replica.lag", this, monitor -> monitor.lagSeconds)
+        .description("Отставание реплики в секундах")
+        .baseUnit("seconds")
+        .register(registry);
+    Gauge.builder("datasource.replica.available", this, monitor -> monitor.available ? 1 : 0)
+        .description("Направляется ли чтение на реплику")
+        .register(registry);
+  }
+}
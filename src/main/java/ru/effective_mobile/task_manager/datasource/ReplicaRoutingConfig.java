@@ -0,0 +1,94 @@
+package ru.effective_mobile.task_manager.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Разделение нагрузки между основной базой и репликой для чтения. Включается заданием {@code
+ * app.datasource.replica.url}; без него используется единственный источник данных Spring Boot.
+ *
+ * <p>Основной пул настраивается свойствами {@code spring.datasource.*}, пул реплики — свойствами
+ * {@code app.datasource.replica.*} (настройки Hikari в {@code app.datasource.replica.hikari.*}).
+ * Пулы называются {@code primary} и {@code replica}, метрики Hikari публикуются для каждого из них
+ * отдельно.
+ *
+ * <p>При open-in-view сессия Hibernate живет весь HTTP-запрос, и по умолчанию удерживает соединение
+ * первой транзакции до конца запроса. Поэтому соединение освобождается после каждой транзакции:
+ * иначе запись, выполняемая после транзакции только для чтения (например, проверки доступа в
+ * {@code @PreAuthorize}), попала бы на соединение реплики.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "url")
+public class ReplicaRoutingConfig {
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    HikariDataSource dataSource =
+        properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    dataSource.setPoolName("primary");
+    return dataSource;
+  }
+
+  @Bean
+  @ConfigurationProperties("app.datasource.replica.hikari")
+  public HikariDataSource replicaDataSource(
+      @Value("${app.datasource.replica.url}") String url,
+      @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String username,
+      @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String password) {
+    HikariDataSource dataSource =
+        DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .url(url)
+            .username(username)
+            .password(password)
+            .build();
+    dataSource.setPoolName("replica");
+    dataSource.setReadOnly(true);
+    return dataSource;
+  }
+
+  @Bean
+  public ReplicaLagMonitor replicaLagMonitor(
+      @Qualifier("replicaDataSource") DataSource replicaDataSource,
+      @Value("${app.datasource.replica.max-lag:5s}") Duration maxLag,
+      @Value("${app.datasource.replica.lag-check-timeout:2s}") Duration queryTimeout) {
+    return new ReplicaLagMonitor(replicaDataSource, maxLag, queryTimeout);
+  }
+
+  @Bean
+  public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+    return properties ->
+        properties.put(
+            AvailableSettings.CONNECTION_HANDLING,
+            PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+  }
+
+  /** Источник данных приложения: JPA, Flyway и JdbcTemplate получают соединения через него. */
+  @Bean
+  @Primary
+  public DataSource dataSource(
+      @Qualifier("primaryDataSource") DataSource primaryDataSource,
+      @Qualifier("replicaDataSource") DataSource replicaDataSource,
+      ReplicaLagMonitor replicaLagMonitor,
+      MeterRegistry meterRegistry) {
+    return new LazyConnectionDataSourceProxy(
+        new ReplicaRoutingDataSource(
+            primaryDataSource, replicaDataSource, replicaLagMonitor::isAvailable, meterRegistry));
+  }
+}
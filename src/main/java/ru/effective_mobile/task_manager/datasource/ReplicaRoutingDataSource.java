@@ -0,0 +1,64 @@
+package ru.effective_mobile.task_manager.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Источник данных, направляющий транзакции только для чтения на реплику, а все остальные соединения
+ * на основную базу. Если реплика недоступна или отстает, чтение также выполняется на основной базе.
+ *
+ * <p>Решение принимается при получении соединения, поэтому источник должен быть обернут в {@link
+ * org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: иначе менеджер транзакций
+ * получит соединение до того, как признак read-only станет известен.
+ *
+ * <p>Количество соединений, выданных каждым пулом, публикуется в метрике {@code
+ * datasource.routing}.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+  /** Пул, на который направлено соединение. */
+  public enum Target {
+    PRIMARY,
+    REPLICA
+  }
+
+  private final BooleanSupplier replicaAvailable;
+  private final Map<Target, Counter> routed = new EnumMap<>(Target.class);
+
+  public ReplicaRoutingDataSource(
+      DataSource primary,
+      DataSource replica,
+      BooleanSupplier replicaAvailable,
+      MeterRegistry meterRegistry) {
+    this.replicaAvailable = replicaAvailable;
+    setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+    setDefaultTargetDataSource(primary);
+    setLenientFallback(false);
+    for (Target target : Target.values()) {
+      routed.put(
+          target,
+          Counter.builder("datasource.routing")
+              .description("Количество соединений, выданных пулом")
+              .tag("target", target.name().toLowerCase())
+              .register(meterRegistry));
+    }
+    afterPropertiesSet();
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    Target target =
+        TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && replicaAvailable.getAsBoolean()
+            ? Target.REPLICA
+            : Target.PRIMARY;
+    routed.get(target).increment();
+    return target;
+  }
+}
@@ -0,0 +1,56 @@
+package ru.effective_mobile.task_manager.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Курсор ленты изменений: позиция в ленте и время выдачи курсора. Срок действия курсора считается
+ * от времени выдачи, а не от времени изменения последней записи: при полной синхронизации страницы
+ * состоят из давно измененных задач, и их курсоры не должны считаться устаревшими. Клиенту
+ * передается в виде непрозрачной строки.
+ *
+ * @param position Время изменения и идентификатор последней выданной задачи.
+ * @param issuedAt Время выдачи курсора.
+ */
+public record ChangesCursor(FeedCursor position, LocalDateTime issuedAt) {
+
+  private static final String SEPARATOR = "|";
+
+  /**
+   * Кодирует курсор в строку.
+   *
+   * @return Непрозрачная строка курсора.
+   */
+  public String encode() {
+    String raw = position.timestamp() + SEPARATOR + position.id() + SEPARATOR + issuedAt;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Декодирует курсор, полученный от клиента. Курсор прежнего формата без времени выдачи
+   * принимается, временем выдачи для него считается время изменения последней записи.
+   *
+   * @param cursor Строка курсора.
+   * @return Курсор.
+   * @throws IllegalArgumentException если строка не является корректным курсором.
+   */
+  public static ChangesCursor decode(String cursor) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      String[] parts = raw.split("\\|", -1);
+      if (parts.length != 2 && parts.length != 3) {
+        throw new IllegalArgumentException("Invalid cursor");
+      }
+      FeedCursor position = new FeedCursor(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]));
+      LocalDateTime issuedAt =
+          parts.length == 3 ? LocalDateTime.parse(parts[2]) : position.timestamp();
+      return new ChangesCursor(position, issuedAt);
+    } catch (DateTimeParseException | IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid cursor", e);
+    }
+  }
+}
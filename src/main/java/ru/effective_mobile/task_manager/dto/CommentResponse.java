@@ -2,9 +2,13 @@ package ru.effective_mobile.task_manager.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 @Schema(description = "Ответ с информацией о комментарии")
 public class CommentResponse {
   @Schema(description = "Идентификатор комментария", example = "1")
@@ -0,0 +1,65 @@
+package ru.effective_mobile.task_manager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import java.util.function.Function;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Limit;
+
+/**
+ * Страница ленты при курсорной пагинации. В отличие от {@link org.springframework.data.domain.Page}
+ * не содержит общего количества записей, поэтому не требует запроса COUNT.
+ *
+ * @param <T> тип элементов страницы
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Страница ленты с курсором на следующую страницу")
+public class CursorPage<T> {
+  /** Максимальный размер страницы ленты. */
+  public static final int MAX_SIZE = 100;
+
+  @Schema(description = "Элементы страницы")
+  private List<T> content;
+
+  @Schema(description = "Курсор следующей страницы, передается в параметре after")
+  private String nextCursor;
+
+  @Schema(description = "Есть ли следующая страница", example = "true")
+  private boolean hasNext;
+
+  /**
+   * Строит страницу из результата запроса, выбравшего на одну запись больше размера страницы.
+   *
+   * @param rows Результат запроса, не более size + 1 записей.
+   * @param size Размер страницы.
+   * @param cursorOf Функция получения курсора по записи.
+   * @return Страница ленты.
+   * @param <T> тип элементов страницы
+   */
+  public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, FeedCursor> cursorOf) {
+    if (rows.size() <= size) {
+      return new CursorPage<>(rows, null, false);
+    }
+    List<T> content = rows.subList(0, size);
+    return new CursorPage<>(content, cursorOf.apply(content.getLast()).encode(), true);
+  }
+
+  /**
+   * Проверяет размер страницы и возвращает лимит запроса с одной дополнительной записью, по которой
+   * определяется наличие следующей страницы.
+   *
+   * @param size Размер страницы.
+   * @return Лимит запроса.
+   * @throws IllegalArgumentException если размер страницы вне диапазона от 1 до {@link #MAX_SIZE}.
+   */
+  public static Limit limit(int size) {
+    if (size < 1 || size > MAX_SIZE) {
+      throw new IllegalArgumentException("Page size must be between 1 and " + MAX_SIZE);
+    }
+    return Limit.of(size + 1);
+  }
+}
@@ -0,0 +1,52 @@
+package ru.effective_mobile.task_manager.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Позиция в ленте при курсорной пагинации: время сортировки и идентификатор последней выданной
+ * записи. Клиенту передается в виде непрозрачной строки.
+ *
+ * @param timestamp Время сортировки записи (updatedAt для задач, createdAt для комментариев).
+ * @param id Идентификатор записи.
+ */
+public record FeedCursor(LocalDateTime timestamp, Long id) {
+
+  private static final String SEPARATOR = "|";
+
+  /**
+   * Кодирует курсор в строку.
+   *
+   * @return Непрозрачная строка курсора.
+   */
+  public String encode() {
+    String raw = timestamp + SEPARATOR + id;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Декодирует курсор, полученный от клиента.
+   *
+   * @param cursor Строка курсора.
+   * @return Курсор.
+   * @throws IllegalArgumentException если строка не является корректным курсором.
+   */
+  public static FeedCursor decode(String cursor) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      int separator = raw.lastIndexOf(SEPARATOR);
+      if (separator < 0) {
+        throw new IllegalArgumentException("Invalid cursor");
+      }
+      return new FeedCursor(
+          LocalDateTime.parse(raw.substring(0, separator)),
+          Long.valueOf(raw.substring(separator + 1)));
+    } catch (DateTimeParseException | IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid cursor", e);
+    }
+  }
+}
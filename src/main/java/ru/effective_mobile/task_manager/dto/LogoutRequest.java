@@ -12,6 +12,11 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class LogoutRequest {
-  @Schema(description = "Email пользователя", example = "user@example.com")
-  private String email;
+  @Schema(description = "Refresh токен завершаемого сеанса", example = "refresh_token_example")
+  private String refreshToken;
+
+  @Schema(
+      description = "Выйти на всех устройствах и отозвать все выданные access токены",
+      example = "false")
+  private boolean allDevices;
 }
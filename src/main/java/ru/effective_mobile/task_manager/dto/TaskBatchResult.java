@@ -0,0 +1,33 @@
+package ru.effective_mobile.task_manager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Результат обработки элемента пакетного запроса")
+public class TaskBatchResult {
+  @Schema(description = "Порядковый номер элемента в запросе", example = "0")
+  private int index;
+
+  @Schema(description = "Успешно ли обработан элемент", example = "true")
+  private boolean success;
+
+  @Schema(description = "Созданная или обновленная задача")
+  private TaskResponse task;
+
+  @Schema(description = "Ошибки обработки элемента")
+  private List<String> errors;
+
+  public static TaskBatchResult success(int index, TaskResponse task) {
+    return new TaskBatchResult(index, true, task, List.of());
+  }
+
+  public static TaskBatchResult failure(int index, List<String> errors) {
+    return new TaskBatchResult(index, false, null, errors);
+  }
+}
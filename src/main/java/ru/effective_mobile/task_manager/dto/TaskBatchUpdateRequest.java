@@ -0,0 +1,50 @@
+package ru.effective_mobile.task_manager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.effective_mobile.task_manager.entities.Task;
+
+@Data
+@Schema(description = "Элемент пакетного частичного обновления задач")
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBatchUpdateRequest {
+  @NotNull(message = "Task ID is mandatory")
+  @Schema(description = "Идентификатор задачи", example = "1")
+  private Long id;
+
+  @Schema(description = "Заголовок задачи", example = "Задача 1")
+  private String title;
+
+  @Schema(description = "Описание задачи", example = "Пример описания задачи")
+  private String description;
+
+  @Schema(description = "Статус задачи", example = "IN_PROGRESS")
+  private Task.Status status;
+
+  @Schema(description = "Приоритет задачи", example = "HIGH")
+  private Task.Priority priority;
+
+  @Schema(description = "Идентификатор исполнителя", example = "2")
+  private Long assigneeId;
+
+  /**
+   * Возвращает изменения задачи в виде запроса на частичное обновление.
+   *
+   * @return Запрос на частичное обновление задачи.
+   */
+  public PartialUpdateTaskRequest toPartialUpdateTaskRequest() {
+    return PartialUpdateTaskRequest.builder()
+        .title(title)
+        .description(description)
+        .status(status)
+        .priority(priority)
+        .assigneeId(assigneeId)
+        .build();
+  }
+}
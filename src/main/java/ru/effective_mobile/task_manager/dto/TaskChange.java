@@ -0,0 +1,46 @@
+package ru.effective_mobile.task_manager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.effective_mobile.task_manager.entities.TaskTombstone;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Изменение задачи в ленте изменений")
+public class TaskChange {
+  @Schema(description = "Идентификатор задачи", example = "1")
+  private Long taskId;
+
+  @Schema(description = "Тип изменения", example = "UPDATED")
+  private Type type;
+
+  @Schema(description = "Время изменения", example = "2024-01-01T12:00:00")
+  private LocalDateTime changedAt;
+
+  @Schema(description = "Текущее состояние задачи; отсутствует, если задачу нужно удалить")
+  private TaskResponse task;
+
+  /** Тип изменения задачи. */
+  public enum Type {
+    /** Задача создана или изменена. */
+    UPDATED,
+    /** Задача удалена. */
+    DELETED,
+    /** Задача передана другому исполнителю и больше не входит в его ленту. */
+    REASSIGNED
+  }
+
+  public static TaskChange updated(TaskResponse task) {
+    return new TaskChange(task.getId(), Type.UPDATED, task.getUpdatedAt(), task);
+  }
+
+  public static TaskChange removed(TaskTombstone tombstone) {
+    Type type =
+        tombstone.getReason() == TaskTombstone.Reason.DELETED ? Type.DELETED : Type.REASSIGNED;
+    return new TaskChange(tombstone.getTaskId(), type, tombstone.getRemovedAt(), null);
+  }
+}
@@ -0,0 +1,19 @@
+package ru.effective_mobile.task_manager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Ошибка импорта строки")
+public class TaskImportError {
+  @Schema(description = "Номер строки во входных данных, начиная с 1", example = "42")
+  private long line;
+
+  @Schema(description = "Ошибки обработки строки")
+  private List<String> errors;
+}
@@ -0,0 +1,22 @@
+package ru.effective_mobile.task_manager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+
+@Data
+@Schema(description = "Результат импорта задач")
+public class TaskImportResult {
+  @Schema(description = "Количество импортированных задач", example = "1000")
+  private long imported;
+
+  @Schema(description = "Количество строк, которые не удалось импортировать", example = "2")
+  private long failed;
+
+  @Schema(description = "Ошибки по строкам (не более app.tasks.import.max-errors)")
+  private List<TaskImportError> errors = new ArrayList<>();
+
+  @Schema(description = "Были ли ошибки отброшены из-за превышения лимита", example = "false")
+  private boolean errorsTruncated;
+}
@@ -2,10 +2,14 @@ package ru.effective_mobile.task_manager.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import ru.effective_mobile.task_manager.entities.Task;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 @Schema(description = "Ответ с информацией о задаче")
 public class TaskResponse {
   @Schema(description = "Идентификатор задачи", example = "1")
@@ -36,4 +40,7 @@ public class TaskResponse {
       description = "Дата и время последнего обновления задачи",
       example = "2023-10-02T14:30:00")
   private LocalDateTime updatedAt;
+
+  @Schema(description = "Версия задачи, совпадает со значением заголовка ETag", example = "3")
+  private Long version;
 }
@@ -4,31 +4,65 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 @Entity
-@Table(name = "comments")
-@Data
+@Table(
+    name = "comments",
+    indexes = {
+      @Index(name = "idx_comments_task_created", columnList = "task_id, created_at, id"),
+      @Index(name = "idx_comments_author", columnList = "author_id")
+    })
+@Getter
+@Setter
+@ToString
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Comment {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comments_seq")
+  @SequenceGenerator(name = "comments_seq", sequenceName = "comments_seq", allocationSize = 50)
   private Long id;
 
   @Column(nullable = false)
   private String content;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
+  @OnDelete(action = OnDeleteAction.CASCADE)
   @JoinColumn(name = "task_id", nullable = false)
+  @ToString.Exclude
   private Task task;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
+  @OnDelete(action = OnDeleteAction.CASCADE)
   @JoinColumn(name = "author_id", nullable = false)
+  @ToString.Exclude
   private User author;
 
   @Column(nullable = false)
   private LocalDateTime createdAt;
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || Hibernate.getClassLazy(this) != Hibernate.getClassLazy(o)) {
+      return false;
+    }
+    Long id = getId();
+    return id != null && id.equals(((Comment) o).getId());
+  }
+
+  @Override
+  public int hashCode() {
+    return Hibernate.getClassLazy(this).hashCode();
+  }
 }
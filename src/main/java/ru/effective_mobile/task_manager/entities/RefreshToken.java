@@ -0,0 +1,76 @@
+package ru.effective_mobile.task_manager.entities;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * Refresh токен пользователя. Сам токен не хранится: поиск выполняется по его SHA-256 хэшу. У
+ * пользователя может быть несколько токенов, по одному на каждый вход (устройство).
+ */
+@Entity
+@Table(
+    name = "refresh_tokens",
+    indexes = {
+      @Index(name = "idx_refresh_tokens_user", columnList = "user_id"),
+      @Index(name = "idx_refresh_tokens_expires", columnList = "expires_at")
+    },
+    uniqueConstraints =
+        @UniqueConstraint(name = "uk_refresh_tokens_hash", columnNames = "token_hash"))
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshToken {
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "refresh_tokens_seq")
+  @SequenceGenerator(
+      name = "refresh_tokens_seq",
+      sequenceName = "refresh_tokens_seq",
+      allocationSize = 50)
+  private Long id;
+
+  /** SHA-256 хэш токена в шестнадцатеричном виде. */
+  @Column(name = "token_hash", nullable = false, length = 64)
+  @ToString.Exclude
+  private String tokenHash;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @OnDelete(action = OnDeleteAction.CASCADE)
+  @JoinColumn(name = "user_id", nullable = false)
+  @ToString.Exclude
+  private User user;
+
+  @Column(nullable = false)
+  private LocalDateTime createdAt;
+
+  @Column(nullable = false)
+  private LocalDateTime expiresAt;
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || Hibernate.getClassLazy(this) != Hibernate.getClassLazy(o)) {
+      return false;
+    }
+    Long id = getId();
+    return id != null && id.equals(((RefreshToken) o).getId());
+  }
+
+  @Override
+  public int hashCode() {
+    return Hibernate.getClassLazy(this).hashCode();
+  }
+}
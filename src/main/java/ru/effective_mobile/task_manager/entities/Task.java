@@ -5,19 +5,37 @@ import java.time.LocalDateTime;
 import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 @Entity
-@Table(name = "tasks")
-@Data
+@Table(
+    name = "tasks",
+    indexes = {
+      @Index(name = "idx_tasks_author_updated", columnList = "author_id, updated_at, id"),
+      @Index(name = "idx_tasks_assignee_updated", columnList = "assignee_id, updated_at, id"),
+      @Index(name = "idx_tasks_updated", columnList = "updated_at, id")
+    })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Getter
+@Setter
+@ToString
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Task {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+  @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
   private Long id;
 
   @Column(nullable = false)
@@ -34,12 +52,16 @@ public class Task {
   @Column(nullable = false)
   private Priority priority;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
+  @OnDelete(action = OnDeleteAction.CASCADE)
   @JoinColumn(name = "author_id", nullable = false)
+  @ToString.Exclude
   private User author;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
+  @OnDelete(action = OnDeleteAction.CASCADE)
   @JoinColumn(name = "assignee_id")
+  @ToString.Exclude
   private User assignee;
 
   @Column(nullable = false)
@@ -48,9 +70,32 @@ public class Task {
   @Column(nullable = false)
   private LocalDateTime updatedAt;
 
-  @OneToMany(mappedBy = "task", cascade = CascadeType.REMOVE, orphanRemoval = true)
+  /** Версия задачи для оптимистической блокировки. Увеличивается при каждом изменении задачи. */
+  @Version
+  @Column(nullable = false)
+  private long version;
+
+  @OneToMany(mappedBy = "task")
+  @ToString.Exclude
   private List<Comment> comments;
 
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || Hibernate.getClassLazy(this) != Hibernate.getClassLazy(o)) {
+      return false;
+    }
+    Long id = getId();
+    return id != null && id.equals(((Task) o).getId());
+  }
+
+  @Override
+  public int hashCode() {
+    return Hibernate.getClassLazy(this).hashCode();
+  }
+
   public enum Status {
     PENDING,
     IN_PROGRESS,
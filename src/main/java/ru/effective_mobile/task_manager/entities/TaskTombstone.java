@@ -0,0 +1,76 @@
+package ru.effective_mobile.task_manager.entities;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.Hibernate;
+
+/**
+ * Отметка об исчезновении задачи из выборки: задача удалена или передана другому исполнителю.
+ * Используется лентой изменений, чтобы клиенты могли удалить задачу из локальной копии. Отметки
+ * хранятся ограниченное время.
+ */
+@Entity
+@Table(
+    name = "task_tombstones",
+    indexes = {
+      @Index(name = "idx_task_tombstones_removed", columnList = "removed_at, task_id"),
+      @Index(
+          name = "idx_task_tombstones_assignee_removed",
+          columnList = "assignee_id, removed_at, task_id")
+    })
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskTombstone {
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_tombstones_seq")
+  @SequenceGenerator(
+      name = "task_tombstones_seq",
+      sequenceName = "task_tombstones_seq",
+      allocationSize = 50)
+  private Long id;
+
+  @Column(nullable = false)
+  private Long taskId;
+
+  /** Исполнитель, у которого задача исчезла из выборки, или null для задачи без исполнителя. */
+  private Long assigneeId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private Reason reason;
+
+  @Column(nullable = false)
+  private LocalDateTime removedAt;
+
+  public enum Reason {
+    DELETED,
+    REASSIGNED
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || Hibernate.getClassLazy(this) != Hibernate.getClassLazy(o)) {
+      return false;
+    }
+    Long id = getId();
+    return id != null && id.equals(((TaskTombstone) o).getId());
+  }
+
+  @Override
+  public int hashCode() {
+    return Hibernate.getClassLazy(this).hashCode();
+  }
+}
@@ -4,41 +4,73 @@ import jakarta.persistence.*;
 import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "users")
-@Data
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Getter
+@Setter
+@ToString
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class User {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+  @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
   private Long id;
 
   @Column(unique = true, nullable = false)
   private String email;
 
   @Column(nullable = false)
+  @ToString.Exclude
   private String password;
 
-  @OneToMany(mappedBy = "author", cascade = CascadeType.REMOVE, orphanRemoval = true)
+  @OneToMany(mappedBy = "author")
+  @ToString.Exclude
   private List<Task> authoredTasks;
 
-  @OneToMany(mappedBy = "assignee", cascade = CascadeType.REMOVE, orphanRemoval = true)
+  @OneToMany(mappedBy = "assignee")
+  @ToString.Exclude
   private List<Task> assignedTasks;
 
-  @OneToMany(mappedBy = "author", cascade = CascadeType.REMOVE, orphanRemoval = true)
+  @OneToMany(mappedBy = "author")
+  @ToString.Exclude
   private List<Comment> comments;
 
   @Enumerated(EnumType.STRING)
   @Column(nullable = false)
   private Role role;
 
-  @Column(name = "refresh_token")
-  private String refreshToken;
+  /** Версия токенов пользователя. Увеличение версии отзывает все выданные ранее access токены. */
+  @Column(name = "token_version", nullable = false)
+  private int tokenVersion;
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || Hibernate.getClassLazy(this) != Hibernate.getClassLazy(o)) {
+      return false;
+    }
+    Long id = getId();
+    return id != null && id.equals(((User) o).getId());
+  }
+
+  @Override
+  public int hashCode() {
+    return Hibernate.getClassLazy(this).hashCode();
+  }
 
   public enum Role {
     ADMIN,
@@ -0,0 +1,11 @@
+package ru.effective_mobile.task_manager.exception;
+
+/**
+ * Курсор ленты изменений старше срока хранения отметок об удалении: часть удалений могла быть
+ * потеряна, клиенту нужна полная синхронизация.
+ */
+public class ChangesCursorExpiredException extends RuntimeException {
+  public ChangesCursorExpiredException() {
+    super("Changes cursor expired, full resync required");
+  }
+}
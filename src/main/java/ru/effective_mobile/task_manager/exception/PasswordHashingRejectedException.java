@@ -0,0 +1,7 @@
+package ru.effective_mobile.task_manager.exception;
+
+public class PasswordHashingRejectedException extends RuntimeException {
+  public PasswordHashingRejectedException(String message) {
+    super(message);
+  }
+}
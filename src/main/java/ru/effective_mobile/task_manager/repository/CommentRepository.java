@@ -1,11 +1,53 @@
 package ru.effective_mobile.task_manager.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.effective_mobile.task_manager.dto.CommentResponse;
 import ru.effective_mobile.task_manager.entities.Comment;
 
 /** Репозиторий для работы с комментариями. */
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+  /** Выборка полей комментария для {@link CommentResponse} без загрузки задачи и автора. */
+  String SELECT_COMMENT_RESPONSE =
+      "select new ru.effective_mobile.task_manager.dto.CommentResponse(c.id, c.content,"
+          + " c.task.id, c.author.id, c.createdAt) from Comment c";
+
+  /** Порядок ленты комментариев: в порядке написания. */
+  String FEED_ORDER = " order by c.createdAt, c.id";
+
   Page<Comment> findByTaskId(Long taskId, Pageable pageable);
+
+  @Query(SELECT_COMMENT_RESPONSE + " where c.task.id = :taskId")
+  Slice<CommentResponse> findResponseSliceByTaskId(@Param("taskId") Long taskId, Pageable pageable);
+
+  long countByTaskId(Long taskId);
+
+  /**
+   * Отметка состояния комментариев задачи, меняется при добавлении и удалении комментариев.
+   * Комментарии не редактируются, поэтому контрольная сумма складывается только из идентификаторов.
+   */
+  @Query(
+      "select new ru.effective_mobile.task_manager.repository.Watermark(count(c),"
+          + " coalesce(sum(c.id), 0L), max(c.createdAt)) from Comment c where c.task.id = :taskId")
+  Watermark findWatermarkByTaskId(@Param("taskId") Long taskId);
+
+  @Query(SELECT_COMMENT_RESPONSE + " where c.task.id = :taskId" + FEED_ORDER)
+  List<CommentResponse> findFeedByTaskId(@Param("taskId") Long taskId, Limit limit);
+
+  @Query(
+      SELECT_COMMENT_RESPONSE
+          + " where c.task.id = :taskId and (c.createdAt, c.id) > (:createdAt, :id)"
+          + FEED_ORDER)
+  List<CommentResponse> findFeedByTaskIdAfter(
+      @Param("taskId") Long taskId,
+      @Param("createdAt") LocalDateTime createdAt,
+      @Param("id") Long id,
+      Limit limit);
 }
@@ -0,0 +1,26 @@
+package ru.effective_mobile.task_manager.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import ru.effective_mobile.task_manager.entities.RefreshToken;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+  @EntityGraph(attributePaths = "user")
+  Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+  @Transactional
+  @Modifying
+  @Query("delete from RefreshToken r where r.user.id = :userId")
+  int deleteByUserId(@Param("userId") Long userId);
+
+  @Transactional
+  @Modifying
+  @Query("delete from RefreshToken r where r.expiresAt < :now")
+  int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,11 @@
+package ru.effective_mobile.task_manager.repository;
+
+/**
+ * Проекция задачи, содержащая только данные исполнителя. Используется для проверок доступа, которым
+ * не нужна вся сущность задачи.
+ *
+ * @param taskId Идентификатор задачи.
+ * @param assigneeId Идентификатор исполнителя или null, если исполнитель не назначен.
+ * @param assigneeEmail Email исполнителя или null, если исполнитель не назначен.
+ */
+public record TaskAssignee(Long taskId, Long assigneeId, String assigneeEmail) {}
@@ -0,0 +1,35 @@
+package ru.effective_mobile.task_manager.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import ru.effective_mobile.task_manager.entities.Task;
+
+/**
+ * Изменение и удаление задач одним SQL-запросом без загрузки сущностей. В отличие от запросов
+ * {@code @Modifying} из кэша второго уровня и контекста персистентности удаляются только измененные
+ * задачи, а не весь регион {@link Task} и не весь контекст.
+ */
+public interface TaskBulkUpdateRepository {
+
+  /**
+   * Изменяет статус задачи одним запросом UPDATE, без загрузки сущности.
+   *
+   * @return 1, если задача обновлена, и 0, если задача не найдена.
+   */
+  int updateStatus(Long id, Task.Status status, LocalDateTime updatedAt);
+
+  /**
+   * Изменяет статус задачи, только если ее версия совпадает с ожидаемой.
+   *
+   * @return 1, если задача обновлена, и 0, если задача не найдена или ее версия изменилась.
+   */
+  int updateStatusIfVersion(Long id, long version, Task.Status status, LocalDateTime updatedAt);
+
+  /**
+   * Удаляет задачи одним запросом DELETE. Комментарии задач удаляются базой данных по внешнему
+   * ключу с ON DELETE CASCADE, поэтому ни задачи, ни комментарии не загружаются в память.
+   *
+   * @return Количество удаленных задач.
+   */
+  int deleteAllByIdIn(Collection<Long> ids);
+}
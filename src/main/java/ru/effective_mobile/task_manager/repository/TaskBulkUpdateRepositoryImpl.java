@@ -0,0 +1,103 @@
+package ru.effective_mobile.task_manager.repository;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.effective_mobile.task_manager.entities.Task;
+
+/**
+ * Реализация {@link TaskBulkUpdateRepository} на native SQL. Для JPQL-запросов UPDATE и DELETE
+ * Hibernate очищает регион сущности в кэше второго уровня целиком, для native-запроса без
+ * объявленных таблиц — все регионы. Поэтому запросы объявляют пространство {@link #QUERY_SPACE}, не
+ * совпадающее ни с одной таблицей, а измененные задачи удаляются из кэша по идентификатору.
+ */
+@RequiredArgsConstructor
+class TaskBulkUpdateRepositoryImpl implements TaskBulkUpdateRepository {
+
+  /**
+   * Пространство запросов native-запросов. Запросы к таблице задач через кэш запросов не
+   * выполняются, поэтому инвалидировать результаты кэша запросов не требуется.
+   */
+  static final String QUERY_SPACE = "task_bulk_updates";
+
+  private static final String UPDATE_STATUS =
+      "update tasks set status = :status, updated_at = :updatedAt, version = version + 1"
+          + " where id = :id";
+
+  private final EntityManager entityManager;
+
+  @Override
+  @Transactional
+  public int updateStatus(Long id, Task.Status status, LocalDateTime updatedAt) {
+    return execute(
+        nativeQuery(UPDATE_STATUS)
+            .setParameter("id", id)
+            .setParameter("status", status.name())
+            .setParameter("updatedAt", updatedAt),
+        List.of(id));
+  }
+
+  @Override
+  @Transactional
+  public int updateStatusIfVersion(
+      Long id, long version, Task.Status status, LocalDateTime updatedAt) {
+    return execute(
+        nativeQuery(UPDATE_STATUS + " and version = :version")
+            .setParameter("id", id)
+            .setParameter("version", version)
+            .setParameter("status", status.name())
+            .setParameter("updatedAt", updatedAt),
+        List.of(id));
+  }
+
+  @Override
+  @Transactional
+  public int deleteAllByIdIn(Collection<Long> ids) {
+    return execute(
+        nativeQuery("delete from tasks where id in (:ids)").setParameter("ids", ids), ids);
+  }
+
+  private NativeQuery<?> nativeQuery(String sql) {
+    // Несохраненные изменения должны попасть в базу до запроса, как при flushAutomatically
+    entityManager.flush();
+    return entityManager
+        .createNativeQuery(sql)
+        .unwrap(NativeQuery.class)
+        .addSynchronizedQuerySpace(QUERY_SPACE);
+  }
+
+  private int execute(NativeQuery<?> query, Collection<Long> taskIds) {
+    int affected = query.executeUpdate();
+    for (Long id : taskIds) {
+      // getReference не выполняет запрос: возвращает загруженную задачу или прокси
+      entityManager.detach(entityManager.getReference(Task.class, id));
+    }
+    evictFromSecondLevelCache(taskIds);
+    return affected;
+  }
+
+  /**
+   * Удаляет задачи из кэша второго уровня сейчас и повторно после завершения транзакции: иначе
+   * параллельная транзакция успела бы загрузить в кэш прежнее состояние задачи до фиксации.
+   */
+  private void evictFromSecondLevelCache(Collection<Long> taskIds) {
+    Cache cache = entityManager.getEntityManagerFactory().getCache();
+    taskIds.forEach(id -> cache.evict(Task.class, id));
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+              taskIds.forEach(id -> cache.evict(Task.class, id));
+            }
+          });
+    }
+  }
+}
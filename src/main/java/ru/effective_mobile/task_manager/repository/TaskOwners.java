@@ -0,0 +1,11 @@
+package ru.effective_mobile.task_manager.repository;
+
+/**
+ * Проекция задачи, содержащая только идентификаторы автора и исполнителя. Используется при массовом
+ * создании и удалении задач, чтобы обновить счетчики без загрузки сущностей.
+ *
+ * @param taskId Идентификатор задачи.
+ * @param authorId Идентификатор автора.
+ * @param assigneeId Идентификатор исполнителя или null, если исполнитель не назначен.
+ */
+public record TaskOwners(Long taskId, Long authorId, Long assigneeId) {}
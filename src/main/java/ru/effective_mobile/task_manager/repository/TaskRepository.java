@@ -1,12 +1,152 @@
 package ru.effective_mobile.task_manager.repository;
 
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import ru.effective_mobile.task_manager.dto.TaskResponse;
 import ru.effective_mobile.task_manager.entities.Task;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskBulkUpdateRepository {
+  /**
+   * Выборка полей задачи для {@link TaskResponse}. Идентификаторы автора и исполнителя берутся из
+   * внешних ключей таблицы задач, поэтому сущности пользователей не загружаются.
+   */
+  String SELECT_TASK_RESPONSE =
+      "select new ru.effective_mobile.task_manager.dto.TaskResponse(t.id, t.title, t.description,"
+          + " t.status, t.priority, t.author.id, t.assignee.id, t.createdAt, t.updatedAt,"
+          + " t.version)"
+          + " from Task t";
+
+  /** Выборка отметки состояния задач для ETag списков. */
+  String SELECT_WATERMARK =
+      "select new ru.effective_mobile.task_manager.repository.Watermark(count(t),"
+          + " coalesce(sum(t.id + t.version), 0L), max(t.updatedAt)) from Task t";
+
+  /** Условие продолжения ленты задач после курсора (updatedAt, id). */
+  String AFTER_CURSOR = "(t.updatedAt, t.id) < (:updatedAt, :id)";
+
+  /** Порядок ленты задач: сначала недавно обновленные. */
+  String FEED_ORDER = " order by t.updatedAt desc, t.id desc";
+
+  /**
+   * Условие ленты изменений: задачи, измененные после курсора (updatedAt, id), но раньше границы
+   * until, в порядке изменения.
+   */
+  String CHANGES_WINDOW =
+      "(t.updatedAt, t.id) > (:updatedAt, :id) and t.updatedAt < :until"
+          + " order by t.updatedAt, t.id";
+
+  /** Количество строк, получаемых драйвером за одно обращение к серверному курсору. */
+  String EXPORT_FETCH_SIZE = "500";
+
+  /**
+   * Выгружает все задачи через серверный курсор. Возвращаемый поток должен быть закрыт и прочитан
+   * внутри транзакции: PostgreSQL использует курсор с fetch size только при выключенном autocommit.
+   */
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+    @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+  })
+  @Query(SELECT_TASK_RESPONSE + " order by t.id")
+  Stream<TaskResponse> streamAll();
+
+  @Query(SELECT_TASK_RESPONSE + " where t.id = :id")
+  Optional<TaskResponse> findResponseById(@Param("id") Long id);
+
+  @Query("select t.version from Task t where t.id = :id")
+  Optional<Long> findVersionById(@Param("id") Long id);
+
+  @Query(SELECT_WATERMARK)
+  Watermark findWatermark();
+
+  @Query(SELECT_WATERMARK + " where t.author.id = :authorId")
+  Watermark findWatermarkByAuthorId(@Param("authorId") Long authorId);
+
+  @Query(SELECT_WATERMARK + " where t.assignee.id = :assigneeId")
+  Watermark findWatermarkByAssigneeId(@Param("assigneeId") Long assigneeId);
+
   Page<Task> findByAuthorId(Long authorId, Pageable pageable);
 
   Page<Task> findByAssigneeId(Long assigneeId, Pageable pageable);
+
+  @Query(
+      "select new ru.effective_mobile.task_manager.repository.TaskAssignee(t.id, a.id, a.email)"
+          + " from Task t left join t.assignee a where t.id = :taskId")
+  Optional<TaskAssignee> findAssigneeByTaskId(@Param("taskId") Long taskId);
+
+  @Query(
+      "select new ru.effective_mobile.task_manager.repository.TaskOwners(t.id, t.author.id,"
+          + " t.assignee.id) from Task t where t.id in :ids")
+  List<TaskOwners> findOwnersByIdIn(@Param("ids") Collection<Long> ids);
+
+  long countByAuthorId(Long authorId);
+
+  long countByAssigneeId(Long assigneeId);
+
+  @Query(SELECT_TASK_RESPONSE)
+  Slice<TaskResponse> findResponseSlice(Pageable pageable);
+
+  @Query(SELECT_TASK_RESPONSE + " where t.author.id = :authorId")
+  Slice<TaskResponse> findResponseSliceByAuthorId(
+      @Param("authorId") Long authorId, Pageable pageable);
+
+  @Query(SELECT_TASK_RESPONSE + " where t.assignee.id = :assigneeId")
+  Slice<TaskResponse> findResponseSliceByAssigneeId(
+      @Param("assigneeId") Long assigneeId, Pageable pageable);
+
+  @Query(SELECT_TASK_RESPONSE + FEED_ORDER)
+  List<TaskResponse> findFeed(Limit limit);
+
+  @Query(SELECT_TASK_RESPONSE + " where " + AFTER_CURSOR + FEED_ORDER)
+  List<TaskResponse> findFeedAfter(
+      @Param("updatedAt") LocalDateTime updatedAt, @Param("id") Long id, Limit limit);
+
+  @Query(SELECT_TASK_RESPONSE + " where t.author.id = :authorId" + FEED_ORDER)
+  List<TaskResponse> findFeedByAuthorId(@Param("authorId") Long authorId, Limit limit);
+
+  @Query(SELECT_TASK_RESPONSE + " where t.author.id = :authorId and " + AFTER_CURSOR + FEED_ORDER)
+  List<TaskResponse> findFeedByAuthorIdAfter(
+      @Param("authorId") Long authorId,
+      @Param("updatedAt") LocalDateTime updatedAt,
+      @Param("id") Long id,
+      Limit limit);
+
+  @Query(SELECT_TASK_RESPONSE + " where t.assignee.id = :assigneeId" + FEED_ORDER)
+  List<TaskResponse> findFeedByAssigneeId(@Param("assigneeId") Long assigneeId, Limit limit);
+
+  @Query(
+      SELECT_TASK_RESPONSE + " where t.assignee.id = :assigneeId and " + AFTER_CURSOR + FEED_ORDER)
+  List<TaskResponse> findFeedByAssigneeIdAfter(
+      @Param("assigneeId") Long assigneeId,
+      @Param("updatedAt") LocalDateTime updatedAt,
+      @Param("id") Long id,
+      Limit limit);
+
+  @Query(SELECT_TASK_RESPONSE + " where " + CHANGES_WINDOW)
+  List<TaskResponse> findChangedAfter(
+      @Param("updatedAt") LocalDateTime updatedAt,
+      @Param("id") Long id,
+      @Param("until") LocalDateTime until,
+      Limit limit);
+
+  @Query(SELECT_TASK_RESPONSE + " where t.assignee.id = :assigneeId and " + CHANGES_WINDOW)
+  List<TaskResponse> findChangedByAssigneeIdAfter(
+      @Param("assigneeId") Long assigneeId,
+      @Param("updatedAt") LocalDateTime updatedAt,
+      @Param("id") Long id,
+      @Param("until") LocalDateTime until,
+      Limit limit);
 }
@@ -0,0 +1,41 @@
+package ru.effective_mobile.task_manager.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.effective_mobile.task_manager.entities.TaskTombstone;
+
+/** Репозиторий отметок об удалении задач и их передаче другому исполнителю. */
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+  /** Условие ленты изменений: после курсора (removedAt, taskId), но раньше границы until. */
+  String CHANGES_WINDOW =
+      " and (t.removedAt, t.taskId) > (:removedAt, :taskId) and t.removedAt < :until"
+          + " order by t.removedAt, t.taskId";
+
+  @Query(
+      "select t from TaskTombstone t where t.reason ="
+          + " ru.effective_mobile.task_manager.entities.TaskTombstone.Reason.DELETED"
+          + CHANGES_WINDOW)
+  List<TaskTombstone> findDeletedAfter(
+      @Param("removedAt") LocalDateTime removedAt,
+      @Param("taskId") Long taskId,
+      @Param("until") LocalDateTime until,
+      Limit limit);
+
+  @Query("select t from TaskTombstone t where t.assigneeId = :assigneeId" + CHANGES_WINDOW)
+  List<TaskTombstone> findByAssigneeIdAfter(
+      @Param("assigneeId") Long assigneeId,
+      @Param("removedAt") LocalDateTime removedAt,
+      @Param("taskId") Long taskId,
+      @Param("until") LocalDateTime until,
+      Limit limit);
+
+  /** Удаляет отметки старше указанного момента. */
+  @Modifying
+  @Query("delete from TaskTombstone t where t.removedAt < :before")
+  int deleteOlderThan(@Param("before") LocalDateTime before);
+}
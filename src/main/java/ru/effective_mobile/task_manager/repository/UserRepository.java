@@ -1,11 +1,18 @@
 package ru.effective_mobile.task_manager.repository;
 
+import jakarta.persistence.QueryHint;
 import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import ru.effective_mobile.task_manager.entities.User;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
   Optional<User> findByEmail(String email);
 
-  Optional<User> findByRefreshToken(String refreshToken);
+  @Query("select u.tokenVersion from User u where u.id = :id")
+  Optional<Integer> findTokenVersionById(@Param("id") Long id);
 }
@@ -0,0 +1,18 @@
+package ru.effective_mobile.task_manager.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Отметка состояния выборки: количество записей, контрольная сумма и время последнего изменения.
+ * Отметка используется для построения ETag списков без чтения самих записей.
+ *
+ * <p>Время изменения задается приложением до фиксации, поэтому транзакция, зафиксированная позже
+ * соседней, может оставить максимум прежним. Контрольная сумма складывается из идентификаторов и
+ * версий записей и меняется при каждой зафиксированной записи независимо от ее времени:
+ * идентификаторы не переиспользуются, а версия растет при каждом изменении.
+ *
+ * @param count Количество записей.
+ * @param checksum Сумма идентификаторов и версий записей.
+ * @param lastModifiedAt Время последнего изменения или null, если выборка пуста.
+ */
+public record Watermark(long count, long checksum, LocalDateTime lastModifiedAt) {}
@@ -0,0 +1,32 @@
+package ru.effective_mobile.task_manager.security;
+
+import java.util.Collection;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+/**
+ * Данные аутентифицированного пользователя. Помимо email и ролей хранит идентификатор пользователя
+ * и версию его токенов, которые встраиваются в JWT и позволяют восстановить пользователя из токена
+ * без обращения к базе данных.
+ */
+@Getter
+@EqualsAndHashCode(callSuper = true)
+public class AuthenticatedUser extends User {
+
+  private final Long id;
+
+  private final int tokenVersion;
+
+  public AuthenticatedUser(
+      Long id,
+      String email,
+      String password,
+      Collection<? extends GrantedAuthority> authorities,
+      int tokenVersion) {
+    super(email, password, authorities);
+    this.id = id;
+    this.tokenVersion = tokenVersion;
+  }
+}
@@ -0,0 +1,99 @@
+package ru.effective_mobile.task_manager.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import ru.effective_mobile.task_manager.exception.PasswordHashingRejectedException;
+
+/**
+ * Кодировщик паролей BCrypt, выполняющий хэширование в отдельном ограниченном пуле потоков. Потоки
+ * обработки запросов только ожидают результат, поэтому всплеск входов и регистраций занимает не
+ * больше {@code threads} ядер, а остальные эндпоинты продолжают обслуживаться. Если очередь пула
+ * заполнена или результат не получен за {@code timeout}, выбрасывается {@link
+ * PasswordHashingRejectedException}.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, MeterBinder, DisposableBean {
+
+  private final BCryptPasswordEncoder delegate;
+  private final ThreadPoolExecutor executor;
+  private final Duration timeout;
+
+  public BoundedPasswordEncoder(int strength, int threads, int queueCapacity, Duration timeout) {
+    this.delegate = new BCryptPasswordEncoder(strength);
+    this.executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            0,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            new CustomizableThreadFactory("password-hashing-"),
+            new ThreadPoolExecutor.AbortPolicy());
+    this.timeout = timeout;
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return execute(() -> delegate.encode(rawPassword));
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return execute(() -> delegate.matches(rawPassword, encodedPassword));
+  }
+
+  /** Проверка стоимости хэша не требует вычислений, поэтому выполняется в вызывающем потоке. */
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return delegate.upgradeEncoding(encodedPassword);
+  }
+
+  private <T> T execute(Callable<T> task) {
+    Future<T> future;
+    try {
+      future = executor.submit(task);
+    } catch (RejectedExecutionException e) {
+      throw new PasswordHashingRejectedException("Password hashing queue is full");
+    }
+
+    try {
+      return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      future.cancel(true);
+      throw new PasswordHashingRejectedException("Password hashing timed out");
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new PasswordHashingRejectedException("Password hashing interrupted");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    new ExecutorServiceMetrics(executor, "passwordHashing", List.of()).bindTo(registry);
+  }
+
+  @Override
+  public void destroy() {
+    executor.shutdownNow();
+  }
+}
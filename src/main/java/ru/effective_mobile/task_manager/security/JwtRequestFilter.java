@@ -1,6 +1,8 @@
 package ru.effective_mobile.task_manager.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -11,31 +13,54 @@ import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
 import javax.crypto.SecretKey;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import ru.effective_mobile.task_manager.service.TokenVersionService;
 
 /**
  * Фильтр для обработки JWT в запросах. Проверяет наличие и валидность JWT, а также устанавливает
  * аутентификацию в контекст безопасности.
  */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class JwtRequestFilter extends OncePerRequestFilter {
 
   private static final SecretKey SECRET_KEY = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+
+  /** Парсер неизменяем и потокобезопасен, поэтому создается один раз на всё приложение. */
+  private static final JwtParser JWT_PARSER =
+      Jwts.parserBuilder().setSigningKey(SECRET_KEY).build();
+
+  private static final String USER_ID_CLAIM = "uid";
+  private static final String TOKEN_VERSION_CLAIM = "ver";
+  private static final String ROLES_CLAIM = "roles";
+
   private final UserDetailsService userDetailsService;
+  private final TokenVersionService tokenVersionService;
+
+  /**
+   * В stateless-режиме пользователь восстанавливается из клеймов токена, а не загружается из базы
+   * данных на каждый запрос.
+   */
+  @Value("${app.security.jwt.stateless:true}")
+  private boolean stateless = true;
 
   /**
-   * Основной метод фильтрации запросов. Извлекает JWT из заголовка, проверяет его валидность и
-   * устанавливает аутентификацию в контекст безопасности.
+   * Основной метод фильтрации запросов. Извлекает JWT из заголовка, проверяет его подпись один раз
+   * и устанавливает аутентификацию в контекст безопасности.
    *
    * @param request HTTP-запрос
    * @param response HTTP-ответ
@@ -50,18 +75,22 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
     final String authorizationHeader = request.getHeader("Authorization");
 
-    String email = null;
-    String jwt = null;
+    Claims claims = null;
 
     if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-      jwt = authorizationHeader.substring(7);
-      email = extractEmail(jwt);
+      claims = parseClaims(authorizationHeader.substring(7));
     }
 
-    if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-      UserDetails userDetails = this.userDetailsService.loadUserByUsername(email);
+    if (claims != null
+        && claims.getSubject() != null
+        && !isTokenExpired(claims)
+        && SecurityContextHolder.getContext().getAuthentication() == null) {
+      UserDetails userDetails =
+          stateless && hasIdentityClaims(claims)
+              ? userFromClaims(claims)
+              : userDetailsService.loadUserByUsername(claims.getSubject());
 
-      if (validateToken(jwt, userDetails)) {
+      if (userDetails != null && validateToken(claims, userDetails)) {
         UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken =
             new UsernamePasswordAuthenticationToken(
                 userDetails, null, userDetails.getAuthorities());
@@ -72,68 +101,82 @@ public class JwtRequestFilter extends OncePerRequestFilter {
   }
 
   /**
-   * Извлекает адрес электронной почты из токена.
+   * Проверяет подпись токена и извлекает все его клеймы. Подпись проверяется ровно один раз за
+   * запрос, дальше фильтр работает только с полученным объектом Claims.
    *
    * @param token JWT-токен
-   * @return адрес электронной почты
+   * @return объект Claims с клеймами или null, если токен невалиден
    */
-  private String extractEmail(String token) {
-    return extractClaim(token, Claims::getSubject);
+  private Claims parseClaims(String token) {
+    try {
+      return JWT_PARSER.parseClaimsJws(token).getBody();
+    } catch (JwtException | IllegalArgumentException e) {
+      log.debug("Invalid JWT: {}", e.getMessage());
+      return null;
+    }
   }
 
   /**
-   * Извлекает указанный клейм из токена.
+   * Проверяет, содержит ли токен клеймы, достаточные для восстановления пользователя без обращения
+   * к базе данных.
    *
-   * @param token JWT-токен
-   * @param claimsResolver функция для извлечения клейма
-   * @param <T> тип клейма
-   * @return значение клейма
+   * @param claims клеймы проверенного токена
+   * @return true, если в токене есть идентификатор, версия и роли пользователя
    */
-  private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-    final Claims claims = extractAllClaims(token);
-    return claimsResolver.apply(claims);
+  private boolean hasIdentityClaims(Claims claims) {
+    return claims.get(USER_ID_CLAIM) != null
+        && claims.get(TOKEN_VERSION_CLAIM) != null
+        && claims.get(ROLES_CLAIM) instanceof List;
   }
 
   /**
-   * Извлекает все клеймы из JWT-токена.
+   * Восстанавливает пользователя из клеймов токена. Единственная проверка состояния - сверка версии
+   * токена, которая обслуживается из памяти {@link TokenVersionService}.
    *
-   * @param token JWT-токен
-   * @return объект Claims с клеймами
+   * @param claims клеймы проверенного токена
+   * @return детали пользователя или null, если токен отозван
    */
-  private Claims extractAllClaims(String token) {
-    return Jwts.parserBuilder().setSigningKey(SECRET_KEY).build().parseClaimsJws(token).getBody();
+  private UserDetails userFromClaims(Claims claims) {
+    Long userId = claims.get(USER_ID_CLAIM, Number.class).longValue();
+    int tokenVersion = claims.get(TOKEN_VERSION_CLAIM, Number.class).intValue();
+    if (!tokenVersionService.isCurrent(userId, tokenVersion)) {
+      return null;
+    }
+    List<?> roles = claims.get(ROLES_CLAIM, List.class);
+    return new AuthenticatedUser(
+        userId,
+        claims.getSubject(),
+        "",
+        AuthorityUtils.createAuthorityList(roles.stream().map(String::valueOf).toList()),
+        tokenVersion);
   }
 
   /**
-   * Проверяет валидность токена на основе адреса электронной почты и срока действия.
+   * Проверяет валидность токена на основе адреса электронной почты и версии токенов пользователя.
    *
-   * @param token JWT-токен
+   * @param claims клеймы проверенного токена
    * @param userDetails детали пользователя
    * @return true, если токен валиден; иначе false
    */
-  private Boolean validateToken(String token, UserDetails userDetails) {
-    final String email = extractEmail(token);
-    return (email.equals(userDetails.getUsername()) && !isTokenExpired(token));
+  private boolean validateToken(Claims claims, UserDetails userDetails) {
+    if (!claims.getSubject().equals(userDetails.getUsername())) {
+      return false;
+    }
+    Number tokenVersion = claims.get(TOKEN_VERSION_CLAIM, Number.class);
+    return !(userDetails instanceof AuthenticatedUser authenticatedUser)
+        || tokenVersion == null
+        || tokenVersion.intValue() == authenticatedUser.getTokenVersion();
   }
 
   /**
    * Проверяет, истек ли срок действия токена.
    *
-   * @param token JWT-токен
+   * @param claims клеймы проверенного токена
    * @return true, если срок действия истек; иначе false
    */
-  private Boolean isTokenExpired(String token) {
-    return extractExpiration(token).before(new Date());
-  }
-
-  /**
-   * Извлекает дату истечения срока действия токена.
-   *
-   * @param token JWT-токен
-   * @return дата истечения срока действия
-   */
-  private Date extractExpiration(String token) {
-    return extractClaim(token, Claims::getExpiration);
+  private boolean isTokenExpired(Claims claims) {
+    Date expiration = claims.getExpiration();
+    return expiration != null && expiration.before(new Date());
   }
 
   /**
@@ -144,6 +187,13 @@ public class JwtRequestFilter extends OncePerRequestFilter {
    */
   public String generateToken(UserDetails userDetails) {
     Map<String, Object> claims = new HashMap<>();
+    claims.put(
+        ROLES_CLAIM,
+        userDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+    if (userDetails instanceof AuthenticatedUser authenticatedUser) {
+      claims.put(USER_ID_CLAIM, authenticatedUser.getId());
+      claims.put(TOKEN_VERSION_CLAIM, authenticatedUser.getTokenVersion());
+    }
     return createToken(claims, userDetails.getUsername());
   }
 
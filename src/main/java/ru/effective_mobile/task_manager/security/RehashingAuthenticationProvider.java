@@ -0,0 +1,47 @@
+package ru.effective_mobile.task_manager.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import ru.effective_mobile.task_manager.exception.PasswordHashingRejectedException;
+
+/**
+ * Провайдер аутентификации по паролю, перехэширующий пароль после успешного входа, если стоимость
+ * его хэша ниже настроенной. В отличие от встроенного перехэширования {@link
+ * DaoAuthenticationProvider} оно выполняется по возможности: если пул хэширования перегружен,
+ * перехэширование пропускается до следующего входа, а вход завершается успешно. Отказ пула при
+ * сверке пароля по-прежнему прерывает вход.
+ */
+@Slf4j
+public class RehashingAuthenticationProvider extends DaoAuthenticationProvider {
+
+  private final UserDetailsPasswordService userDetailsPasswordService;
+
+  public RehashingAuthenticationProvider(
+      PasswordEncoder passwordEncoder,
+      UserDetailsService userDetailsService,
+      UserDetailsPasswordService userDetailsPasswordService) {
+    super(passwordEncoder);
+    setUserDetailsService(userDetailsService);
+    this.userDetailsPasswordService = userDetailsPasswordService;
+  }
+
+  @Override
+  protected Authentication createSuccessAuthentication(
+      Object principal, Authentication authentication, UserDetails user) {
+    if (getPasswordEncoder().upgradeEncoding(user.getPassword())) {
+      try {
+        String presentedPassword = authentication.getCredentials().toString();
+        userDetailsPasswordService.updatePassword(
+            user, getPasswordEncoder().encode(presentedPassword));
+      } catch (PasswordHashingRejectedException e) {
+        log.warn("Password rehash skipped for {}: {}", user.getUsername(), e.getMessage());
+      }
+    }
+    return super.createSuccessAuthentication(principal, authentication, user);
+  }
+}
@@ -1,19 +1,23 @@
 package ru.effective_mobile.task_manager.security;
 
+import jakarta.servlet.DispatcherType;
+import java.time.Duration;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import ru.effective_mobile.task_manager.service.UserDetailsServiceImpl;
 
 @Configuration
 @EnableWebSecurity
@@ -22,9 +26,30 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
   private final JwtRequestFilter jwtRequestFilter;
 
+  /**
+   * Кодировщик паролей. Хэширование выполняется в отдельном ограниченном пуле потоков, чтобы
+   * всплеск входов не занимал потоки обработки остальных запросов.
+   */
   @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  public BoundedPasswordEncoder passwordEncoder(
+      @Value("${app.security.bcrypt.strength:10}") int strength,
+      @Value("${app.security.password-hashing.threads:2}") int threads,
+      @Value("${app.security.password-hashing.queue-capacity:64}") int queueCapacity,
+      @Value("${app.security.password-hashing.timeout:5s}") Duration timeout) {
+    return new BoundedPasswordEncoder(strength, threads, queueCapacity, timeout);
+  }
+
+  /**
+   * Провайдер аутентификации для входа по паролю. Использует некэширующий {@link
+   * UserDetailsServiceImpl}, чтобы пароль всегда сверялся с актуальными данными. Если стоимость
+   * хэша пароля ниже настроенной, после успешного входа пароль перехэшируется, если пул хэширования
+   * не перегружен.
+   */
+  @Bean
+  public DaoAuthenticationProvider daoAuthenticationProvider(
+      UserDetailsServiceImpl userDetailsService, PasswordEncoder passwordEncoder) {
+    return new RehashingAuthenticationProvider(
+        passwordEncoder, userDetailsService, userDetailsService);
   }
 
   @Bean
@@ -33,6 +58,9 @@ public class SecurityConfig {
         .authorizeHttpRequests(
             authorizeRequests ->
                 authorizeRequests
+                    // Асинхронное завершение потокового ответа: исходный запрос уже авторизован
+                    .dispatcherTypeMatchers(DispatcherType.ASYNC)
+                    .permitAll()
                     .requestMatchers("/api/auth/**", "/swagger-ui/**", "/v3/api-docs/**")
                     .permitAll()
                     .requestMatchers("/api/tasks/**")
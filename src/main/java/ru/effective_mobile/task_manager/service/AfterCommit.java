@@ -0,0 +1,34 @@
+package ru.effective_mobile.task_manager.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Откладывает обновление локальных кэшей до фиксации транзакции. Если инвалидировать кэш до
+ * фиксации, параллельный промах успеет прочитать из базы прежнее значение и вернуть его в кэш на
+ * весь срок жизни записи, а при откате транзакции инкрементальные счетчики разойдутся с базой.
+ */
+final class AfterCommit {
+
+  private AfterCommit() {}
+
+  /**
+   * Выполняет действие после фиксации текущей транзакции. При откате действие не выполняется. Вне
+   * транзакции действие выполняется сразу.
+   *
+   * @param action Действие.
+   */
+  static void run(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            action.run();
+          }
+        });
+  }
+}
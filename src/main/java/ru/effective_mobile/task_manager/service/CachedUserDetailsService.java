@@ -0,0 +1,56 @@
+package ru.effective_mobile.task_manager.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import ru.effective_mobile.task_manager.cache.ExpiringLruCache;
+
+/**
+ * Кэширующая обертка над {@link UserDetailsServiceImpl}. Используется фильтром JWT в
+ * stateful-режиме и при обновлении access токена, чтобы не обращаться к таблице пользователей на
+ * каждый запрос. Записи инвалидируются при регистрации, смене роли и выходе пользователя.
+ */
+@Primary
+@Service
+public class CachedUserDetailsService implements UserDetailsService, MeterBinder {
+
+  private final UserDetailsServiceImpl delegate;
+  private final ExpiringLruCache<String, UserDetails> cache;
+
+  public CachedUserDetailsService(
+      UserDetailsServiceImpl delegate,
+      @Value("${app.security.user-cache.max-size:10000}") int maxSize,
+      @Value("${app.security.user-cache.ttl:5m}") Duration ttl) {
+    this.delegate = delegate;
+    this.cache = new ExpiringLruCache<>(maxSize, ttl);
+  }
+
+  @Override
+  public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+    return cache.get(email, delegate::loadUserByUsername);
+  }
+
+  /**
+   * Удаляет пользователя из кэша.
+   *
+   * @param email Email пользователя.
+   */
+  public void invalidate(String email) {
+    cache.invalidate(email);
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    cache.bindTo(registry, "userDetails");
+  }
+
+  ExpiringLruCache<String, UserDetails> getCache() {
+    return cache;
+  }
+}
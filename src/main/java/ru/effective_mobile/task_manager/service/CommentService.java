@@ -1,20 +1,29 @@
 package ru.effective_mobile.task_manager.service;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.effective_mobile.task_manager.cache.RequestEntityCache;
 import ru.effective_mobile.task_manager.dto.CommentRequest;
 import ru.effective_mobile.task_manager.dto.CommentResponse;
+import ru.effective_mobile.task_manager.dto.CursorPage;
+import ru.effective_mobile.task_manager.dto.FeedCursor;
 import ru.effective_mobile.task_manager.entities.Comment;
 import ru.effective_mobile.task_manager.entities.Task;
 import ru.effective_mobile.task_manager.entities.User;
 import ru.effective_mobile.task_manager.repository.CommentRepository;
 import ru.effective_mobile.task_manager.repository.TaskRepository;
 import ru.effective_mobile.task_manager.repository.UserRepository;
+import ru.effective_mobile.task_manager.repository.Watermark;
 
 /** Сервис для работы с комментариями. */
 @Service
@@ -24,6 +33,7 @@ public class CommentService {
   private final CommentRepository commentRepository;
   private final TaskRepository taskRepository;
   private final UserRepository userRepository;
+  private final RequestEntityCache requestEntityCache;
 
   /**
    * Создает новый комментарий.
@@ -31,6 +41,7 @@ public class CommentService {
    * @param commentRequest Запрос на создание комментария.
    * @return Ответ с созданным комментарием.
    */
+  @Transactional
   public CommentResponse createComment(CommentRequest commentRequest) {
     Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
     String email = authentication.getName();
@@ -47,8 +58,8 @@ public class CommentService {
     newComment.setCreatedAt(LocalDateTime.now());
 
     Task task =
-        taskRepository
-            .findById(commentRequest.getTaskId())
+        requestEntityCache
+            .find(Task.class, commentRequest.getTaskId(), taskRepository::findById)
             .orElseThrow(() -> new IllegalArgumentException("Task not found"));
     newComment.setTask(task);
 
@@ -63,9 +74,46 @@ public class CommentService {
    * @param pageable Объект пагинации.
    * @return Страница с комментариями.
    */
+  @Transactional(readOnly = true)
   public Page<CommentResponse> getCommentsByTask(Long taskId, Pageable pageable) {
-    Page<Comment> comments = commentRepository.findByTaskId(taskId, pageable);
-    return comments.map(this::mapToCommentResponse);
+    Slice<CommentResponse> comments =
+        commentRepository.findResponseSliceByTaskId(taskId, pageable);
+    return PageableExecutionUtils.getPage(
+        comments.getContent(), pageable, () -> commentRepository.countByTaskId(taskId));
+  }
+
+  /**
+   * Получает отметку состояния комментариев задачи для условных запросов.
+   *
+   * @param taskId Идентификатор задачи.
+   * @return Количество комментариев, контрольная сумма и время последнего из них.
+   */
+  @Transactional(readOnly = true)
+  public Watermark getCommentsWatermark(Long taskId) {
+    return commentRepository.findWatermarkByTaskId(taskId);
+  }
+
+  /**
+   * Получает ленту комментариев задачи в порядке написания с курсорной пагинацией.
+   *
+   * @param taskId Идентификатор задачи.
+   * @param after Курсор предыдущей страницы или null для первой страницы.
+   * @param size Размер страницы.
+   * @return Страница ленты.
+   */
+  @Transactional(readOnly = true)
+  public CursorPage<CommentResponse> getCommentFeedByTask(Long taskId, String after, int size) {
+    Limit limit = CursorPage.limit(size);
+    List<CommentResponse> rows;
+    if (after == null) {
+      rows = commentRepository.findFeedByTaskId(taskId, limit);
+    } else {
+      FeedCursor cursor = FeedCursor.decode(after);
+      rows =
+          commentRepository.findFeedByTaskIdAfter(taskId, cursor.timestamp(), cursor.id(), limit);
+    }
+    return CursorPage.of(
+        rows, size, comment -> new FeedCursor(comment.getCreatedAt(), comment.getId()));
   }
 
   /**
@@ -1,58 +1,160 @@
 package ru.effective_mobile.task_manager.service;
 
-import java.util.UUID;
-import lombok.RequiredArgsConstructor;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.effective_mobile.task_manager.entities.RefreshToken;
 import ru.effective_mobile.task_manager.entities.User;
 import ru.effective_mobile.task_manager.exception.TokenRefreshException;
+import ru.effective_mobile.task_manager.repository.RefreshTokenRepository;
 import ru.effective_mobile.task_manager.repository.UserRepository;
 import ru.effective_mobile.task_manager.security.JwtRequestFilter;
 
+/**
+ * Выдача и проверка refresh токенов. Токены хранятся в таблице {@code refresh_tokens} в виде
+ * SHA-256 хэша, поэтому проверка токена — поиск по уникальному индексу, а утечка таблицы не
+ * раскрывает действующие токены.
+ */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class RefreshTokenService {
 
+  private static final int TOKEN_BYTES = 32;
+
   private final UserRepository userRepository;
+  private final RefreshTokenRepository refreshTokenRepository;
   private final JwtRequestFilter jwtRequestFilter;
-  private final UserDetailsService userDetailsService;
+  private final CachedUserDetailsService userDetailsService;
+  private final TokenVersionService tokenVersionService;
+  private final Duration ttl;
+  private final SecureRandom secureRandom = new SecureRandom();
+
+  public RefreshTokenService(
+      UserRepository userRepository,
+      RefreshTokenRepository refreshTokenRepository,
+      JwtRequestFilter jwtRequestFilter,
+      CachedUserDetailsService userDetailsService,
+      TokenVersionService tokenVersionService,
+      @Value("${app.security.refresh-token.ttl:30d}") Duration ttl) {
+    this.userRepository = userRepository;
+    this.refreshTokenRepository = refreshTokenRepository;
+    this.jwtRequestFilter = jwtRequestFilter;
+    this.userDetailsService = userDetailsService;
+    this.tokenVersionService = tokenVersionService;
+    this.ttl = ttl;
+  }
 
+  /**
+   * Выдает пользователю новый refresh токен. Ранее выданные токены (например, на других
+   * устройствах) остаются действительными.
+   *
+   * @param email Email пользователя.
+   * @return Refresh токен.
+   */
+  @Transactional
   public String createRefreshToken(String email) {
-    String refreshToken = UUID.randomUUID().toString();
     User user =
         userRepository
             .findByEmail(email)
             .orElseThrow(
                 () -> new UsernameNotFoundException("User not found with email: " + email));
-    user.setRefreshToken(refreshToken);
-    userRepository.save(user);
+
+    byte[] bytes = new byte[TOKEN_BYTES];
+    secureRandom.nextBytes(bytes);
+    String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+    LocalDateTime now = LocalDateTime.now();
+    refreshTokenRepository.save(
+        RefreshToken.builder()
+            .tokenHash(hash(refreshToken))
+            .user(user)
+            .createdAt(now)
+            .expiresAt(now.plus(ttl))
+            .build());
     return refreshToken;
   }
 
+  /**
+   * Выдает новый access токен по refresh токену. Просроченный токен удаляется, и удаление
+   * фиксируется, несмотря на исключение.
+   *
+   * @param refreshToken Refresh токен.
+   * @return Access токен.
+   */
+  @Transactional(noRollbackFor = TokenRefreshException.class)
   public String refreshAccessToken(String refreshToken) {
-    User user =
-        userRepository
-            .findByRefreshToken(refreshToken)
+    RefreshToken storedToken =
+        refreshTokenRepository
+            .findByTokenHash(hash(refreshToken))
             .orElseThrow(
                 () -> new TokenRefreshException(refreshToken, "Refresh token is not in database!"));
 
-    if (user.getRefreshToken().equals(refreshToken)) {
-      UserDetails userDetails = userDetailsService.loadUserByUsername(user.getEmail());
-      return jwtRequestFilter.generateToken(userDetails);
-    } else {
-      throw new TokenRefreshException(refreshToken, "Refresh token is not valid!");
+    if (storedToken.getExpiresAt().isBefore(LocalDateTime.now())) {
+      refreshTokenRepository.delete(storedToken);
+      throw new TokenRefreshException(refreshToken, "Refresh token was expired!");
     }
+    UserDetails userDetails =
+        userDetailsService.loadUserByUsername(storedToken.getUser().getEmail());
+    return jwtRequestFilter.generateToken(userDetails);
   }
 
-  public void deleteRefreshToken(String email) {
-    User user =
-        userRepository
-            .findByEmail(email)
+  /**
+   * Завершает сеанс владельца refresh токена. Пользователь определяется по предъявленному токену,
+   * поэтому завершить чужой сеанс, не имея его токена, нельзя. Удаляется только предъявленный
+   * токен, сеансы на других устройствах продолжаются. При выходе на всех устройствах удаляются все
+   * refresh токены пользователя и отзываются выданные ему access токены.
+   *
+   * @param refreshToken Refresh токен завершаемого сеанса.
+   * @param allDevices Выйти на всех устройствах.
+   * @throws TokenRefreshException Если токен не найден.
+   */
+  @Transactional
+  public void deleteRefreshToken(String refreshToken, boolean allDevices) {
+    RefreshToken storedToken =
+        refreshTokenRepository
+            .findByTokenHash(hash(refreshToken))
             .orElseThrow(
-                () -> new UsernameNotFoundException("User not found with email: " + email));
-    user.setRefreshToken(null);
+                () -> new TokenRefreshException(refreshToken, "Refresh token is not in database!"));
+    User user = storedToken.getUser();
+    if (!allDevices) {
+      refreshTokenRepository.delete(storedToken);
+      return;
+    }
+    refreshTokenRepository.deleteByUserId(user.getId());
+    tokenVersionService.revoke(user);
     userRepository.save(user);
+    String email = user.getEmail();
+    AfterCommit.run(() -> userDetailsService.invalidate(email));
+  }
+
+  /** Удаляет просроченные refresh токены. */
+  @Scheduled(
+      fixedDelayString = "${app.security.refresh-token.purge-interval:PT1H}",
+      initialDelayString = "${app.security.refresh-token.purge-interval:PT1H}")
+  @Transactional
+  public void purgeExpiredTokens() {
+    int purged = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+    log.debug("Purged {} expired refresh tokens", purged);
+  }
+
+  static String hash(String refreshToken) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(refreshToken.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
   }
 }
@@ -0,0 +1,56 @@
+package ru.effective_mobile.task_manager.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.effective_mobile.task_manager.cache.ExpiringLruCache;
+import ru.effective_mobile.task_manager.repository.TaskAssignee;
+import ru.effective_mobile.task_manager.repository.TaskRepository;
+
+/**
+ * Кэш исполнителей задач для проверок доступа в {@code @PreAuthorize}. При промахе выполняет
+ * легковесный запрос только по идентификатору и email исполнителя вместо загрузки задачи целиком.
+ * Запись удаляется при смене исполнителя и удалении задачи.
+ */
+@Component
+public class TaskAssigneeCache implements MeterBinder {
+
+  private final TaskRepository taskRepository;
+  private final ExpiringLruCache<Long, TaskAssignee> cache;
+
+  public TaskAssigneeCache(
+      TaskRepository taskRepository,
+      @Value("${app.tasks.assignee-cache.max-size:10000}") int maxSize,
+      @Value("${app.tasks.assignee-cache.ttl:10m}") Duration ttl) {
+    this.taskRepository = taskRepository;
+    this.cache = new ExpiringLruCache<>(maxSize, ttl);
+  }
+
+  /**
+   * Возвращает данные исполнителя задачи.
+   *
+   * @param taskId Идентификатор задачи.
+   * @return Данные исполнителя или пустой Optional, если задача не найдена.
+   */
+  public Optional<TaskAssignee> get(Long taskId) {
+    return Optional.ofNullable(
+        cache.get(taskId, id -> taskRepository.findAssigneeByTaskId(id).orElse(null)));
+  }
+
+  /**
+   * Удаляет задачу из кэша.
+   *
+   * @param taskId Идентификатор задачи.
+   */
+  public void evict(Long taskId) {
+    cache.invalidate(taskId);
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    cache.bindTo(registry, "taskAssignees");
+  }
+}
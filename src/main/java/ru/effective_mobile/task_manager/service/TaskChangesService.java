@@ -0,0 +1,166 @@
+package ru.effective_mobile.task_manager.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.effective_mobile.task_manager.dto.ChangesCursor;
+import ru.effective_mobile.task_manager.dto.CursorPage;
+import ru.effective_mobile.task_manager.dto.FeedCursor;
+import ru.effective_mobile.task_manager.dto.TaskChange;
+import ru.effective_mobile.task_manager.dto.TaskResponse;
+import ru.effective_mobile.task_manager.entities.TaskTombstone;
+import ru.effective_mobile.task_manager.exception.ChangesCursorExpiredException;
+import ru.effective_mobile.task_manager.repository.TaskRepository;
+import ru.effective_mobile.task_manager.repository.TaskTombstoneRepository;
+
+/**
+ * Лента изменений задач для синхронизации клиентов. Клиент хранит курсор последнего полученного
+ * изменения и запрашивает только то, что изменилось после него, поэтому объем синхронизации зависит
+ * от частоты изменений, а не от количества задач.
+ *
+ * <p>Измененные задачи читаются по индексу (updated_at, id), удаленные — из отметок {@link
+ * TaskTombstone}. Изменения моложе {@code app.tasks.changes.settle-time} не выдаются: транзакция с
+ * более ранним временем изменения может еще не быть зафиксирована или не дойти до реплики, и
+ * клиент, получивший курсор за ней, пропустил бы ее. Отметки об удалении хранятся {@code
+ * app.tasks.changes.tombstone-ttl}; для курсора, выданного раньше, требуется полная синхронизация.
+ * Срок считается от выдачи курсора, а не от времени изменения записей, поэтому полная синхронизация
+ * проходит по задачам любой давности.
+ */
+@Slf4j
+@Service
+public class TaskChangesService {
+
+  /** Начало ленты для первой синхронизации: раньше времени изменения любой задачи. */
+  private static final FeedCursor START = new FeedCursor(LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+
+  private static final Comparator<TaskChange> CHANGE_ORDER =
+      Comparator.comparing(TaskChange::getChangedAt).thenComparing(TaskChange::getTaskId);
+
+  private final TaskRepository taskRepository;
+  private final TaskTombstoneRepository taskTombstoneRepository;
+  private final Duration settleTime;
+  private final Duration tombstoneTtl;
+
+  public TaskChangesService(
+      TaskRepository taskRepository,
+      TaskTombstoneRepository taskTombstoneRepository,
+      @Value("${app.tasks.changes.settle-time:10s}") Duration settleTime,
+      @Value("${app.tasks.changes.tombstone-ttl:30d}") Duration tombstoneTtl) {
+    this.taskRepository = taskRepository;
+    this.taskTombstoneRepository = taskTombstoneRepository;
+    this.settleTime = settleTime;
+    this.tombstoneTtl = tombstoneTtl;
+  }
+
+  /**
+   * Получает изменения всех задач после курсора.
+   *
+   * @param since Курсор последнего полученного изменения или null для первой синхронизации.
+   * @param size Размер страницы.
+   * @return Страница изменений с курсором для следующего запроса.
+   * @throws ChangesCursorExpiredException Если курсор выдан раньше срока хранения отметок об
+   *     удалении.
+   */
+  @Transactional(readOnly = true)
+  public CursorPage<TaskChange> getChanges(String since, int size) {
+    return changes(
+        since,
+        size,
+        (cursor, until, limit) ->
+            taskRepository.findChangedAfter(cursor.timestamp(), cursor.id(), until, limit),
+        (cursor, until, limit) ->
+            taskTombstoneRepository.findDeletedAfter(
+                cursor.timestamp(), cursor.id(), until, limit));
+  }
+
+  /**
+   * Получает изменения задач исполнителя после курсора, включая задачи, переданные другому
+   * исполнителю.
+   *
+   * @param assigneeId Идентификатор исполнителя.
+   * @param since Курсор последнего полученного изменения или null для первой синхронизации.
+   * @param size Размер страницы.
+   * @return Страница изменений с курсором для следующего запроса.
+   * @throws ChangesCursorExpiredException Если курсор выдан раньше срока хранения отметок об
+   *     удалении.
+   */
+  @Transactional(readOnly = true)
+  public CursorPage<TaskChange> getChangesByAssignee(Long assigneeId, String since, int size) {
+    return changes(
+        since,
+        size,
+        (cursor, until, limit) ->
+            taskRepository.findChangedByAssigneeIdAfter(
+                assigneeId, cursor.timestamp(), cursor.id(), until, limit),
+        (cursor, until, limit) ->
+            taskTombstoneRepository.findByAssigneeIdAfter(
+                assigneeId, cursor.timestamp(), cursor.id(), until, limit));
+  }
+
+  /** Удаляет отметки об удалении старше срока хранения. */
+  @Scheduled(
+      fixedDelayString = "${app.tasks.changes.tombstone-purge-interval:PT1H}",
+      initialDelayString = "${app.tasks.changes.tombstone-purge-interval:PT1H}")
+  @Transactional
+  public void purgeTombstones() {
+    int purged = taskTombstoneRepository.deleteOlderThan(LocalDateTime.now().minus(tombstoneTtl));
+    log.debug("Purged {} task tombstones", purged);
+  }
+
+  /**
+   * Читает по странице измененных задач и отметок после курсора и объединяет их в порядке (время
+   * изменения, идентификатор задачи). Каждый источник ограничен size + 1 записями, поэтому первые
+   * size + 1 записей объединения совпадают с первыми записями общей ленты.
+   */
+  private CursorPage<TaskChange> changes(
+      String since,
+      int size,
+      ChangesQuery<TaskResponse> changedTasks,
+      ChangesQuery<TaskTombstone> tombstones) {
+    Limit limit = CursorPage.limit(size);
+    LocalDateTime now = LocalDateTime.now();
+    FeedCursor cursor = START;
+    if (since != null) {
+      ChangesCursor decoded = ChangesCursor.decode(since);
+      // Удаления после выдачи курсора старше срока хранения уже могли быть очищены
+      if (decoded.issuedAt().isBefore(now.minus(tombstoneTtl))) {
+        throw new ChangesCursorExpiredException();
+      }
+      cursor = decoded.position();
+    }
+    LocalDateTime until = now.minus(settleTime);
+
+    List<TaskChange> rows = new ArrayList<>();
+    for (TaskResponse task : changedTasks.find(cursor, until, limit)) {
+      rows.add(TaskChange.updated(task));
+    }
+    for (TaskTombstone tombstone : tombstones.find(cursor, until, limit)) {
+      rows.add(TaskChange.removed(tombstone));
+    }
+    rows.sort(CHANGE_ORDER);
+
+    boolean hasNext = rows.size() > size;
+    List<TaskChange> content = hasNext ? rows.subList(0, size) : rows;
+    // Окно до границы until прочитано целиком: курсор переносится на границу, иначе курсор клиента
+    // без изменений не двигался бы и устарел бы через срок хранения отметок. Выборка строго
+    // раньше until, поэтому изменения ровно на границе попадут в следующее окно.
+    FeedCursor next =
+        hasNext
+            ? new FeedCursor(content.getLast().getChangedAt(), content.getLast().getTaskId())
+            : new FeedCursor(until, 0L);
+    return new CursorPage<>(content, new ChangesCursor(next, now).encode(), hasNext);
+  }
+
+  @FunctionalInterface
+  private interface ChangesQuery<T> {
+    List<T> find(FeedCursor cursor, LocalDateTime until, Limit limit);
+  }
+}
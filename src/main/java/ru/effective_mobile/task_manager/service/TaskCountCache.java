@@ -0,0 +1,142 @@
+package ru.effective_mobile.task_manager.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.effective_mobile.task_manager.cache.ExpiringLruCache;
+import ru.effective_mobile.task_manager.repository.TaskRepository;
+
+/**
+ * Кэш количества задач для страниц с общим количеством записей. Счетчики загружаются запросом COUNT
+ * при первом обращении и далее поддерживаются инкрементально при создании, удалении и
+ * переназначении задач. Значения приблизительные: изменения, выполненные другими экземплярами
+ * приложения или во время загрузки счетчика, учитываются после истечения срока жизни записи.
+ */
+@Component
+public class TaskCountCache implements MeterBinder {
+
+  private static final CountKey ALL = new CountKey(Filter.ALL, null);
+
+  private final TaskRepository taskRepository;
+  private final ExpiringLruCache<CountKey, AtomicLong> cache;
+
+  public TaskCountCache(
+      TaskRepository taskRepository,
+      @Value("${app.tasks.count-cache.max-size:10000}") int maxSize,
+      @Value("${app.tasks.count-cache.ttl:10m}") Duration ttl) {
+    this.taskRepository = taskRepository;
+    this.cache = new ExpiringLruCache<>(maxSize, ttl);
+  }
+
+  /**
+   * Возвращает количество всех задач.
+   *
+   * @return Количество задач.
+   */
+  public long countAll() {
+    return count(ALL, taskRepository::count);
+  }
+
+  /**
+   * Возвращает количество задач автора.
+   *
+   * @param authorId Идентификатор автора.
+   * @return Количество задач.
+   */
+  public long countByAuthor(Long authorId) {
+    return count(
+        new CountKey(Filter.AUTHOR, authorId), () -> taskRepository.countByAuthorId(authorId));
+  }
+
+  /**
+   * Возвращает количество задач исполнителя.
+   *
+   * @param assigneeId Идентификатор исполнителя.
+   * @return Количество задач.
+   */
+  public long countByAssignee(Long assigneeId) {
+    return count(
+        new CountKey(Filter.ASSIGNEE, assigneeId),
+        () -> taskRepository.countByAssigneeId(assigneeId));
+  }
+
+  /**
+   * Учитывает созданную задачу.
+   *
+   * @param authorId Идентификатор автора.
+   * @param assigneeId Идентификатор исполнителя или null.
+   */
+  public void onCreated(Long authorId, Long assigneeId) {
+    add(ALL, 1);
+    add(new CountKey(Filter.AUTHOR, authorId), 1);
+    add(new CountKey(Filter.ASSIGNEE, assigneeId), 1);
+  }
+
+  /**
+   * Учитывает удаленную задачу.
+   *
+   * @param authorId Идентификатор автора.
+   * @param assigneeId Идентификатор исполнителя или null.
+   */
+  public void onDeleted(Long authorId, Long assigneeId) {
+    add(ALL, -1);
+    add(new CountKey(Filter.AUTHOR, authorId), -1);
+    add(new CountKey(Filter.ASSIGNEE, assigneeId), -1);
+  }
+
+  /**
+   * Учитывает смену автора задачи.
+   *
+   * @param oldAuthorId Идентификатор прежнего автора.
+   * @param newAuthorId Идентификатор нового автора.
+   */
+  public void onAuthorChanged(Long oldAuthorId, Long newAuthorId) {
+    move(Filter.AUTHOR, oldAuthorId, newAuthorId);
+  }
+
+  /**
+   * Учитывает смену исполнителя задачи.
+   *
+   * @param oldAssigneeId Идентификатор прежнего исполнителя или null.
+   * @param newAssigneeId Идентификатор нового исполнителя или null.
+   */
+  public void onAssigneeChanged(Long oldAssigneeId, Long newAssigneeId) {
+    move(Filter.ASSIGNEE, oldAssigneeId, newAssigneeId);
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    cache.bindTo(registry, "taskCounts");
+  }
+
+  private long count(CountKey key, Supplier<Long> loader) {
+    return cache.get(key, k -> new AtomicLong(loader.get())).get();
+  }
+
+  private void move(Filter filter, Long from, Long to) {
+    if (!Objects.equals(from, to)) {
+      add(new CountKey(filter, from), -1);
+      add(new CountKey(filter, to), 1);
+    }
+  }
+
+  private void add(CountKey key, long delta) {
+    if (key.filter() != Filter.ALL && key.id() == null) {
+      return;
+    }
+    cache.peek(key).ifPresent(count -> count.addAndGet(delta));
+  }
+
+  private enum Filter {
+    ALL,
+    AUTHOR,
+    ASSIGNEE
+  }
+
+  private record CountKey(Filter filter, Long id) {}
+}
@@ -0,0 +1,48 @@
+package ru.effective_mobile.task_manager.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.effective_mobile.task_manager.dto.TaskResponse;
+import ru.effective_mobile.task_manager.repository.TaskRepository;
+
+/**
+ * Выгрузка задач в формате NDJSON (одна задача в формате JSON на строку). Задачи читаются одним
+ * запросом через серверный курсор и сразу записываются в выходной поток, поэтому расход памяти не
+ * зависит от количества задач.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskExportService {
+  private static final int NEWLINE = '\n';
+
+  private final TaskRepository taskRepository;
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Записывает все задачи в выходной поток в формате NDJSON.
+   *
+   * @param out Выходной поток.
+   * @return Количество выгруженных задач.
+   * @throws IOException Если запись в поток не удалась.
+   */
+  @Transactional(readOnly = true)
+  public long exportTasks(OutputStream out) throws IOException {
+    ObjectWriter writer = objectMapper.writerFor(TaskResponse.class);
+    long exported = 0;
+    try (Stream<TaskResponse> tasks = taskRepository.streamAll()) {
+      for (TaskResponse task : (Iterable<TaskResponse>) tasks::iterator) {
+        out.write(writer.writeValueAsBytes(task));
+        out.write(NEWLINE);
+        exported++;
+      }
+    }
+    out.flush();
+    return exported;
+  }
+}
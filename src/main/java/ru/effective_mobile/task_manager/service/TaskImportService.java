@@ -0,0 +1,215 @@
+package ru.effective_mobile.task_manager.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.persistence.EntityManager;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import ru.effective_mobile.task_manager.dto.TaskBatchResult;
+import ru.effective_mobile.task_manager.dto.TaskImportError;
+import ru.effective_mobile.task_manager.dto.TaskImportResult;
+import ru.effective_mobile.task_manager.dto.TaskRequest;
+
+/**
+ * Импорт задач из NDJSON (одна задача в формате JSON на строку). Входные данные читаются построчно,
+ * задачи сохраняются порциями через {@link TaskService#createTasksBatch}, каждая порция фиксируется
+ * в отдельной транзакции. Если база отклоняет порцию, ее строки сохраняются по одной, и в ошибки
+ * попадают только отклоненные строки. Чтение следующей порции начинается только после сохранения
+ * предыдущей, а длина строки ограничена, поэтому расход памяти ограничен размером порции.
+ */
+@Slf4j
+@Service
+public class TaskImportService {
+
+  private final TaskService taskService;
+  private final ObjectReader reader;
+  private final EntityManager entityManager;
+  private final int chunkSize;
+  private final int maxErrors;
+  private final int maxLineLength;
+
+  public TaskImportService(
+      TaskService taskService,
+      ObjectMapper objectMapper,
+      EntityManager entityManager,
+      @Value("${app.tasks.import.chunk-size:500}") int chunkSize,
+      @Value("${app.tasks.import.max-errors:1000}") int maxErrors,
+      @Value("${app.tasks.import.max-line-length:65536}") int maxLineLength) {
+    this.taskService = taskService;
+    this.reader = objectMapper.readerFor(TaskRequest.class);
+    this.entityManager = entityManager;
+    this.chunkSize = chunkSize;
+    this.maxErrors = maxErrors;
+    this.maxLineLength = maxLineLength;
+  }
+
+  /**
+   * Импортирует задачи из потока NDJSON. Пустые строки пропускаются. Строка длиннее {@code
+   * maxLineLength} символов не накапливается в памяти: она пропускается до конца и попадает в
+   * ошибки.
+   *
+   * @param in Входной поток в кодировке UTF-8.
+   * @return Количество импортированных задач и ошибки по строкам.
+   * @throws IOException Если чтение потока не удалось.
+   */
+  public TaskImportResult importTasks(InputStream in) throws IOException {
+    TaskImportResult result = new TaskImportResult();
+    List<TaskRequest> chunk = new ArrayList<>(chunkSize);
+    List<Long> chunkLines = new ArrayList<>(chunkSize);
+
+    LineReader lines =
+        new LineReader(
+            new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)), maxLineLength);
+    long lineNumber = 0;
+    while (lines.next()) {
+      lineNumber++;
+      if (lines.isTooLong()) {
+        addError(result, lineNumber, List.of("Line exceeds " + maxLineLength + " characters"));
+        continue;
+      }
+      String line = lines.line();
+      if (line.isBlank()) {
+        continue;
+      }
+      try {
+        chunk.add(reader.readValue(line));
+        chunkLines.add(lineNumber);
+      } catch (JsonProcessingException e) {
+        addError(result, lineNumber, List.of("Malformed JSON: " + e.getOriginalMessage()));
+        continue;
+      }
+      if (chunk.size() == chunkSize) {
+        saveChunk(result, chunk, chunkLines);
+        chunk = new ArrayList<>(chunkSize);
+        chunkLines = new ArrayList<>(chunkSize);
+      }
+    }
+    if (!chunk.isEmpty()) {
+      saveChunk(result, chunk, chunkLines);
+    }
+
+    log.info(
+        "Task import finished: {} imported, {} failed", result.getImported(), result.getFailed());
+    return result;
+  }
+
+  private void saveChunk(TaskImportResult result, List<TaskRequest> chunk, List<Long> chunkLines) {
+    try {
+      addResults(result, taskService.createTasksBatch(chunk), chunkLines);
+    } catch (DataAccessException e) {
+      // Порция отменена целиком: сохраняем строки по одной, чтобы найти отклоненные и не потерять
+      // остальные
+      log.warn(
+          "Task import chunk at lines {}-{} rejected, retrying row by row: {}",
+          chunkLines.getFirst(),
+          chunkLines.getLast(),
+          e.getMessage());
+      entityManager.clear();
+      for (int i = 0; i < chunk.size(); i++) {
+        saveRow(result, chunk.get(i), chunkLines.get(i));
+      }
+    }
+    // Транзакция порции завершена, но при open-in-view контекст персистентности живет до конца
+    // запроса: очищаем его, чтобы сохраненные задачи не накапливались в памяти.
+    entityManager.clear();
+    log.info(
+        "Task import progress: line {}, {} imported, {} failed",
+        chunkLines.getLast(),
+        result.getImported(),
+        result.getFailed());
+  }
+
+  private void saveRow(TaskImportResult result, TaskRequest row, long line) {
+    try {
+      addResults(result, taskService.createTasksBatch(List.of(row)), List.of(line));
+    } catch (DataAccessException e) {
+      log.warn("Task import line {} rejected by database: {}", line, e.getMessage());
+      entityManager.clear();
+      addError(result, line, List.of("Rejected by database"));
+    }
+  }
+
+  private void addResults(
+      TaskImportResult result, List<TaskBatchResult> itemResults, List<Long> lines) {
+    for (TaskBatchResult itemResult : itemResults) {
+      long line = lines.get(itemResult.getIndex());
+      if (itemResult.isSuccess()) {
+        result.setImported(result.getImported() + 1);
+      } else {
+        addError(result, line, itemResult.getErrors());
+      }
+    }
+  }
+
+  private void addError(TaskImportResult result, long line, List<String> errors) {
+    result.setFailed(result.getFailed() + 1);
+    if (result.getErrors().size() < maxErrors) {
+      result.getErrors().add(new TaskImportError(line, errors));
+    } else {
+      result.setErrorsTruncated(true);
+    }
+  }
+
+  /**
+   * Построчное чтение с ограничением длины строки. В отличие от {@link BufferedReader#readLine()}
+   * не накапливает символы сверх ограничения, а дочитывает такую строку до конца без сохранения.
+   */
+  private static final class LineReader {
+
+    private final Reader in;
+    private final int maxLength;
+    private final StringBuilder line = new StringBuilder();
+    private boolean tooLong;
+
+    LineReader(Reader in, int maxLength) {
+      this.in = in;
+      this.maxLength = maxLength;
+    }
+
+    /**
+     * Читает следующую строку.
+     *
+     * @return false, если поток закончился.
+     * @throws IOException Если чтение потока не удалось.
+     */
+    boolean next() throws IOException {
+      line.setLength(0);
+      tooLong = false;
+      int c = in.read();
+      if (c == -1) {
+        return false;
+      }
+      while (c != -1 && c != '\n') {
+        if (line.length() < maxLength) {
+          line.append((char) c);
+        } else if (c != '\r') {
+          tooLong = true;
+        }
+        c = in.read();
+      }
+      if (!line.isEmpty() && line.charAt(line.length() - 1) == '\r') {
+        line.setLength(line.length() - 1);
+      }
+      return true;
+    }
+
+    String line() {
+      return line.toString();
+    }
+
+    boolean isTooLong() {
+      return tooLong;
+    }
+  }
+}
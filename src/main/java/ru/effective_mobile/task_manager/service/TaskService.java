@@ -1,24 +1,63 @@
 package ru.effective_mobile.task_manager.service;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.effective_mobile.task_manager.cache.RequestEntityCache;
+import ru.effective_mobile.task_manager.dto.CursorPage;
+import ru.effective_mobile.task_manager.dto.FeedCursor;
 import ru.effective_mobile.task_manager.dto.PartialUpdateTaskRequest;
+import ru.effective_mobile.task_manager.dto.TaskBatchResult;
+import ru.effective_mobile.task_manager.dto.TaskBatchUpdateRequest;
 import ru.effective_mobile.task_manager.dto.TaskRequest;
 import ru.effective_mobile.task_manager.dto.TaskResponse;
 import ru.effective_mobile.task_manager.dto.UpdateTaskStatusRequest;
 import ru.effective_mobile.task_manager.entities.Task;
+import ru.effective_mobile.task_manager.entities.TaskTombstone;
 import ru.effective_mobile.task_manager.entities.User;
+import ru.effective_mobile.task_manager.repository.TaskAssignee;
+import ru.effective_mobile.task_manager.repository.TaskOwners;
 import ru.effective_mobile.task_manager.repository.TaskRepository;
+import ru.effective_mobile.task_manager.repository.TaskTombstoneRepository;
 import ru.effective_mobile.task_manager.repository.UserRepository;
+import ru.effective_mobile.task_manager.repository.Watermark;
 
 @Service
 @RequiredArgsConstructor
 public class TaskService {
   private final UserRepository userRepository;
   private final TaskRepository taskRepository;
+  private final TaskTombstoneRepository taskTombstoneRepository;
+  private final TaskAssigneeCache taskAssigneeCache;
+  private final TaskCountCache taskCountCache;
+  private final RequestEntityCache requestEntityCache;
+  private final Validator validator;
+
+  @Value("${app.tasks.batch.max-size:1000}")
+  private int maxBatchSize = 1000;
 
   /**
    * Создает новую задачу.
@@ -26,6 +65,7 @@ public class TaskService {
    * @param taskRequest Запрос на создание задачи.
    * @return Ответ с созданной задачей.
    */
+  @Transactional
   public TaskResponse createTask(TaskRequest taskRequest) {
     Task newTask = new Task();
     newTask.setTitle(taskRequest.getTitle());
@@ -49,9 +89,63 @@ public class TaskService {
       newTask.setAssignee(assignee);
     }
     Task savedTask = taskRepository.save(newTask);
+    Long assigneeId = idOf(savedTask.getAssignee());
+    AfterCommit.run(() -> taskCountCache.onCreated(author.getId(), assigneeId));
     return mapToTaskResponse(savedTask);
   }
 
+  /**
+   * Создает несколько задач в одной транзакции с результатом по каждому элементу. Элементы, не
+   * прошедшие валидацию или ссылающиеся на несуществующих пользователей, пропускаются, остальные
+   * сохраняются. Авторы и исполнители загружаются одним запросом, а вставки задач объединяются в
+   * JDBC-пакеты.
+   *
+   * @param taskRequests Запросы на создание задач.
+   * @return Результаты обработки в порядке запросов.
+   */
+  @Transactional
+  public List<TaskBatchResult> createTasksBatch(List<TaskRequest> taskRequests) {
+    checkBatchSize(taskRequests);
+    TaskBatchResult[] results = new TaskBatchResult[taskRequests.size()];
+
+    List<TaskRequest> validRequests = new ArrayList<>();
+    for (int i = 0; i < taskRequests.size(); i++) {
+      List<String> errors = validate(taskRequests.get(i));
+      if (errors.isEmpty()) {
+        validRequests.add(taskRequests.get(i));
+      } else {
+        results[i] = TaskBatchResult.failure(i, errors);
+      }
+    }
+    Map<Long, User> users = findUsers(referencedUserIds(validRequests));
+
+    LocalDateTime now = LocalDateTime.now();
+    List<Task> newTasks = new ArrayList<>();
+    List<Integer> newTaskIndexes = new ArrayList<>();
+    for (int i = 0; i < taskRequests.size(); i++) {
+      if (results[i] != null) {
+        continue;
+      }
+      try {
+        newTasks.add(newTask(taskRequests.get(i), users, now));
+        newTaskIndexes.add(i);
+      } catch (IllegalArgumentException e) {
+        results[i] = TaskBatchResult.failure(i, List.of(e.getMessage()));
+      }
+    }
+
+    if (newTasks.isEmpty()) {
+      return Arrays.asList(results);
+    }
+    List<Task> savedTasks = taskRepository.saveAllAndFlush(newTasks);
+    onCreated(savedTasks);
+    for (int j = 0; j < savedTasks.size(); j++) {
+      int i = newTaskIndexes.get(j);
+      results[i] = TaskBatchResult.success(i, mapToTaskResponse(savedTasks.get(j)));
+    }
+    return Arrays.asList(results);
+  }
+
   /**
    * Частично обновляет задачу.
    *
@@ -59,36 +153,103 @@ public class TaskService {
    * @param taskRequest Запрос на обновление задачи.
    * @return Ответ с обновленной задачей.
    */
+  @Transactional
   public TaskResponse partialUpdateTask(Long id, PartialUpdateTaskRequest taskRequest) {
-    Task task =
-        taskRepository
-            .findById(id)
-            .orElseThrow(() -> new IllegalArgumentException("Task not found"));
+    return partialUpdateTask(id, taskRequest, null);
+  }
 
-    if (taskRequest.getTitle() != null) {
-      task.setTitle(taskRequest.getTitle());
-    }
-    if (taskRequest.getDescription() != null) {
-      task.setDescription(taskRequest.getDescription());
-    }
-    if (taskRequest.getStatus() != null) {
-      task.setStatus(taskRequest.getStatus());
-    }
-    if (taskRequest.getPriority() != null) {
-      task.setPriority(taskRequest.getPriority());
-    }
-    if (taskRequest.getAssigneeId() != null) {
-      User assignee =
-          userRepository
-              .findById(taskRequest.getAssigneeId())
-              .orElseThrow(() -> new IllegalArgumentException("Assignee not found"));
-      task.setAssignee(assignee);
+  /**
+   * Частично обновляет задачу, если ее версия совпадает с ожидаемой.
+   *
+   * @param id Идентификатор задачи.
+   * @param taskRequest Запрос на обновление задачи.
+   * @param expectedVersion Ожидаемая версия задачи или null, если версия не проверяется.
+   * @return Ответ с обновленной задачей.
+   * @throws OptimisticLockingFailureException Если задача была изменена другим запросом.
+   */
+  @Transactional
+  public TaskResponse partialUpdateTask(
+      Long id, PartialUpdateTaskRequest taskRequest, Long expectedVersion) {
+    Task task = findTask(id);
+    checkVersion(task, expectedVersion);
+    Long oldAssigneeId = idOf(task.getAssignee());
+    applyPartialUpdate(task, taskRequest, userRepository::findById);
+
+    // Версия увеличивается при flush, а в ответ должна попасть уже новая версия
+    Task updatedTask = taskRepository.saveAndFlush(task);
+    onAssigneeUpdated(updatedTask, oldAssigneeId, taskRequest.getAssigneeId());
+    return mapToTaskResponse(updatedTask);
+  }
+
+  /**
+   * Частично обновляет несколько задач в одной транзакции. Задачи и новые исполнители загружаются
+   * одним запросом каждый. Элементы с ошибками пропускаются, остальные сохраняются.
+   *
+   * @param taskRequests Запросы на обновление задач.
+   * @return Результаты обработки в порядке запросов.
+   */
+  @Transactional
+  public List<TaskBatchResult> updateTasksBatch(List<TaskBatchUpdateRequest> taskRequests) {
+    checkBatchSize(taskRequests);
+    TaskBatchResult[] results = new TaskBatchResult[taskRequests.size()];
+
+    Set<Long> taskIds = new HashSet<>();
+    Set<Long> assigneeIds = new HashSet<>();
+    for (int i = 0; i < taskRequests.size(); i++) {
+      TaskBatchUpdateRequest taskRequest = taskRequests.get(i);
+      List<String> errors = validate(taskRequest);
+      if (!errors.isEmpty()) {
+        results[i] = TaskBatchResult.failure(i, errors);
+        continue;
+      }
+      taskIds.add(taskRequest.getId());
+      if (taskRequest.getAssigneeId() != null) {
+        assigneeIds.add(taskRequest.getAssigneeId());
+      }
     }
+    Map<Long, Task> tasks =
+        taskRepository.findAllById(taskIds).stream()
+            .collect(Collectors.toMap(Task::getId, Function.identity()));
+    Map<Long, User> assignees = findUsers(assigneeIds);
 
-    task.setUpdatedAt(LocalDateTime.now());
+    List<Integer> updatedIndexes = new ArrayList<>();
+    Map<Integer, Long> oldAssigneeIds = new HashMap<>();
+    for (int i = 0; i < taskRequests.size(); i++) {
+      if (results[i] != null) {
+        continue;
+      }
+      TaskBatchUpdateRequest taskRequest = taskRequests.get(i);
+      Task task = tasks.get(taskRequest.getId());
+      if (task == null) {
+        results[i] = TaskBatchResult.failure(i, List.of("Task not found"));
+        continue;
+      }
+      Long oldAssigneeId = idOf(task.getAssignee());
+      try {
+        applyPartialUpdate(
+            task,
+            taskRequest.toPartialUpdateTaskRequest(),
+            assigneeId -> Optional.ofNullable(assignees.get(assigneeId)));
+      } catch (IllegalArgumentException e) {
+        results[i] = TaskBatchResult.failure(i, List.of(e.getMessage()));
+        continue;
+      }
+      updatedIndexes.add(i);
+      oldAssigneeIds.put(i, oldAssigneeId);
+    }
 
-    Task updatedTask = taskRepository.save(task);
-    return mapToTaskResponse(updatedTask);
+    taskRepository.saveAllAndFlush(
+        updatedIndexes.stream()
+            .map(i -> tasks.get(taskRequests.get(i).getId()))
+            .distinct()
+            .toList());
+    for (int i : updatedIndexes) {
+      TaskBatchUpdateRequest taskRequest = taskRequests.get(i);
+      onAssigneeUpdated(
+          tasks.get(taskRequest.getId()), oldAssigneeIds.get(i), taskRequest.getAssigneeId());
+      results[i] = TaskBatchResult.success(i, mapToTaskResponse(tasks.get(taskRequest.getId())));
+    }
+    return Arrays.asList(results);
   }
 
   /**
@@ -98,17 +259,32 @@ public class TaskService {
    * @param taskRequest Запрос на обновление задачи.
    * @return Ответ с обновленной задачей.
    */
+  @Transactional
   public TaskResponse fullUpdateTask(Long id, TaskRequest taskRequest) {
-    Task task =
-        taskRepository
-            .findById(id)
-            .orElseThrow(() -> new IllegalArgumentException("Task not found"));
+    return fullUpdateTask(id, taskRequest, null);
+  }
+
+  /**
+   * Полностью обновляет задачу, если ее версия совпадает с ожидаемой.
+   *
+   * @param id Идентификатор задачи.
+   * @param taskRequest Запрос на обновление задачи.
+   * @param expectedVersion Ожидаемая версия задачи или null, если версия не проверяется.
+   * @return Ответ с обновленной задачей.
+   * @throws OptimisticLockingFailureException Если задача была изменена другим запросом.
+   */
+  @Transactional
+  public TaskResponse fullUpdateTask(Long id, TaskRequest taskRequest, Long expectedVersion) {
+    Task task = findTask(id);
+    checkVersion(task, expectedVersion);
 
     task.setTitle(taskRequest.getTitle());
     task.setDescription(taskRequest.getDescription());
     task.setStatus(taskRequest.getStatus());
     task.setPriority(taskRequest.getPriority());
 
+    Long oldAuthorId = idOf(task.getAuthor());
+    Long oldAssigneeId = idOf(task.getAssignee());
     User author =
         userRepository
             .findById(taskRequest.getAuthorId())
@@ -127,7 +303,15 @@ public class TaskService {
 
     task.setUpdatedAt(LocalDateTime.now());
 
-    Task updatedTask = taskRepository.save(task);
+    Task updatedTask = taskRepository.saveAndFlush(task);
+    Long newAssigneeId = taskRequest.getAssigneeId();
+    AfterCommit.run(
+        () -> {
+          taskAssigneeCache.evict(id);
+          taskCountCache.onAuthorChanged(oldAuthorId, author.getId());
+          taskCountCache.onAssigneeChanged(oldAssigneeId, newAssigneeId);
+        });
+    recordReassignment(updatedTask, oldAssigneeId, taskRequest.getAssigneeId());
     return mapToTaskResponse(updatedTask);
   }
 
@@ -136,28 +320,110 @@ public class TaskService {
    *
    * @param id Идентификатор задачи.
    */
+  @Transactional
   public void deleteTask(Long id) {
-    if (taskRepository.existsById(id)) {
-      taskRepository.deleteById(id);
-    } else {
+    if (deleteTasks(List.of(id)) == 0) {
       throw new IllegalArgumentException("Task not found");
     }
   }
 
+  /**
+   * Удаляет задачи по идентификаторам. Задачи удаляются одним запросом DELETE, их комментарии
+   * удаляются базой данных каскадно, сущности в память не загружаются. Отсутствующие идентификаторы
+   * пропускаются. Для ленты изменений сохраняются отметки об удалении.
+   *
+   * @param ids Идентификаторы задач.
+   * @return Количество удаленных задач.
+   */
+  @Transactional
+  public int deleteTasks(Collection<Long> ids) {
+    checkBatchSize(ids);
+    List<TaskOwners> tasks = taskRepository.findOwnersByIdIn(ids);
+    if (tasks.isEmpty()) {
+      return 0;
+    }
+
+    taskRepository.deleteAllByIdIn(tasks.stream().map(TaskOwners::taskId).toList());
+    LocalDateTime now = LocalDateTime.now();
+    taskTombstoneRepository.saveAll(
+        tasks.stream()
+            .map(
+                task ->
+                    TaskTombstone.builder()
+                        .taskId(task.taskId())
+                        .assigneeId(task.assigneeId())
+                        .reason(TaskTombstone.Reason.DELETED)
+                        .removedAt(now)
+                        .build())
+            .toList());
+    AfterCommit.run(
+        () -> {
+          for (TaskOwners task : tasks) {
+            taskAssigneeCache.evict(task.taskId());
+            requestEntityCache.evict(Task.class, task.taskId());
+            taskCountCache.onDeleted(task.authorId(), task.assigneeId());
+          }
+        });
+    return tasks.size();
+  }
+
   /**
    * Получает задачу по идентификатору.
    *
    * @param id Идентификатор задачи.
    * @return Ответ с задачей.
    */
+  @Transactional(readOnly = true)
   public TaskResponse getTaskById(Long id) {
-    Task task =
-        taskRepository
-            .findById(id)
-            .orElseThrow(() -> new IllegalArgumentException("Task not found"));
+    Task task = findTask(id);
     return mapToTaskResponse(task);
   }
 
+  /**
+   * Получает версию задачи без загрузки сущности. Используется для условных запросов.
+   *
+   * @param id Идентификатор задачи.
+   * @return Версия задачи.
+   */
+  @Transactional(readOnly = true)
+  public long getTaskVersion(Long id) {
+    return taskRepository
+        .findVersionById(id)
+        .orElseThrow(() -> new IllegalArgumentException("Task not found"));
+  }
+
+  /**
+   * Получает отметку состояния всех задач для условных запросов к спискам.
+   *
+   * @return Количество задач, контрольная сумма и время последнего изменения.
+   */
+  @Transactional(readOnly = true)
+  public Watermark getTasksWatermark() {
+    return taskRepository.findWatermark();
+  }
+
+  /**
+   * Получает отметку состояния задач автора для условных запросов к спискам.
+   *
+   * @param authorId Идентификатор автора.
+   * @return Количество задач, контрольная сумма и время последнего изменения.
+   */
+  @Transactional(readOnly = true)
+  public Watermark getTasksByAuthorWatermark(Long authorId) {
+    return taskRepository.findWatermarkByAuthorId(authorId);
+  }
+
+  /**
+   * Получает отметку состояния задач исполнителя для условных запросов к спискам.
+   *
+   * @param assigneeId Идентификатор исполнителя.
+   * @return Количество задач, контрольная сумма и время последнего изменения.
+   */
+  @Transactional(readOnly = true)
+  public Watermark getTasksByAssigneeWatermark(Long assigneeId) {
+    return taskRepository.findWatermarkByAssigneeId(assigneeId);
+  }
+
   /**
    * Получает список задач по идентификатору автора с пагинацией.
    *
@@ -165,9 +431,11 @@ public class TaskService {
    * @param pageable Объект пагинации.
    * @return Страница с задачами.
    */
+  @Transactional(readOnly = true)
   public Page<TaskResponse> getTasksByAuthor(Long authorId, Pageable pageable) {
-    Page<Task> tasks = taskRepository.findByAuthorId(authorId, pageable);
-    return tasks.map(this::mapToTaskResponse);
+    Slice<TaskResponse> tasks = taskRepository.findResponseSliceByAuthorId(authorId, pageable);
+    return PageableExecutionUtils.getPage(
+        tasks.getContent(), pageable, () -> taskCountCache.countByAuthor(authorId));
   }
 
   /**
@@ -177,20 +445,275 @@ public class TaskService {
    * @param pageable Объект пагинации.
    * @return Страница с задачами.
    */
+  @Transactional(readOnly = true)
   public Page<TaskResponse> getTasksByAssignee(Long assigneeId, Pageable pageable) {
-    Page<Task> tasks = taskRepository.findByAssigneeId(assigneeId, pageable);
-    return tasks.map(this::mapToTaskResponse);
+    Slice<TaskResponse> tasks = taskRepository.findResponseSliceByAssigneeId(assigneeId, pageable);
+    return PageableExecutionUtils.getPage(
+        tasks.getContent(), pageable, () -> taskCountCache.countByAssignee(assigneeId));
   }
 
   /**
-   * Получает все задачи с пагинацией.
+   * Получает все задачи с пагинацией. Общее количество задач берется из {@link TaskCountCache}.
    *
    * @param pageable Объект пагинации.
    * @return Страница с задачами.
    */
+  @Transactional(readOnly = true)
   public Page<TaskResponse> getAllTasks(Pageable pageable) {
-    Page<Task> tasks = taskRepository.findAll(pageable);
-    return tasks.map(this::mapToTaskResponse);
+    Slice<TaskResponse> tasks = taskRepository.findResponseSlice(pageable);
+    return PageableExecutionUtils.getPage(tasks.getContent(), pageable, taskCountCache::countAll);
+  }
+
+  /**
+   * Получает все задачи без подсчета общего количества.
+   *
+   * @param pageable Объект пагинации.
+   * @return Срез с задачами.
+   */
+  @Transactional(readOnly = true)
+  public Slice<TaskResponse> getAllTasksSlice(Pageable pageable) {
+    return taskRepository.findResponseSlice(pageable);
+  }
+
+  /**
+   * Получает задачи автора без подсчета общего количества.
+   *
+   * @param authorId Идентификатор автора.
+   * @param pageable Объект пагинации.
+   * @return Срез с задачами.
+   */
+  @Transactional(readOnly = true)
+  public Slice<TaskResponse> getTasksByAuthorSlice(Long authorId, Pageable pageable) {
+    return taskRepository.findResponseSliceByAuthorId(authorId, pageable);
+  }
+
+  /**
+   * Получает задачи исполнителя без подсчета общего количества.
+   *
+   * @param assigneeId Идентификатор исполнителя.
+   * @param pageable Объект пагинации.
+   * @return Срез с задачами.
+   */
+  @Transactional(readOnly = true)
+  public Slice<TaskResponse> getTasksByAssigneeSlice(Long assigneeId, Pageable pageable) {
+    return taskRepository.findResponseSliceByAssigneeId(assigneeId, pageable);
+  }
+
+  /**
+   * Получает ленту всех задач, начиная с недавно обновленных, с курсорной пагинацией.
+   *
+   * @param after Курсор предыдущей страницы или null для первой страницы.
+   * @param size Размер страницы.
+   * @return Страница ленты.
+   */
+  @Transactional(readOnly = true)
+  public CursorPage<TaskResponse> getTaskFeed(String after, int size) {
+    return taskFeed(
+        after,
+        size,
+        taskRepository::findFeed,
+        (cursor, limit) -> taskRepository.findFeedAfter(cursor.timestamp(), cursor.id(), limit));
+  }
+
+  /**
+   * Получает ленту задач автора с курсорной пагинацией.
+   *
+   * @param authorId Идентификатор автора.
+   * @param after Курсор предыдущей страницы или null для первой страницы.
+   * @param size Размер страницы.
+   * @return Страница ленты.
+   */
+  @Transactional(readOnly = true)
+  public CursorPage<TaskResponse> getTaskFeedByAuthor(Long authorId, String after, int size) {
+    return taskFeed(
+        after,
+        size,
+        limit -> taskRepository.findFeedByAuthorId(authorId, limit),
+        (cursor, limit) ->
+            taskRepository.findFeedByAuthorIdAfter(
+                authorId, cursor.timestamp(), cursor.id(), limit));
+  }
+
+  /**
+   * Получает ленту задач исполнителя с курсорной пагинацией.
+   *
+   * @param assigneeId Идентификатор исполнителя.
+   * @param after Курсор предыдущей страницы или null для первой страницы.
+   * @param size Размер страницы.
+   * @return Страница ленты.
+   */
+  @Transactional(readOnly = true)
+  public CursorPage<TaskResponse> getTaskFeedByAssignee(Long assigneeId, String after, int size) {
+    return taskFeed(
+        after,
+        size,
+        limit -> taskRepository.findFeedByAssigneeId(assigneeId, limit),
+        (cursor, limit) ->
+            taskRepository.findFeedByAssigneeIdAfter(
+                assigneeId, cursor.timestamp(), cursor.id(), limit));
+  }
+
+  private CursorPage<TaskResponse> taskFeed(
+      String after,
+      int size,
+      Function<Limit, List<TaskResponse>> firstPage,
+      BiFunction<FeedCursor, Limit, List<TaskResponse>> nextPage) {
+    Limit limit = CursorPage.limit(size);
+    List<TaskResponse> rows =
+        after == null ? firstPage.apply(limit) : nextPage.apply(FeedCursor.decode(after), limit);
+    return CursorPage.of(rows, size, task -> new FeedCursor(task.getUpdatedAt(), task.getId()));
+  }
+
+  /**
+   * Загружает задачу не более одного раза за HTTP-запрос.
+   *
+   * @param id Идентификатор задачи.
+   * @return Сущность Task.
+   */
+  Task findTask(Long id) {
+    return requestEntityCache
+        .find(Task.class, id, taskRepository::findById)
+        .orElseThrow(() -> new IllegalArgumentException("Task not found"));
+  }
+
+  /** Учитывает созданные задачи в счетчиках после фиксации транзакции. */
+  private void onCreated(List<Task> savedTasks) {
+    List<TaskOwners> owners =
+        savedTasks.stream()
+            .map(
+                task ->
+                    new TaskOwners(
+                        task.getId(), task.getAuthor().getId(), idOf(task.getAssignee())))
+            .toList();
+    AfterCommit.run(
+        () -> owners.forEach(task -> taskCountCache.onCreated(task.authorId(), task.assigneeId())));
+  }
+
+  private Task newTask(TaskRequest taskRequest, Map<Long, User> users, LocalDateTime now) {
+    User author = users.get(taskRequest.getAuthorId());
+    if (author == null) {
+      throw new IllegalArgumentException("Author not found");
+    }
+    User assignee = null;
+    if (taskRequest.getAssigneeId() != null) {
+      assignee = users.get(taskRequest.getAssigneeId());
+      if (assignee == null) {
+        throw new IllegalArgumentException("Assignee not found");
+      }
+    }
+
+    Task newTask = new Task();
+    newTask.setTitle(taskRequest.getTitle());
+    newTask.setDescription(taskRequest.getDescription());
+    newTask.setStatus(taskRequest.getStatus());
+    newTask.setPriority(taskRequest.getPriority());
+    newTask.setCreatedAt(now);
+    newTask.setUpdatedAt(now);
+    newTask.setAuthor(author);
+    newTask.setAssignee(assignee);
+    return newTask;
+  }
+
+  /**
+   * Применяет частичное обновление к задаче. Исполнитель проверяется до изменения полей, чтобы
+   * ошибка не оставляла задачу обновленной наполовину.
+   */
+  private void applyPartialUpdate(
+      Task task,
+      PartialUpdateTaskRequest taskRequest,
+      Function<Long, Optional<User>> findAssignee) {
+    User assignee = null;
+    if (taskRequest.getAssigneeId() != null) {
+      assignee =
+          findAssignee
+              .apply(taskRequest.getAssigneeId())
+              .orElseThrow(() -> new IllegalArgumentException("Assignee not found"));
+    }
+
+    if (taskRequest.getTitle() != null) {
+      task.setTitle(taskRequest.getTitle());
+    }
+    if (taskRequest.getDescription() != null) {
+      task.setDescription(taskRequest.getDescription());
+    }
+    if (taskRequest.getStatus() != null) {
+      task.setStatus(taskRequest.getStatus());
+    }
+    if (taskRequest.getPriority() != null) {
+      task.setPriority(taskRequest.getPriority());
+    }
+    if (assignee != null) {
+      task.setAssignee(assignee);
+    }
+
+    task.setUpdatedAt(LocalDateTime.now());
+  }
+
+  private void onAssigneeUpdated(Task task, Long oldAssigneeId, Long newAssigneeId) {
+    if (newAssigneeId != null) {
+      Long taskId = task.getId();
+      AfterCommit.run(
+          () -> {
+            taskAssigneeCache.evict(taskId);
+            taskCountCache.onAssigneeChanged(oldAssigneeId, newAssigneeId);
+          });
+      recordReassignment(task, oldAssigneeId, newAssigneeId);
+    }
+  }
+
+  /**
+   * Сохраняет отметку для ленты изменений прежнего исполнителя, если задача ему больше не
+   * назначена.
+   */
+  private void recordReassignment(Task task, Long oldAssigneeId, Long newAssigneeId) {
+    if (oldAssigneeId != null && !oldAssigneeId.equals(newAssigneeId)) {
+      taskTombstoneRepository.save(
+          TaskTombstone.builder()
+              .taskId(task.getId())
+              .assigneeId(oldAssigneeId)
+              .reason(TaskTombstone.Reason.REASSIGNED)
+              .removedAt(task.getUpdatedAt())
+              .build());
+    }
+  }
+
+  private Set<Long> referencedUserIds(List<TaskRequest> taskRequests) {
+    Set<Long> userIds = new HashSet<>();
+    for (TaskRequest taskRequest : taskRequests) {
+      userIds.add(taskRequest.getAuthorId());
+      if (taskRequest.getAssigneeId() != null) {
+        userIds.add(taskRequest.getAssigneeId());
+      }
+    }
+    return userIds;
+  }
+
+  private Map<Long, User> findUsers(Set<Long> userIds) {
+    if (userIds.isEmpty()) {
+      return Map.of();
+    }
+    return userRepository.findAllById(userIds).stream()
+        .collect(Collectors.toMap(User::getId, Function.identity()));
+  }
+
+  private void checkBatchSize(Collection<?> taskRequests) {
+    if (taskRequests.isEmpty() || taskRequests.size() > maxBatchSize) {
+      throw new IllegalArgumentException("Batch size must be between 1 and " + maxBatchSize);
+    }
+  }
+
+  private List<String> validate(Object taskRequest) {
+    if (taskRequest == null) {
+      return List.of("Item is mandatory");
+    }
+    return validator.validate(taskRequest).stream()
+        .map(ConstraintViolation::getMessage)
+        .sorted()
+        .toList();
+  }
+
+  private static Long idOf(User user) {
+    return user != null ? user.getId() : null;
   }
 
   /**
@@ -212,28 +735,81 @@ public class TaskService {
     }
     response.setCreatedAt(task.getCreatedAt());
     response.setUpdatedAt(task.getUpdatedAt());
+    response.setVersion(task.getVersion());
     return response;
   }
 
+  /**
+   * Проверяет, является ли пользователь исполнителем задачи. Используется в {@code @PreAuthorize},
+   * поэтому не загружает задачу целиком: если задача уже загружена в текущем запросе вместе с
+   * исполнителем, исполнитель берется из нее, иначе из кэша исполнителей. Ленивый прокси
+   * исполнителя не инициализируется, чтобы проверка не порождала дополнительный запрос.
+   *
+   * @param email Email пользователя.
+   * @param taskId Идентификатор задачи.
+   * @return true, если пользователь назначен исполнителем задачи.
+   */
+  @Transactional(readOnly = true)
   public boolean isAssignee(String email, Long taskId) {
-    Task task =
-        taskRepository
-            .findById(taskId)
+    Optional<Task> loadedTask = requestEntityCache.findLoaded(Task.class, taskId);
+    if (loadedTask.isPresent()) {
+      User assignee = loadedTask.get().getAssignee();
+      if (assignee == null) {
+        return false;
+      }
+      if (Hibernate.isInitialized(assignee)) {
+        return email.equals(assignee.getEmail());
+      }
+    }
+
+    TaskAssignee assignee =
+        taskAssigneeCache
+            .get(taskId)
             .orElseThrow(() -> new IllegalArgumentException("Task not found"));
-    User assignee = task.getAssignee();
-    String mail = assignee.getEmail();
 
-    return mail.equals(email);
+    return email.equals(assignee.assigneeEmail());
   }
 
+  @Transactional
   public TaskResponse updateTaskStatus(Long id, UpdateTaskStatusRequest updateTaskStatusRequest) {
-    Task task =
-        taskRepository
-            .findById(id)
-            .orElseThrow(() -> new IllegalArgumentException("Task not found"));
-    task.setStatus(updateTaskStatusRequest.getStatus());
-    task.setUpdatedAt(LocalDateTime.now());
-    Task updatedTask = taskRepository.save(task);
-    return mapToTaskResponse(updatedTask);
+    return updateTaskStatus(id, updateTaskStatusRequest, null);
+  }
+
+  /**
+   * Изменяет статус задачи одним условным запросом UPDATE без загрузки сущности. Если указана
+   * ожидаемая версия, задача обновляется, только если ее версия не изменилась.
+   *
+   * @param id Идентификатор задачи.
+   * @param updateTaskStatusRequest Запрос на изменение статуса задачи.
+   * @param expectedVersion Ожидаемая версия задачи или null, если версия не проверяется.
+   * @return Ответ с обновленной задачей.
+   * @throws OptimisticLockingFailureException Если задача была изменена другим запросом.
+   */
+  @Transactional
+  public TaskResponse updateTaskStatus(
+      Long id, UpdateTaskStatusRequest updateTaskStatusRequest, Long expectedVersion) {
+    Task.Status status = updateTaskStatusRequest.getStatus();
+    LocalDateTime now = LocalDateTime.now();
+    int updated =
+        expectedVersion == null
+            ? taskRepository.updateStatus(id, status, now)
+            : taskRepository.updateStatusIfVersion(id, expectedVersion, status, now);
+    if (updated == 0) {
+      if (expectedVersion != null && taskRepository.existsById(id)) {
+        throw new OptimisticLockingFailureException("Task version mismatch");
+      }
+      throw new IllegalArgumentException("Task not found");
+    }
+
+    AfterCommit.run(() -> requestEntityCache.evict(Task.class, id));
+    return taskRepository
+        .findResponseById(id)
+        .orElseThrow(() -> new IllegalArgumentException("Task not found"));
+  }
+
+  private static void checkVersion(Task task, Long expectedVersion) {
+    if (expectedVersion != null && task.getVersion() != expectedVersion) {
+      throw new OptimisticLockingFailureException("Task version mismatch");
+    }
   }
 }
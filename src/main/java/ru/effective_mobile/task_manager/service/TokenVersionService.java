@@ -0,0 +1,64 @@
+package ru.effective_mobile.task_manager.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ru.effective_mobile.task_manager.cache.ExpiringLruCache;
+import ru.effective_mobile.task_manager.entities.User;
+import ru.effective_mobile.task_manager.repository.UserRepository;
+
+/**
+ * Сервис проверки версий токенов. Хранит текущую версию токенов пользователей в памяти и сверяет с
+ * ней версию из JWT, благодаря чему отозванные токены отклоняются без запроса к базе данных на
+ * каждый вызов API. Закэшированная версия живет не дольше {@code revocationCheckInterval}, поэтому
+ * отзыв на другом экземпляре приложения вступает в силу с этой задержкой.
+ */
+@Service
+public class TokenVersionService implements MeterBinder {
+
+  private final UserRepository userRepository;
+  private final ExpiringLruCache<Long, Integer> versions;
+
+  public TokenVersionService(
+      UserRepository userRepository,
+      @Value("${app.security.token-version-cache.max-size:10000}") int maxSize,
+      @Value("${app.security.jwt.revocation-check-interval:60s}")
+          Duration revocationCheckInterval) {
+    this.userRepository = userRepository;
+    this.versions = new ExpiringLruCache<>(maxSize, revocationCheckInterval);
+  }
+
+  /**
+   * Проверяет, что версия токена совпадает с текущей версией токенов пользователя.
+   *
+   * @param userId Идентификатор пользователя.
+   * @param tokenVersion Версия из токена.
+   * @return true, если токен не отозван.
+   */
+  public boolean isCurrent(Long userId, int tokenVersion) {
+    Integer current =
+        versions.get(userId, id -> userRepository.findTokenVersionById(id).orElse(null));
+    return current != null && current == tokenVersion;
+  }
+
+  /**
+   * Отзывает все выданные пользователю access токены, увеличивая версию. Сохранение сущности
+   * остается на вызывающей стороне; закэшированная версия сбрасывается после фиксации транзакции.
+   *
+   * @param user Пользователь.
+   */
+  public void revoke(User user) {
+    user.setTokenVersion(user.getTokenVersion() + 1);
+    Long userId = user.getId();
+    if (userId != null) {
+      AfterCommit.run(() -> versions.invalidate(userId));
+    }
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    versions.bindTo(registry, "tokenVersions");
+  }
+}
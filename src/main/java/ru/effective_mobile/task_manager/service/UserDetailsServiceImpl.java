@@ -2,14 +2,16 @@ package ru.effective_mobile.task_manager.service;
 
 import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import ru.effective_mobile.task_manager.entities.User;
 import ru.effective_mobile.task_manager.repository.UserRepository;
+import ru.effective_mobile.task_manager.security.AuthenticatedUser;
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
   private final UserRepository userRepository;
 
@@ -25,9 +27,36 @@ public class UserDetailsServiceImpl implements UserDetailsService {
             .orElseThrow(
                 () -> new UsernameNotFoundException("User not found with email: " + email));
 
-    return new org.springframework.security.core.userdetails.User(
+    return toUserDetails(user);
+  }
+
+  /**
+   * Сохраняет перехэшированный пароль пользователя. Вызывается при входе, если стоимость хэша
+   * сохраненного пароля ниже настроенной.
+   *
+   * @param userDetails Данные пользователя.
+   * @param newPassword Новый хэш пароля.
+   * @return Данные пользователя с новым хэшем пароля.
+   */
+  @Override
+  public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+    User user =
+        userRepository
+            .findByEmail(userDetails.getUsername())
+            .orElseThrow(
+                () ->
+                    new UsernameNotFoundException(
+                        "User not found with email: " + userDetails.getUsername()));
+    user.setPassword(newPassword);
+    return toUserDetails(userRepository.save(user));
+  }
+
+  private UserDetails toUserDetails(User user) {
+    return new AuthenticatedUser(
+        user.getId(),
         user.getEmail(),
         user.getPassword(),
-        AuthorityUtils.createAuthorityList("ROLE_" + user.getRole().name()));
+        AuthorityUtils.createAuthorityList("ROLE_" + user.getRole().name()),
+        user.getTokenVersion());
   }
 }
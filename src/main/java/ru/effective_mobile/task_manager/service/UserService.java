@@ -5,6 +5,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.effective_mobile.task_manager.dto.RegisterRequest;
 import ru.effective_mobile.task_manager.entities.User;
 import ru.effective_mobile.task_manager.repository.UserRepository;
@@ -14,7 +15,16 @@ import ru.effective_mobile.task_manager.repository.UserRepository;
 public class UserService {
   private final UserRepository userRepository;
   private final PasswordEncoder passwordEncoder;
+  private final CachedUserDetailsService cachedUserDetailsService;
+  private final TokenVersionService tokenVersionService;
 
+  /**
+   * Регистрирует нового пользователя. Метод намеренно не открывает общую транзакцию: хэширование
+   * пароля занимает заметное время, и удерживать на это время соединение из пула нельзя. Сохранение
+   * выполняется одной транзакцией репозитория, уникальность email гарантирует ограничение таблицы.
+   *
+   * @param registrationRequest Запрос на регистрацию.
+   */
   public void registerUser(RegisterRequest registrationRequest) {
     if (userRepository.findByEmail(registrationRequest.getEmail()).isPresent()) {
       throw new IllegalArgumentException("Email already exists");
@@ -26,6 +36,27 @@ public class UserService {
     user.setRole(User.Role.USER);
 
     userRepository.save(user);
+    cachedUserDetailsService.invalidate(user.getEmail());
+  }
+
+  /**
+   * Изменяет роль пользователя. Роли встроены в access токены, поэтому ранее выданные токены
+   * отзываются, а закэшированные данные пользователя удаляются.
+   *
+   * @param email Email пользователя.
+   * @param role Новая роль.
+   */
+  @Transactional
+  public void changeRole(String email, User.Role role) {
+    User user =
+        userRepository
+            .findByEmail(email)
+            .orElseThrow(
+                () -> new UsernameNotFoundException("User not found with email: " + email));
+    user.setRole(role);
+    tokenVersionService.revoke(user);
+    userRepository.save(user);
+    AfterCommit.run(() -> cachedUserDetailsService.invalidate(email));
   }
 
   @PostConstruct
@@ -38,14 +69,4 @@ public class UserService {
       userRepository.save(admin);
     }
   }
-
-  public void saveRefreshToken(String email, String refreshToken) {
-    User user =
-        userRepository
-            .findByEmail(email)
-            .orElseThrow(
-                () -> new UsernameNotFoundException("User not found with email: " + email));
-    user.setRefreshToken(refreshToken);
-    userRepository.save(user);
-  }
 }
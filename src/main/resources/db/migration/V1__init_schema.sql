@@ -0,0 +1,44 @@
+create table users
+(
+    id            bigint generated by default as identity primary key,
+    email         varchar(255) not null,
+    password      varchar(255) not null,
+    role          varchar(255) not null check (role in ('ADMIN', 'USER')),
+    refresh_token varchar(255),
+    token_version integer      not null default 0,
+    constraint uk_users_email unique (email),
+    constraint uk_users_refresh_token unique (refresh_token)
+);
+
+create table tasks
+(
+    id          bigint generated by default as identity primary key,
+    title       varchar(255) not null,
+    description varchar(255) not null,
+    status      varchar(255) not null check (status in ('PENDING', 'IN_PROGRESS', 'COMPLETED')),
+    priority    varchar(255) not null check (priority in ('HIGH', 'MEDIUM', 'LOW')),
+    author_id   bigint       not null references users (id),
+    assignee_id bigint references users (id),
+    created_at  timestamp(6) not null,
+    updated_at  timestamp(6) not null
+);
+
+-- Фильтры по автору и исполнителю с сортировкой ленты по (updated_at, id)
+create index idx_tasks_author_updated on tasks (author_id, updated_at, id);
+create index idx_tasks_assignee_updated on tasks (assignee_id, updated_at, id);
+-- Лента всех задач
+create index idx_tasks_updated on tasks (updated_at, id);
+
+create table comments
+(
+    id         bigint generated by default as identity primary key,
+    content    varchar(255) not null,
+    task_id    bigint       not null references tasks (id),
+    author_id  bigint       not null references users (id),
+    created_at timestamp(6) not null
+);
+
+-- Комментарии задачи в порядке написания
+create index idx_comments_task_created on comments (task_id, created_at, id);
+-- Внешний ключ на автора, используется при удалении пользователя
+create index idx_comments_author on comments (author_id);
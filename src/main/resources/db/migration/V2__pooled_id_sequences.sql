@@ -0,0 +1,14 @@
+-- Переход с identity-столбцов на последовательности с шагом 50 (pooled-оптимизатор Hibernate),
+-- чтобы вставки не выполнялись немедленно и могли объединяться в JDBC-пакеты.
+alter table users alter column id drop identity;
+alter table tasks alter column id drop identity;
+alter table comments alter column id drop identity;
+
+create sequence users_seq start with 1 increment by 50;
+create sequence tasks_seq start with 1 increment by 50;
+create sequence comments_seq start with 1 increment by 50;
+
+-- Для непустых таблиц следующий выделенный диапазон должен начинаться после max(id)
+select setval('users_seq', max(id) + 50) from users having max(id) is not null;
+select setval('tasks_seq', max(id) + 50) from tasks having max(id) is not null;
+select setval('comments_seq', max(id) + 50) from comments having max(id) is not null;
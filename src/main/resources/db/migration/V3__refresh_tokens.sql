@@ -0,0 +1,28 @@
+-- Refresh токены переносятся в отдельную таблицу: у пользователя может быть несколько токенов
+-- (по одному на устройство), хранится только SHA-256 хэш токена и срок его действия.
+create sequence refresh_tokens_seq start with 1 increment by 50;
+
+create table refresh_tokens
+(
+    id         bigint       not null primary key,
+    token_hash varchar(64)  not null,
+    user_id    bigint       not null references users (id) on delete cascade,
+    created_at timestamp(6) not null,
+    expires_at timestamp(6) not null,
+    constraint uk_refresh_tokens_hash unique (token_hash)
+);
+
+-- Отзыв всех токенов пользователя при выходе
+create index idx_refresh_tokens_user on refresh_tokens (user_id);
+-- Периодическое удаление просроченных токенов
+create index idx_refresh_tokens_expires on refresh_tokens (expires_at);
+
+-- Действующие токены сохраняются, срок их действия отсчитывается от момента миграции
+insert into refresh_tokens (id, token_hash, user_id, created_at, expires_at)
+select nextval('refresh_tokens_seq'), encode(sha256(convert_to(refresh_token, 'UTF8')), 'hex'), id,
+       now(), now() + interval '30 days'
+from users
+where refresh_token is not null;
+
+alter table users drop constraint uk_users_refresh_token;
+alter table users drop column refresh_token;
@@ -0,0 +1,14 @@
+-- Удаление задач и пользователей каскадируется базой данных: дочерние строки удаляются тем же
+-- оператором DELETE, а не Hibernate по одной сущности. Внешние ключи создавались без имени,
+-- поэтому удаляются по именам, сгенерированным PostgreSQL.
+alter table comments
+    drop constraint comments_task_id_fkey,
+    add constraint fk_comments_task foreign key (task_id) references tasks (id) on delete cascade,
+    drop constraint comments_author_id_fkey,
+    add constraint fk_comments_author foreign key (author_id) references users (id) on delete cascade;
+
+alter table tasks
+    drop constraint tasks_author_id_fkey,
+    add constraint fk_tasks_author foreign key (author_id) references users (id) on delete cascade,
+    drop constraint tasks_assignee_id_fkey,
+    add constraint fk_tasks_assignee foreign key (assignee_id) references users (id) on delete cascade;
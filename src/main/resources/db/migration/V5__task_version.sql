@@ -0,0 +1,2 @@
+-- Версия задачи для оптимистической блокировки: передается клиентам в ETag и проверяется по If-Match
+alter table tasks add column version bigint not null default 0;
@@ -0,0 +1,16 @@
+-- Отметки об удалении задач и о снятии их с исполнителя. По ним лента изменений сообщает клиентам,
+-- какие задачи нужно убрать из локальной копии. Внешних ключей нет: отметка переживает задачу.
+create sequence task_tombstones_seq start with 1 increment by 50;
+
+create table task_tombstones
+(
+    id          bigint       not null primary key,
+    task_id     bigint       not null,
+    assignee_id bigint,
+    reason      varchar(255) not null check (reason in ('DELETED', 'REASSIGNED')),
+    removed_at  timestamp(6) not null
+);
+
+-- Лента изменений всех задач и задач исполнителя с сортировкой по (removed_at, task_id)
+create index idx_task_tombstones_removed on task_tombstones (removed_at, task_id);
+create index idx_task_tombstones_assignee_removed on task_tombstones (assignee_id, removed_at, task_id);
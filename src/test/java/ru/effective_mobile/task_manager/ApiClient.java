@@ -21,13 +21,19 @@ public class ApiClient {
   }
 
   public String login(String email, String password, HttpStatus expectedStatusCode) {
+    AuthResponse authResponse = authenticate(email, password, expectedStatusCode);
+    return authResponse == null ? null : authResponse.getAccessToken();
+  }
+
+  public AuthResponse authenticate(String email, String password, HttpStatus expectedStatusCode) {
     AuthRequest authRequest = AuthRequest.builder().email(email).password(password).build();
     ResponseEntity<AuthResponse> response =
         restTemplate.postForEntity("/api/auth/login", authRequest, AuthResponse.class);
     assertEquals(expectedStatusCode, response.getStatusCode());
     if (expectedStatusCode == HttpStatus.OK) {
       assertNotNull(response.getBody().getAccessToken());
-      return response.getBody().getAccessToken();
+      assertNotNull(response.getBody().getRefreshToken());
+      return response.getBody();
     }
     return null;
   }
@@ -129,14 +135,46 @@ public class ApiClient {
     assertEquals(expectedStatusCode, response.getStatusCode());
   }
 
-  public void logout(String accessToken, String email, HttpStatus expectedStatusCode) {
-    LogoutRequest logoutRequest = new LogoutRequest(email);
+  public void getTaskFeedByAssignee(
+      String accessToken, Long assigneeId, HttpStatus expectedStatusCode) {
     HttpHeaders headers = new HttpHeaders();
     headers.set("Authorization", "Bearer " + accessToken);
-    HttpEntity<LogoutRequest> request = new HttpEntity<>(logoutRequest, headers);
+    HttpEntity<String> request = new HttpEntity<>(headers);
+
+    ResponseEntity<String> response =
+        restTemplate.exchange(
+            "/api/tasks/assignee/" + assigneeId + "/feed", HttpMethod.GET, request, String.class);
+    assertEquals(expectedStatusCode, response.getStatusCode());
+  }
+
+  public void getTaskChangesByAssignee(
+      String accessToken, Long assigneeId, HttpStatus expectedStatusCode) {
+    HttpHeaders headers = new HttpHeaders();
+    headers.set("Authorization", "Bearer " + accessToken);
+    HttpEntity<String> request = new HttpEntity<>(headers);
+
+    ResponseEntity<String> response =
+        restTemplate.exchange(
+            "/api/tasks/assignee/" + assigneeId + "/changes",
+            HttpMethod.GET,
+            request,
+            String.class);
+    assertEquals(expectedStatusCode, response.getStatusCode());
+  }
+
+  public void refreshToken(String refreshToken, HttpStatus expectedStatusCode) {
+    RefreshTokenRequest refreshTokenRequest = new RefreshTokenRequest(refreshToken);
+
+    ResponseEntity<String> response =
+        restTemplate.postForEntity("/api/auth/refresh-token", refreshTokenRequest, String.class);
+    assertEquals(expectedStatusCode, response.getStatusCode());
+  }
+
+  public void logout(String refreshToken, boolean allDevices, HttpStatus expectedStatusCode) {
+    LogoutRequest logoutRequest = new LogoutRequest(refreshToken, allDevices);
 
     ResponseEntity<String> response =
-        restTemplate.postForEntity("/api/auth/logout", request, String.class);
+        restTemplate.postForEntity("/api/auth/logout", logoutRequest, String.class);
     assertEquals(expectedStatusCode, response.getStatusCode());
   }
 
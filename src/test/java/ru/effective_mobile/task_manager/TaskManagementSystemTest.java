@@ -7,6 +7,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.context.ActiveProfiles;
+import ru.effective_mobile.task_manager.dto.AuthResponse;
 import ru.effective_mobile.task_manager.entities.Task;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -25,7 +26,9 @@ public class TaskManagementSystemTest {
   @Test
   public void testScenario() {
     // Логин под админом "admin@example.com" "adminPassword"
-    String accessTokenAdmin = apiClient.login("admin@example.com", "adminPassword", HttpStatus.OK);
+    AuthResponse authAdmin =
+        apiClient.authenticate("admin@example.com", "adminPassword", HttpStatus.OK);
+    String accessTokenAdmin = authAdmin.getAccessToken();
 
     // Регистрация пользователей
     apiClient.register("user1@example.com", "password1", HttpStatus.OK);
@@ -56,10 +59,14 @@ public class TaskManagementSystemTest {
             HttpStatus.OK);
 
     // Логин под пользователем 1
-    String accessTokenUser1 = apiClient.login("user1@example.com", "password1", HttpStatus.OK);
+    AuthResponse authUser1 =
+        apiClient.authenticate("user1@example.com", "password1", HttpStatus.OK);
+    String accessTokenUser1 = authUser1.getAccessToken();
 
     // Логин под пользователем 2
-    String accessTokenUser2 = apiClient.login("user2@example.com", "password2", HttpStatus.OK);
+    AuthResponse authUser2 =
+        apiClient.authenticate("user2@example.com", "password2", HttpStatus.OK);
+    String accessTokenUser2 = authUser2.getAccessToken();
 
     // Попытка любым пользователем создания задачи (должно быть запрещено)
     apiClient.createTask(
@@ -138,12 +145,33 @@ public class TaskManagementSystemTest {
     // Попытка пользователя 1 получить свою задачу (разрешено)
     apiClient.getTask(accessTokenUser1, taskIdUser1, HttpStatus.OK);
 
+    // Попытка пользователя 1 получить ленту своих задач (разрешено)
+    apiClient.getTaskFeedByAssignee(accessTokenUser1, 2L, HttpStatus.OK);
+
+    // Попытка пользователя 1 получить ленту задач пользователя 2 (должно быть запрещено)
+    apiClient.getTaskFeedByAssignee(accessTokenUser1, 3L, HttpStatus.FORBIDDEN);
+
+    // Попытка пользователя 1 получить изменения своих задач (разрешено)
+    apiClient.getTaskChangesByAssignee(accessTokenUser1, 2L, HttpStatus.OK);
+
+    // Попытка пользователя 1 получить изменения задач пользователя 2 (должно быть запрещено)
+    apiClient.getTaskChangesByAssignee(accessTokenUser1, 3L, HttpStatus.FORBIDDEN);
+
     // Попытка админа удалить задачу пользователя 1
     apiClient.deleteTask(accessTokenAdmin, taskIdUser1, HttpStatus.NO_CONTENT);
 
     // Логаут всех пользователей, участвующих в тестировании
-    apiClient.logout(accessTokenUser1, "user1@example.com", HttpStatus.OK);
-    apiClient.logout(accessTokenUser2, "user2@example.com", HttpStatus.OK);
-    apiClient.logout(accessTokenAdmin, "admin@example.com", HttpStatus.OK);
+    // Попытка выхода без действующего refresh токена (должно быть запрещено)
+    apiClient.logout("unknownRefreshToken", true, HttpStatus.FORBIDDEN);
+
+    // Вход пользователя 1 на втором устройстве и выход на первом: второй сеанс продолжается
+    AuthResponse authUser1Device2 =
+        apiClient.authenticate("user1@example.com", "password1", HttpStatus.OK);
+    apiClient.logout(authUser1.getRefreshToken(), false, HttpStatus.OK);
+    apiClient.refreshToken(authUser1.getRefreshToken(), HttpStatus.FORBIDDEN);
+    apiClient.refreshToken(authUser1Device2.getRefreshToken(), HttpStatus.OK);
+    apiClient.logout(authUser1Device2.getRefreshToken(), false, HttpStatus.OK);
+    apiClient.logout(authUser2.getRefreshToken(), false, HttpStatus.OK);
+    apiClient.logout(authAdmin.getRefreshToken(), true, HttpStatus.OK);
   }
 }
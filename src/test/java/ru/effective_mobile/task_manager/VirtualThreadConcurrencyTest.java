@@ -0,0 +1,102 @@
+package ru.effective_mobile.task_manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Нагрузочная проверка режима виртуальных потоков: {@value #CONCURRENT_REQUESTS} запросов
+ * блокируются до тех пор, пока все они не будут приняты сервером одновременно. С пулом потоков
+ * Tomcat по умолчанию (200 потоков) запросы не дождались бы друг друга.
+ */
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "spring.threads.virtual.enabled=true")
+@ActiveProfiles("test")
+class VirtualThreadConcurrencyTest {
+
+  private static final int CONCURRENT_REQUESTS = 500;
+
+  private static final CountDownLatch ALL_REQUESTS_ARRIVED =
+      new CountDownLatch(CONCURRENT_REQUESTS);
+
+  @LocalServerPort private int port;
+
+  @Test
+  void testServesMoreConcurrentRequestsThanPlatformThreadPool() throws Exception {
+    URI uri = URI.create("http://localhost:" + port + "/load-test/await");
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        HttpClient client =
+            HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build()) {
+      List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+      for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+        responses.add(
+            client.sendAsync(
+                HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.ofString()));
+      }
+
+      for (CompletableFuture<HttpResponse<String>> response : responses) {
+        HttpResponse<String> completed = response.get(60, TimeUnit.SECONDS);
+        assertThat(completed.statusCode()).isEqualTo(200);
+        assertThat(completed.body()).isEqualTo("virtual");
+      }
+    }
+  }
+
+  @TestConfiguration
+  static class LoadTestConfig {
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    SecurityFilterChain loadTestSecurityFilterChain(HttpSecurity http) throws Exception {
+      return http.securityMatcher("/load-test/**")
+          .authorizeHttpRequests(requests -> requests.anyRequest().permitAll())
+          .build();
+    }
+
+    @Bean
+    BlockingController blockingController() {
+      return new BlockingController();
+    }
+  }
+
+  @RestController
+  static class BlockingController {
+
+    @GetMapping("/load-test/await")
+    String await() throws InterruptedException {
+      ALL_REQUESTS_ARRIVED.countDown();
+      if (!ALL_REQUESTS_ARRIVED.await(30, TimeUnit.SECONDS)) {
+        return "timeout";
+      }
+      return Thread.currentThread().isVirtual() ? "virtual" : "platform";
+    }
+  }
+}
@@ -0,0 +1,96 @@
+package ru.effective_mobile.task_manager.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class ExpiringLruCacheTest {
+
+  private final AtomicLong now = new AtomicLong();
+
+  @Test
+  void testGetLoadsOnceAndCountsHits() {
+    ExpiringLruCache<String, String> cache =
+        new ExpiringLruCache<>(10, Duration.ofMinutes(1), now::get);
+    AtomicInteger loads = new AtomicInteger();
+
+    cache.get("key", key -> "value" + loads.incrementAndGet());
+    String value = cache.get("key", key -> "value" + loads.incrementAndGet());
+
+    assertThat(value).isEqualTo("value1");
+    assertThat(loads).hasValue(1);
+    assertThat(cache.hitCount()).isEqualTo(1);
+    assertThat(cache.missCount()).isEqualTo(1);
+  }
+
+  @Test
+  void testPeekDoesNotCountHitsOrMisses() {
+    ExpiringLruCache<String, String> cache =
+        new ExpiringLruCache<>(10, Duration.ofMinutes(1), now::get);
+    cache.put("key", "value");
+
+    assertThat(cache.peek("key")).contains("value");
+    assertThat(cache.peek("missing")).isEmpty();
+
+    assertThat(cache.hitCount()).isZero();
+    assertThat(cache.missCount()).isZero();
+  }
+
+  @Test
+  void testLeastRecentlyUsedEntryIsEvicted() {
+    ExpiringLruCache<String, String> cache =
+        new ExpiringLruCache<>(2, Duration.ofMinutes(1), now::get);
+    cache.put("a", "1");
+    cache.put("b", "2");
+    cache.get("a");
+
+    cache.put("c", "3");
+
+    assertThat(cache.get("a")).contains("1");
+    assertThat(cache.get("b")).isEmpty();
+    assertThat(cache.get("c")).contains("3");
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.evictionCount()).isEqualTo(1);
+  }
+
+  @Test
+  void testEntryExpiresAfterTtl() {
+    ExpiringLruCache<String, String> cache =
+        new ExpiringLruCache<>(10, Duration.ofSeconds(10), now::get);
+    cache.put("key", "value");
+
+    now.addAndGet(Duration.ofSeconds(11).toNanos());
+
+    assertThat(cache.get("key")).isEmpty();
+    assertThat(cache.evictionCount()).isEqualTo(1);
+  }
+
+  @Test
+  void testInvalidationDuringLoadDropsLoadedValue() {
+    ExpiringLruCache<String, String> cache =
+        new ExpiringLruCache<>(10, Duration.ofMinutes(1), now::get);
+
+    String value =
+        cache.get(
+            "key",
+            key -> {
+              cache.invalidate(key);
+              return "stale";
+            });
+
+    assertThat(value).isEqualTo("stale");
+    assertThat(cache.get("key")).isEmpty();
+  }
+
+  @Test
+  void testNullValuesAreNotCached() {
+    ExpiringLruCache<String, String> cache =
+        new ExpiringLruCache<>(10, Duration.ofMinutes(1), now::get);
+
+    assertThat(cache.get("key", key -> null)).isNull();
+    assertThat(cache.size()).isZero();
+  }
+}
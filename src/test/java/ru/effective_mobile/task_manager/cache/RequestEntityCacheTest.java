@@ -0,0 +1,71 @@
+package ru.effective_mobile.task_manager.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+class RequestEntityCacheTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private final RequestEntityCache requestEntityCache = new RequestEntityCache(meterRegistry);
+
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @AfterEach
+  void tearDown() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Test
+  void testEntityIsLoadedOncePerRequest() {
+    ServletRequestAttributes attributes =
+        new ServletRequestAttributes(new MockHttpServletRequest());
+    RequestContextHolder.setRequestAttributes(attributes);
+
+    requestEntityCache.find(String.class, 1L, this::load);
+    Optional<String> entity = requestEntityCache.find(String.class, 1L, this::load);
+    requestEntityCache.find(String.class, 2L, this::load);
+    attributes.requestCompleted();
+
+    assertThat(entity).contains("entity1");
+    assertThat(loads).hasValue(2);
+    assertThat(meterRegistry.get("entity.loads.per.request").summary().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("entity.loads.per.request").summary().totalAmount()).isEqualTo(2);
+    assertThat(meterRegistry.get("entity.reuses").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void testEvictForcesReload() {
+    RequestContextHolder.setRequestAttributes(
+        new ServletRequestAttributes(new MockHttpServletRequest()));
+
+    requestEntityCache.find(String.class, 1L, this::load);
+    requestEntityCache.evict(String.class, 1L);
+
+    assertThat(requestEntityCache.findLoaded(String.class, 1L)).isEmpty();
+    requestEntityCache.find(String.class, 1L, this::load);
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  void testLoadsDirectlyOutsideRequest() {
+    requestEntityCache.find(String.class, 1L, this::load);
+    requestEntityCache.find(String.class, 1L, this::load);
+
+    assertThat(loads).hasValue(2);
+    assertThat(requestEntityCache.findLoaded(String.class, 1L)).isEmpty();
+  }
+
+  private Optional<String> load(Long id) {
+    loads.incrementAndGet();
+    return Optional.of("entity" + id);
+  }
+}
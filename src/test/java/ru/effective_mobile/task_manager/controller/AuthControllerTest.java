@@ -14,9 +14,11 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.effective_mobile.task_manager.dto.*;
+import ru.effective_mobile.task_manager.exception.PasswordHashingRejectedException;
 import ru.effective_mobile.task_manager.exception.TokenRefreshException;
 import ru.effective_mobile.task_manager.security.JwtRequestFilter;
 import ru.effective_mobile.task_manager.service.RefreshTokenService;
@@ -87,6 +89,45 @@ public class AuthControllerTest {
         .andExpect(content().string("Неверный email или пароль"));
   }
 
+  @Test
+  public void testLoginWhenPasswordHashingIsSaturated() throws Exception {
+    AuthRequest authRequest =
+        AuthRequest.builder().email("test@example.com").password("password").build();
+
+    when(authenticationManager.authenticate(any()))
+        .thenThrow(new PasswordHashingRejectedException("Password hashing queue is full"));
+
+    mockMvc
+        .perform(
+            post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(authRequest)))
+        .andExpect(status().isServiceUnavailable())
+        .andExpect(header().string("Retry-After", "1"))
+        .andExpect(content().string("Сервер перегружен, повторите попытку позже"));
+    verify(refreshTokenService, never()).createRefreshToken(any());
+  }
+
+  @Test
+  public void testLoginUnknownUserWhenPasswordHashingIsSaturated() throws Exception {
+    AuthRequest authRequest =
+        AuthRequest.builder().email("unknown@example.com").password("password").build();
+
+    when(authenticationManager.authenticate(any()))
+        .thenThrow(
+            new InternalAuthenticationServiceException(
+                "Password hashing queue is full",
+                new PasswordHashingRejectedException("Password hashing queue is full")));
+
+    mockMvc
+        .perform(
+            post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(authRequest)))
+        .andExpect(status().isServiceUnavailable())
+        .andExpect(header().string("Retry-After", "1"));
+  }
+
   @Test
   public void testRegisterSuccess() throws Exception {
     RegisterRequest registerRequest =
@@ -134,4 +175,22 @@ public class AuthControllerTest {
                 .content(objectMapper.writeValueAsString(refreshTokenRequest)))
         .andExpect(status().isForbidden());
   }
+
+  @Test
+  public void testLogoutWithUnknownRefreshToken() throws Exception {
+    LogoutRequest logoutRequest = new LogoutRequest("invalidRefreshToken", false);
+
+    doThrow(
+            new TokenRefreshException(
+                "invalidRefreshToken", "Неверный или просроченный refresh токен"))
+        .when(refreshTokenService)
+        .deleteRefreshToken("invalidRefreshToken", false);
+
+    mockMvc
+        .perform(
+            post("/api/auth/logout")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(logoutRequest)))
+        .andExpect(status().isForbidden());
+  }
 }
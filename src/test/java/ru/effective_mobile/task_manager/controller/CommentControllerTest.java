@@ -1,24 +1,37 @@
 package ru.effective_mobile.task_manager.controller;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.LocalDateTime;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.effective_mobile.task_manager.dto.CommentRequest;
 import ru.effective_mobile.task_manager.dto.CommentResponse;
+import ru.effective_mobile.task_manager.dto.CursorPage;
+import ru.effective_mobile.task_manager.repository.Watermark;
 import ru.effective_mobile.task_manager.service.CommentService;
+import ru.effective_mobile.task_manager.service.TokenVersionService;
 
 @WebMvcTest(controllers = CommentController.class)
 @AutoConfigureMockMvc(addFilters = false)
@@ -26,6 +39,8 @@ public class CommentControllerTest {
 
   @Autowired private MockMvc mockMvc;
 
+  @MockBean private TokenVersionService tokenVersionService;
+
   @MockBean private CommentService commentService;
 
   private ObjectMapper objectMapper;
@@ -72,4 +87,45 @@ public class CommentControllerTest {
         .andExpect(status().isBadRequest())
         .andExpect(content().string("Invalid data"));
   }
+
+  @Test
+  public void testGetCommentFeedByTaskSuccess() throws Exception {
+    CommentResponse commentResponse = new CommentResponse();
+    commentResponse.setId(1L);
+    commentResponse.setContent("Test comment");
+
+    when(commentService.getCommentFeedByTask(eq(1L), eq(null), eq(10)))
+        .thenReturn(new CursorPage<>(List.of(commentResponse), null, false));
+
+    mockMvc
+        .perform(get("/api/comments/task/{taskId}/feed", 1L).param("size", "10"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content[0].content").value("Test comment"))
+        .andExpect(jsonPath("$.hasNext").value(false));
+  }
+
+  @Test
+  public void testGetCommentsByTaskNotModified() throws Exception {
+    Watermark watermark = new Watermark(1, 1, LocalDateTime.of(2024, 1, 1, 12, 0));
+    when(commentService.getCommentsWatermark(1L)).thenReturn(watermark);
+    when(commentService.getCommentsByTask(eq(1L), any()))
+        .thenReturn(new PageImpl<>(List.of(new CommentResponse()), PageRequest.of(0, 10), 1));
+
+    String eTag =
+        mockMvc
+            .perform(
+                get("/api/comments/task/{taskId}", 1L).header(HttpHeaders.IF_NONE_MATCH, "\"\""))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalElements").value(1))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+    mockMvc
+        .perform(get("/api/comments/task/{taskId}", 1L).header(HttpHeaders.IF_NONE_MATCH, eTag))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.ETAG, eTag));
+
+    verify(commentService, times(1)).getCommentsByTask(eq(1L), any());
+  }
 }
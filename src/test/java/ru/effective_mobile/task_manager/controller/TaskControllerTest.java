@@ -1,39 +1,72 @@
 package ru.effective_mobile.task_manager.controller;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import ru.effective_mobile.task_manager.dto.*;
+import ru.effective_mobile.task_manager.entities.Task;
+import ru.effective_mobile.task_manager.exception.ChangesCursorExpiredException;
+import ru.effective_mobile.task_manager.repository.Watermark;
+import ru.effective_mobile.task_manager.service.TaskChangesService;
+import ru.effective_mobile.task_manager.service.TaskExportService;
+import ru.effective_mobile.task_manager.service.TaskImportService;
 import ru.effective_mobile.task_manager.service.TaskService;
+import ru.effective_mobile.task_manager.service.TokenVersionService;
 
 @AutoConfigureMockMvc(addFilters = false)
 @WebMvcTest(TaskController.class)
 public class TaskControllerTest {
   @Autowired private MockMvc mockMvc;
 
+  @MockBean private TokenVersionService tokenVersionService;
+
   @MockBean private TaskService taskService;
 
+  @MockBean private TaskExportService taskExportService;
+
+  @MockBean private TaskImportService taskImportService;
+
+  @MockBean private TaskChangesService taskChangesService;
+
   private ObjectMapper objectMapper;
 
   @BeforeEach
   public void setUp() {
     objectMapper = new ObjectMapper();
+    Watermark watermark = new Watermark(1, 1, LocalDateTime.of(2024, 1, 1, 12, 0));
+    when(taskService.getTasksWatermark()).thenReturn(watermark);
+    when(taskService.getTasksByAuthorWatermark(any())).thenReturn(watermark);
+    when(taskService.getTasksByAssigneeWatermark(any())).thenReturn(watermark);
   }
 
   @Test
@@ -46,8 +79,9 @@ public class TaskControllerTest {
     taskResponse.setId(taskId);
     taskResponse.setTitle("Updated Task");
     taskResponse.setDescription("Updated Description");
+    taskResponse.setVersion(1L);
 
-    when(taskService.fullUpdateTask(any(), any())).thenReturn(taskResponse);
+    when(taskService.fullUpdateTask(any(), any(), any())).thenReturn(taskResponse);
 
     mockMvc
         .perform(
@@ -57,7 +91,100 @@ public class TaskControllerTest {
         .andExpect(status().isOk())
         .andExpect(jsonPath("$.id").value(taskId))
         .andExpect(jsonPath("$.title").value("Updated Task"))
-        .andExpect(jsonPath("$.description").value("Updated Description"));
+        .andExpect(jsonPath("$.description").value("Updated Description"))
+        .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+  }
+
+  @Test
+  public void testFullUpdateTaskWithIfMatch() throws Exception {
+    Long taskId = 1L;
+    TaskRequest taskRequest = TaskRequest.builder().title("Test task").build();
+
+    TaskResponse taskResponse = new TaskResponse();
+    taskResponse.setId(taskId);
+    taskResponse.setVersion(4L);
+
+    when(taskService.fullUpdateTask(eq(taskId), any(), eq(3L))).thenReturn(taskResponse);
+
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.put("/api/tasks/{id}", taskId)
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(taskRequest)))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+  }
+
+  @Test
+  public void testFullUpdateTaskVersionMismatch() throws Exception {
+    Long taskId = 1L;
+    TaskRequest taskRequest = TaskRequest.builder().title("Test task").build();
+
+    when(taskService.fullUpdateTask(eq(taskId), any(), eq(3L)))
+        .thenThrow(new OptimisticLockingFailureException("Task version mismatch"));
+
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.put("/api/tasks/{id}", taskId)
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(taskRequest)))
+        .andExpect(status().isPreconditionFailed());
+  }
+
+  @Test
+  public void testFullUpdateTaskWithWeakIfMatch() throws Exception {
+    TaskRequest taskRequest = TaskRequest.builder().title("Test task").build();
+
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.put("/api/tasks/{id}", 1L)
+                .header(HttpHeaders.IF_MATCH, "W/\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(taskRequest)))
+        .andExpect(status().isPreconditionFailed());
+    verify(taskService, never()).fullUpdateTask(any(), any(), any());
+  }
+
+  @Test
+  public void testPartialUpdateTaskConcurrentModification() throws Exception {
+    PartialUpdateTaskRequest taskRequest =
+        PartialUpdateTaskRequest.builder().title("Partial Updated Task").build();
+
+    when(taskService.partialUpdateTask(any(), any(), any()))
+        .thenThrow(new ObjectOptimisticLockingFailureException(Task.class, 1L));
+
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.patch("/api/tasks/{id}", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(taskRequest)))
+        .andExpect(status().isConflict());
+  }
+
+  @Test
+  public void testUpdateTaskStatusWithIfMatch() throws Exception {
+    Long taskId = 1L;
+    UpdateTaskStatusRequest request =
+        UpdateTaskStatusRequest.builder().status(Task.Status.COMPLETED).build();
+
+    TaskResponse taskResponse = new TaskResponse();
+    taskResponse.setId(taskId);
+    taskResponse.setStatus(Task.Status.COMPLETED);
+    taskResponse.setVersion(6L);
+
+    when(taskService.updateTaskStatus(eq(taskId), any(), eq(5L))).thenReturn(taskResponse);
+
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.patch("/api/tasks/{id}/status", taskId)
+                .header(HttpHeaders.IF_MATCH, "\"5\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.status").value("COMPLETED"))
+        .andExpect(header().string(HttpHeaders.ETAG, "\"6\""));
   }
 
   @Test
@@ -66,7 +193,7 @@ public class TaskControllerTest {
     TaskRequest taskRequest =
         TaskRequest.builder().title("Updated task").description("Updated Description").build();
 
-    when(taskService.fullUpdateTask(any(), any()))
+    when(taskService.fullUpdateTask(any(), any(), any()))
         .thenThrow(new IllegalArgumentException("Invalid data"));
 
     mockMvc
@@ -87,8 +214,9 @@ public class TaskControllerTest {
     taskResponse.setId(taskId);
     taskResponse.setTitle("Partial Updated Task");
     taskResponse.setDescription("Original Description");
+    taskResponse.setVersion(1L);
 
-    when(taskService.partialUpdateTask(any(), any())).thenReturn(taskResponse);
+    when(taskService.partialUpdateTask(any(), any(), any())).thenReturn(taskResponse);
 
     mockMvc
         .perform(
@@ -107,7 +235,7 @@ public class TaskControllerTest {
     PartialUpdateTaskRequest taskRequest =
         PartialUpdateTaskRequest.builder().title("Partial Updated Task").build();
 
-    when(taskService.partialUpdateTask(any(), any()))
+    when(taskService.partialUpdateTask(any(), any(), any()))
         .thenThrow(new IllegalArgumentException("Invalid data"));
 
     mockMvc
@@ -134,15 +262,70 @@ public class TaskControllerTest {
     taskResponse.setId(taskId);
     taskResponse.setTitle("Test Task");
     taskResponse.setDescription("Test Description");
+    taskResponse.setVersion(3L);
 
     when(taskService.getTaskById(any())).thenReturn(taskResponse);
 
     mockMvc
         .perform(MockMvcRequestBuilders.get("/api/tasks/{id}", taskId))
         .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
         .andExpect(jsonPath("$.id").value(taskId))
         .andExpect(jsonPath("$.title").value("Test Task"))
         .andExpect(jsonPath("$.description").value("Test Description"));
+
+    verify(taskService, never()).getTaskVersion(any());
+  }
+
+  @Test
+  public void testGetTaskByIdNotModified() throws Exception {
+    when(taskService.getTaskVersion(1L)).thenReturn(3L);
+
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.get("/api/tasks/{id}", 1L)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"2\", \"3\""))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+        .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+        .andExpect(content().string(""));
+
+    verify(taskService, never()).getTaskById(any());
+  }
+
+  @Test
+  public void testGetAllTasksNotModified() throws Exception {
+    when(taskService.getAllTasks(any()))
+        .thenReturn(new PageImpl<>(List.of(new TaskResponse()), PageRequest.of(0, 10), 1));
+
+    mockMvc
+        .perform(MockMvcRequestBuilders.get("/api/tasks"))
+        .andExpect(status().isOk())
+        .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    verify(taskService, never()).getTasksWatermark();
+
+    String eTag =
+        mockMvc
+            .perform(
+                MockMvcRequestBuilders.get("/api/tasks").header(HttpHeaders.IF_NONE_MATCH, "\"\""))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+    mockMvc
+        .perform(MockMvcRequestBuilders.get("/api/tasks").header(HttpHeaders.IF_NONE_MATCH, eTag))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.ETAG, eTag));
+
+    when(taskService.getTasksWatermark())
+        .thenReturn(new Watermark(1, 2, LocalDateTime.of(2024, 1, 1, 12, 0)));
+    mockMvc
+        .perform(MockMvcRequestBuilders.get("/api/tasks").header(HttpHeaders.IF_NONE_MATCH, eTag))
+        .andExpect(status().isOk());
+
+    verify(taskService, times(3)).getAllTasks(any());
   }
 
   @Test
@@ -213,4 +396,184 @@ public class TaskControllerTest {
         .andExpect(jsonPath("$.content[0].title").value("Test Task"))
         .andExpect(jsonPath("$.content[0].description").value("Test Description"));
   }
+
+  @Test
+  public void testGetTaskFeedSuccess() throws Exception {
+    TaskResponse taskResponse = new TaskResponse();
+    taskResponse.setId(1L);
+    taskResponse.setTitle("Test Task");
+
+    when(taskService.getTaskFeed(eq("cursor"), eq(20)))
+        .thenReturn(new CursorPage<>(Collections.singletonList(taskResponse), "next", true));
+
+    mockMvc
+        .perform(MockMvcRequestBuilders.get("/api/tasks/feed").param("after", "cursor"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content[0].id").value(1L))
+        .andExpect(jsonPath("$.nextCursor").value("next"))
+        .andExpect(jsonPath("$.hasNext").value(true));
+  }
+
+  @Test
+  public void testGetTaskFeedWithInvalidCursor() throws Exception {
+    when(taskService.getTaskFeedByAuthor(any(), any(), anyInt()))
+        .thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.get("/api/tasks/author/{authorId}/feed", 1L)
+                .param("after", "broken"))
+        .andExpect(status().isBadRequest())
+        .andExpect(content().string("Invalid cursor"));
+  }
+
+  @Test
+  public void testGetAllTasksWithoutTotal() throws Exception {
+    Pageable pageable = PageRequest.of(0, 10);
+    TaskResponse taskResponse = new TaskResponse();
+    taskResponse.setId(1L);
+
+    when(taskService.getAllTasksSlice(any()))
+        .thenReturn(new SliceImpl<>(Collections.singletonList(taskResponse), pageable, true));
+
+    mockMvc
+        .perform(MockMvcRequestBuilders.get("/api/tasks").param("withTotal", "false"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content[0].id").value(1L))
+        .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+    verify(taskService, never()).getAllTasks(any());
+  }
+
+  @Test
+  public void testCreateTasksBatchSuccess() throws Exception {
+    TaskRequest taskRequest =
+        TaskRequest.builder()
+            .title("Test task")
+            .description("Test Description")
+            .status(ru.effective_mobile.task_manager.entities.Task.Status.PENDING)
+            .priority(ru.effective_mobile.task_manager.entities.Task.Priority.HIGH)
+            .authorId(1L)
+            .build();
+    TaskResponse taskResponse = new TaskResponse();
+    taskResponse.setId(1L);
+
+    when(taskService.createTasksBatch(any()))
+        .thenReturn(
+            List.of(
+                TaskBatchResult.success(0, taskResponse),
+                TaskBatchResult.failure(1, List.of("Author not found"))));
+
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.post("/api/tasks/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(taskRequest, taskRequest))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].success").value(true))
+        .andExpect(jsonPath("$[0].task.id").value(1L))
+        .andExpect(jsonPath("$[1].success").value(false))
+        .andExpect(jsonPath("$[1].errors[0]").value("Author not found"));
+  }
+
+  @Test
+  public void testUpdateTasksBatchWithTooManyItems() throws Exception {
+    when(taskService.updateTasksBatch(any()))
+        .thenThrow(new IllegalArgumentException("Batch size must be between 1 and 1000"));
+
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.patch("/api/tasks/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"id\": 1, \"title\": \"Updated\"}]"))
+        .andExpect(status().isBadRequest())
+        .andExpect(content().string("Batch size must be between 1 and 1000"));
+  }
+
+  @Test
+  public void testDeleteTasks() throws Exception {
+    when(taskService.deleteTasks(List.of(1L, 2L))).thenReturn(2);
+
+    mockMvc
+        .perform(MockMvcRequestBuilders.delete("/api/tasks").param("ids", "1", "2"))
+        .andExpect(status().isNoContent());
+
+    verify(taskService).deleteTasks(List.of(1L, 2L));
+  }
+
+  @Test
+  public void testDeleteTasksWithoutIds() throws Exception {
+    mockMvc.perform(MockMvcRequestBuilders.delete("/api/tasks")).andExpect(status().isBadRequest());
+
+    verify(taskService, never()).deleteTasks(any());
+  }
+
+  @Test
+  public void testExportTasks() throws Exception {
+    when(taskExportService.exportTasks(any()))
+        .thenAnswer(
+            invocation -> {
+              OutputStream out = invocation.getArgument(0);
+              out.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+              return 2L;
+            });
+
+    MvcResult result =
+        mockMvc
+            .perform(MockMvcRequestBuilders.get("/api/tasks/export"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    mockMvc
+        .perform(MockMvcRequestBuilders.asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+        .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+  }
+
+  @Test
+  public void testImportTasks() throws Exception {
+    TaskImportResult importResult = new TaskImportResult();
+    importResult.setImported(1);
+    importResult.setFailed(1);
+    importResult.getErrors().add(new TaskImportError(2, List.of("Title is mandatory")));
+    when(taskImportService.importTasks(any())).thenReturn(importResult);
+
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.post("/api/tasks/import")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("{\"title\":\"Task\",\"authorId\":1}\n{\"title\":\"\"}\n"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.imported").value(1))
+        .andExpect(jsonPath("$.failed").value(1))
+        .andExpect(jsonPath("$.errors[0].line").value(2))
+        .andExpect(jsonPath("$.errors[0].errors[0]").value("Title is mandatory"));
+  }
+
+  @Test
+  public void testGetTaskChanges() throws Exception {
+    TaskChange change = new TaskChange(3L, TaskChange.Type.DELETED, null, null);
+    when(taskChangesService.getChanges(eq("cursor"), eq(20)))
+        .thenReturn(new CursorPage<>(List.of(change), "next", false));
+
+    mockMvc
+        .perform(MockMvcRequestBuilders.get("/api/tasks/changes").param("since", "cursor"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content[0].taskId").value(3L))
+        .andExpect(jsonPath("$.content[0].type").value("DELETED"))
+        .andExpect(jsonPath("$.nextCursor").value("next"));
+  }
+
+  @Test
+  public void testGetTaskChangesWithExpiredCursor() throws Exception {
+    when(taskChangesService.getChangesByAssignee(eq(2L), eq("old"), eq(20)))
+        .thenThrow(new ChangesCursorExpiredException());
+
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.get("/api/tasks/assignee/{assigneeId}/changes", 2L)
+                .param("since", "old"))
+        .andExpect(status().isGone());
+  }
 }
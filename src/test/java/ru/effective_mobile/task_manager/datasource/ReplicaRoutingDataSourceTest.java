@@ -0,0 +1,102 @@
+package ru.effective_mobile.task_manager.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ReplicaRoutingDataSourceTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private final AtomicBoolean replicaAvailable = new AtomicBoolean(true);
+
+  private JdbcTemplate jdbcTemplate;
+
+  private TransactionTemplate writeTransaction;
+
+  private TransactionTemplate readOnlyTransaction;
+
+  @BeforeEach
+  void setUp() {
+    DataSource primary = database("primary");
+    DataSource replica = database("replica");
+    DataSource dataSource =
+        new LazyConnectionDataSourceProxy(
+            new ReplicaRoutingDataSource(primary, replica, replicaAvailable::get, meterRegistry));
+
+    DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    writeTransaction = new TransactionTemplate(transactionManager);
+    readOnlyTransaction = new TransactionTemplate(transactionManager);
+    readOnlyTransaction.setReadOnly(true);
+    // Первое соединение прокси берет с основной базы, чтобы узнать настройки соединений по
+    // умолчанию
+    databaseName();
+  }
+
+  @Test
+  void testReadOnlyTransactionUsesReplica() {
+    double primaryBefore = routed("primary");
+
+    assertThat(databaseName(readOnlyTransaction)).isEqualTo("replica");
+    assertThat(databaseName(writeTransaction)).isEqualTo("primary");
+    assertThat(databaseName()).isEqualTo("primary");
+
+    assertThat(routed("replica")).isEqualTo(1);
+    assertThat(routed("primary") - primaryBefore).isEqualTo(2);
+  }
+
+  @Test
+  void testReadOnlyTransactionFallsBackToPrimary() {
+    replicaAvailable.set(false);
+
+    assertThat(databaseName(readOnlyTransaction)).isEqualTo("primary");
+  }
+
+  @Test
+  void testLagMonitorDisablesReplicaWhenCheckFails() {
+    // H2 не поддерживает функции репликации PostgreSQL, поэтому проверка завершается ошибкой
+    ReplicaLagMonitor monitor =
+        new ReplicaLagMonitor(
+            database("not-postgres"), Duration.ofSeconds(5), Duration.ofSeconds(1));
+    monitor.bindTo(meterRegistry);
+
+    monitor.checkLag();
+
+    assertThat(monitor.isAvailable()).isFalse();
+    assertThat(meterRegistry.get("datasource.replica.available").gauge().value()).isZero();
+    assertThat(meterRegistry.get("datasource.replica.lag").gauge().value()).isNaN();
+  }
+
+  private double routed(String target) {
+    return meterRegistry.get("datasource.routing").tag("target", target).counter().count();
+  }
+
+  private String databaseName(TransactionTemplate transaction) {
+    return transaction.execute(status -> databaseName());
+  }
+
+  private String databaseName() {
+    return jdbcTemplate.queryForObject("select name from marker", String.class);
+  }
+
+  private DataSource database(String name) {
+    DataSource dataSource =
+        new DriverManagerDataSource("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1");
+    JdbcTemplate template = new JdbcTemplate(dataSource);
+    template.execute("create table if not exists marker (name varchar(32))");
+    template.update("delete from marker");
+    template.update("insert into marker (name) values (?)", name);
+    return dataSource;
+  }
+}
@@ -0,0 +1,107 @@
+package ru.effective_mobile.task_manager.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Проверяет маршрутизацию соединений на двух контейнерах PostgreSQL. Второй контейнер играет роль
+ * реплики: схема в нем создается теми же миграциями, а данные различаются, что позволяет видеть, из
+ * какой базы выполнено чтение. Требует Docker.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ReplicaRoutingIntegrationTest {
+
+  @Container static PostgreSQLContainer<?> primary = new PostgreSQLContainer<>("postgres:17");
+
+  @Container static PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:17");
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  @Autowired private ReplicaLagMonitor replicaLagMonitor;
+
+  @Autowired private MeterRegistry meterRegistry;
+
+  @DynamicPropertySource
+  static void properties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", primary::getJdbcUrl);
+    registry.add("spring.datasource.username", primary::getUsername);
+    registry.add("spring.datasource.password", primary::getPassword);
+    registry.add("app.datasource.replica.url", replica::getJdbcUrl);
+    registry.add("app.datasource.replica.username", replica::getUsername);
+    registry.add("app.datasource.replica.password", replica::getPassword);
+    registry.add("spring.flyway.enabled", () -> "true");
+    registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+    registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+  }
+
+  @BeforeAll
+  static void migrateReplica() {
+    Flyway.configure()
+        .dataSource(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword())
+        .load()
+        .migrate();
+    insertMarkerUser(
+        new JdbcTemplate(
+            new DriverManagerDataSource(
+                replica.getJdbcUrl(), replica.getUsername(), replica.getPassword())),
+        "replica@example.com");
+  }
+
+  @Test
+  @Order(1)
+  void testReadOnlyTransactionsAreRoutedToReplica() {
+    insertMarkerUser(jdbcTemplate, "primary@example.com");
+    replicaLagMonitor.checkLag();
+    assertThat(replicaLagMonitor.isAvailable()).isTrue();
+
+    assertThat(markerEmail(true)).isEqualTo("replica@example.com");
+    assertThat(markerEmail(false)).isEqualTo("primary@example.com");
+    assertThat(meterRegistry.get("hikaricp.connections").tag("pool", "replica").gauge())
+        .isNotNull();
+  }
+
+  @Test
+  @Order(2)
+  void testReadsFallBackToPrimaryWhenReplicaIsDown() {
+    replica.stop();
+    replicaLagMonitor.checkLag();
+
+    assertThat(replicaLagMonitor.isAvailable()).isFalse();
+    assertThat(markerEmail(true)).isEqualTo("primary@example.com");
+  }
+
+  private String markerEmail(boolean readOnly) {
+    TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+    transaction.setReadOnly(readOnly);
+    return transaction.execute(
+        status ->
+            jdbcTemplate.queryForObject("select email from users where id = -1", String.class));
+  }
+
+  private static void insertMarkerUser(JdbcTemplate jdbcTemplate, String email) {
+    jdbcTemplate.update(
+        "insert into users (id, email, password, role) values (-1, ?, 'p', 'USER')", email);
+  }
+}
@@ -0,0 +1,121 @@
+package ru.effective_mobile.task_manager.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.effective_mobile.task_manager.entities.Task;
+import ru.effective_mobile.task_manager.entities.User;
+import ru.effective_mobile.task_manager.repository.TaskRepository;
+import ru.effective_mobile.task_manager.repository.UserRepository;
+import ru.effective_mobile.task_manager.security.JwtRequestFilter;
+import ru.effective_mobile.task_manager.service.CachedUserDetailsService;
+
+/**
+ * Проверяет маршрутизацию соединений в пределах одного HTTP-запроса на двух базах H2. Реплика
+ * заполняется копией основной базы, после чего изменения видны только в той базе, где они
+ * выполнены. Запрос сначала читает в транзакции только для чтения (проверка доступа в
+ * {@code @PreAuthorize}), затем пишет: запись должна попасть в основную базу.
+ */
+@SpringBootTest(
+    properties = {
+      "spring.datasource.url=jdbc:h2:mem:request-routing-primary;DB_CLOSE_DELAY=-1",
+      "spring.datasource.username=sa",
+      "spring.datasource.password=",
+      "app.datasource.replica.url=" + ReplicaRoutingRequestTest.REPLICA_URL,
+      "spring.jpa.hibernate.ddl-auto=create-drop"
+    })
+@AutoConfigureMockMvc
+class ReplicaRoutingRequestTest {
+
+  static final String REPLICA_URL = "jdbc:h2:mem:request-routing-replica;DB_CLOSE_DELAY=-1";
+
+  @MockBean private ReplicaLagMonitor replicaLagMonitor;
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Autowired private UserRepository userRepository;
+
+  @Autowired private TaskRepository taskRepository;
+
+  @Autowired private CachedUserDetailsService userDetailsService;
+
+  @Autowired private JwtRequestFilter jwtRequestFilter;
+
+  private final JdbcTemplate replicaJdbcTemplate =
+      new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+  private Long taskId;
+
+  private String token;
+
+  @BeforeEach
+  void setUp() {
+    User assignee =
+        userRepository.save(
+            User.builder()
+                .email("routing-assignee@example.com")
+                .password("password")
+                .role(User.Role.USER)
+                .build());
+    Task task = new Task();
+    task.setTitle("Task Title");
+    task.setDescription("Task Description");
+    task.setStatus(Task.Status.PENDING);
+    task.setPriority(Task.Priority.HIGH);
+    task.setAuthor(assignee);
+    task.setAssignee(assignee);
+    task.setCreatedAt(LocalDateTime.now());
+    task.setUpdatedAt(LocalDateTime.now());
+    taskId = taskRepository.save(task).getId();
+    token =
+        jwtRequestFilter.generateToken(userDetailsService.loadUserByUsername(assignee.getEmail()));
+
+    replicaJdbcTemplate.execute("drop all objects");
+    for (String statement : jdbcTemplate.queryForList("script", String.class)) {
+      replicaJdbcTemplate.execute(statement);
+    }
+    when(replicaLagMonitor.isAvailable()).thenReturn(true);
+  }
+
+  @AfterEach
+  void tearDown() {
+    when(replicaLagMonitor.isAvailable()).thenReturn(false);
+    taskRepository.deleteAll();
+    userRepository.deleteAll();
+  }
+
+  @Test
+  void testWriteAfterReadOnlyCheckInSameRequestGoesToPrimary() throws Exception {
+    mockMvc
+        .perform(
+            patch("/api/tasks/{id}/status", taskId)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\":\"COMPLETED\"}"))
+        .andExpect(status().isOk());
+
+    assertThat(taskStatus(jdbcTemplate)).isEqualTo("COMPLETED");
+    assertThat(taskStatus(replicaJdbcTemplate)).isEqualTo("PENDING");
+  }
+
+  private String taskStatus(JdbcTemplate database) {
+    return database.queryForObject("select status from tasks where id = ?", String.class, taskId);
+  }
+}
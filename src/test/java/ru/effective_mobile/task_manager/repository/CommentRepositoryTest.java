@@ -4,14 +4,17 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import ru.effective_mobile.task_manager.dto.CommentResponse;
 import ru.effective_mobile.task_manager.entities.Comment;
 import ru.effective_mobile.task_manager.entities.Task;
 import ru.effective_mobile.task_manager.entities.User;
@@ -61,10 +64,94 @@ class CommentRepositoryTest {
     assertThat(foundComments.getContent().getFirst().getContent()).isEqualTo("Comment Content");
   }
 
+  @Test
+  void testFindWatermarkByTaskId() {
+    User author =
+        User.builder().email("author@email.com").password("password").role(User.Role.ADMIN).build();
+    userRepository.save(author);
+
+    LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+    Task task =
+        taskRepository.save(
+            Task.builder()
+                .title("Task Title")
+                .description("Task Description")
+                .status(Task.Status.PENDING)
+                .priority(Task.Priority.HIGH)
+                .author(author)
+                .createdAt(base)
+                .updatedAt(base)
+                .build());
+
+    assertThat(commentRepository.findWatermarkByTaskId(task.getId()))
+        .isEqualTo(new Watermark(0, 0, null));
+
+    long checksum = 0;
+    for (int i = 1; i <= 2; i++) {
+      checksum +=
+          commentRepository
+              .save(
+                  Comment.builder()
+                      .content("Comment " + i)
+                      .task(task)
+                      .author(author)
+                      .createdAt(base.plusMinutes(i))
+                      .build())
+              .getId();
+    }
+
+    assertThat(commentRepository.findWatermarkByTaskId(task.getId()))
+        .isEqualTo(new Watermark(2, checksum, base.plusMinutes(2)));
+  }
+
+  @Test
+  void testFindFeedByTaskIdPagesByCreatedAtAndId() {
+    User author =
+        User.builder().email("author@email.com").password("password").role(User.Role.ADMIN).build();
+    userRepository.save(author);
+
+    LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+    Task task =
+        Task.builder()
+            .title("Task Title")
+            .description("Task Description")
+            .status(Task.Status.PENDING)
+            .priority(Task.Priority.HIGH)
+            .author(author)
+            .createdAt(now)
+            .updatedAt(now)
+            .build();
+    taskRepository.save(task);
+
+    for (int i = 0; i < 3; i++) {
+      commentRepository.save(
+          Comment.builder()
+              .content("Comment " + i)
+              .task(task)
+              .author(author)
+              .createdAt(now.plusMinutes(i / 2))
+              .build());
+    }
+
+    List<CommentResponse> firstPage = commentRepository.findFeedByTaskId(task.getId(), Limit.of(2));
+    assertThat(firstPage)
+        .extracting(CommentResponse::getContent)
+        .containsExactly("Comment 0", "Comment 1");
+    assertThat(firstPage.getFirst().getTaskId()).isEqualTo(task.getId());
+    assertThat(firstPage.getFirst().getAuthorId()).isEqualTo(author.getId());
+
+    CommentResponse last = firstPage.getLast();
+    assertThat(
+            commentRepository.findFeedByTaskIdAfter(
+                task.getId(), last.getCreatedAt(), last.getId(), Limit.of(2)))
+        .extracting(CommentResponse::getContent)
+        .containsExactly("Comment 2");
+  }
+
   @Test
   void testValidationException() {
     Comment comment = Comment.builder().content("").createdAt(LocalDateTime.now()).build();
 
-    assertThatThrownBy(() -> commentRepository.save(comment)).isInstanceOf(Exception.class);
+    assertThatThrownBy(() -> commentRepository.saveAndFlush(comment)).isInstanceOf(Exception.class);
   }
 }
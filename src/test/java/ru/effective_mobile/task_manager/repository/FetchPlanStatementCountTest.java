@@ -0,0 +1,209 @@
+package ru.effective_mobile.task_manager.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import ru.effective_mobile.task_manager.dto.CommentResponse;
+import ru.effective_mobile.task_manager.entities.Comment;
+import ru.effective_mobile.task_manager.entities.Task;
+import ru.effective_mobile.task_manager.entities.User;
+
+/**
+ * Проверяет количество SQL-запросов в основных сценариях чтения. Связи сущностей ленивые, поэтому
+ * загрузка задачи или комментариев не должна тянуть за собой пользователей и задачи; рост числа
+ * запросов здесь означает регрессию плана выборки. Отдельно проверяется, что equals, hashCode и
+ * toString сущностей не обращаются к ленивым связям.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+class FetchPlanStatementCountTest {
+
+  @Autowired private TaskRepository taskRepository;
+
+  @Autowired private CommentRepository commentRepository;
+
+  @Autowired private UserRepository userRepository;
+
+  @Autowired private EntityManager entityManager;
+
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+
+  private User author;
+
+  private User assignee;
+
+  private List<Task> tasks;
+
+  @BeforeEach
+  void setUp() {
+    author =
+        userRepository.save(
+            User.builder()
+                .email("author@email.com")
+                .password("password")
+                .role(User.Role.ADMIN)
+                .build());
+    assignee =
+        userRepository.save(
+            User.builder()
+                .email("assignee@email.com")
+                .password("password")
+                .role(User.Role.USER)
+                .build());
+
+    tasks = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      Task task =
+          taskRepository.save(
+              Task.builder()
+                  .title("Task " + i)
+                  .description("Task Description")
+                  .status(Task.Status.PENDING)
+                  .priority(Task.Priority.HIGH)
+                  .author(author)
+                  .assignee(assignee)
+                  .createdAt(LocalDateTime.now())
+                  .updatedAt(LocalDateTime.now())
+                  .build());
+      tasks.add(task);
+      for (int j = 0; j < 3; j++) {
+        commentRepository.save(
+            Comment.builder()
+                .content("Comment " + j)
+                .task(task)
+                .author(assignee)
+                .createdAt(LocalDateTime.now())
+                .build());
+      }
+    }
+    entityManager.flush();
+    entityManager.clear();
+
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  @Test
+  void testFindTaskDoesNotLoadUsers() {
+    Task task = taskRepository.findById(tasks.getFirst().getId()).orElseThrow();
+
+    assertThat(task.getAuthor().getId()).isEqualTo(author.getId());
+    assertThat(task.getAssignee().getId()).isEqualTo(assignee.getId());
+    assertThat(Hibernate.isInitialized(task.getAuthor())).isFalse();
+    assertThat(Hibernate.isInitialized(task.getAssignee())).isFalse();
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+  }
+
+  @Test
+  void testFindTasksByIdsIsSingleStatement() {
+    List<Task> found = taskRepository.findAllById(tasks.stream().map(Task::getId).toList());
+
+    assertThat(found).hasSize(5);
+    found.forEach(task -> assertThat(task.getAuthor().getId()).isEqualTo(author.getId()));
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    assertThat(statistics.getEntityLoadCount()).isEqualTo(5);
+  }
+
+  @Test
+  void testFindCommentsDoesNotLoadTasksAndAuthors() {
+    List<Comment> comments =
+        commentRepository
+            .findByTaskId(tasks.getFirst().getId(), PageRequest.of(0, 10))
+            .getContent();
+
+    assertThat(comments).hasSize(3);
+    comments.forEach(
+        comment -> {
+          assertThat(comment.getTask().getId()).isEqualTo(tasks.getFirst().getId());
+          assertThat(comment.getAuthor().getId()).isEqualTo(assignee.getId());
+        });
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    assertThat(statistics.getEntityLoadCount()).isEqualTo(3);
+  }
+
+  @Test
+  void testCommentResponsesAreSingleStatementWithoutEntities() {
+    Slice<CommentResponse> comments =
+        commentRepository.findResponseSliceByTaskId(
+            tasks.getFirst().getId(), PageRequest.of(0, 10));
+
+    assertThat(comments.getContent())
+        .extracting(CommentResponse::getAuthorId)
+        .containsOnly(assignee.getId());
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    assertThat(statistics.getEntityLoadCount()).isZero();
+  }
+
+  @Test
+  void testHashCodeEqualsAndToStringDoNotLoadAssociations() {
+    Task task = taskRepository.findById(tasks.getFirst().getId()).orElseThrow();
+    User user = userRepository.findById(assignee.getId()).orElseThrow();
+    Comment comment =
+        commentRepository
+            .findByTaskId(tasks.getLast().getId(), PageRequest.of(0, 10))
+            .getContent()
+            .getFirst();
+    statistics.clear();
+
+    Set<Object> entities = new HashSet<>(List.of(task, user, comment));
+    assertThat(entities).contains(task, user, comment);
+    assertThat(task).isEqualTo(taskRepository.getReferenceById(task.getId()));
+    assertThat(task.toString()).contains("Task 0").doesNotContain("author@email.com");
+    assertThat(user.toString()).contains("assignee@email.com").doesNotContain("password");
+    assertThat(comment.toString()).contains("Comment");
+
+    assertThat(Hibernate.isInitialized(task.getComments())).isFalse();
+    assertThat(Hibernate.isInitialized(user.getAssignedTasks())).isFalse();
+    assertThat(Hibernate.isInitialized(comment.getTask())).isFalse();
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+  }
+
+  @Test
+  void testDeleteTasksIsSetBased() {
+    List<Long> ids = List.of(tasks.get(0).getId(), tasks.get(1).getId());
+
+    assertThat(taskRepository.findOwnersByIdIn(ids))
+        .containsExactlyInAnyOrder(
+            new TaskOwners(ids.get(0), author.getId(), assignee.getId()),
+            new TaskOwners(ids.get(1), author.getId(), assignee.getId()));
+    assertThat(taskRepository.deleteAllByIdIn(ids)).isEqualTo(2);
+
+    // Выборка владельцев и один DELETE; комментарии удаляются каскадно в базе данных
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    assertThat(statistics.getEntityLoadCount()).isZero();
+    assertThat(taskRepository.count()).isEqualTo(3);
+    assertThat(commentRepository.count()).isEqualTo(9);
+  }
+
+  @Test
+  void testDeleteUserCascadesInDatabase() {
+    userRepository.delete(userRepository.findById(assignee.getId()).orElseThrow());
+    entityManager.flush();
+
+    // Загрузка пользователя и один DELETE без обхода его задач и комментариев
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+    assertThat(taskRepository.count()).isZero();
+    assertThat(commentRepository.count()).isZero();
+  }
+}
@@ -0,0 +1,133 @@
+package ru.effective_mobile.task_manager.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Проверяет, что схема, созданная миграциями Flyway, совпадает с маппингом сущностей и что запросы
+ * репозиториев используют составные индексы. Требует Docker.
+ */
+@DataJpaTest
+@Testcontainers(disabledWithoutDocker = true)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(
+    properties = {
+      "spring.flyway.enabled=true",
+      "spring.jpa.hibernate.ddl-auto=validate",
+      "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect"
+    })
+class QueryPlanIndexTest {
+
+  @Container @ServiceConnection
+  static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17");
+
+  @Autowired private DataSource dataSource;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void setUp() {
+    if (jdbcTemplate.queryForObject("select count(*) from users", Long.class) > 0) {
+      return;
+    }
+    jdbcTemplate.update(
+        "insert into users (id, email, password, role)"
+            + " values (1, 'author@email.com', 'p', 'ADMIN')");
+    jdbcTemplate.update(
+        "insert into tasks (id, title, description, status, priority, author_id, assignee_id,"
+            + " created_at, updated_at)"
+            + " select i, 'Task ' || i, 'Description', 'PENDING', 'HIGH', 1, 1, now(), now()"
+            + " from generate_series(1, 1000) i");
+    jdbcTemplate.update(
+        "insert into comments (id, content, task_id, author_id, created_at)"
+            + " select i, 'Comment ' || i, 1 + i % 1000, 1, now() from generate_series(1, 1000) i");
+    jdbcTemplate.update(
+        "insert into refresh_tokens (id, token_hash, user_id, created_at, expires_at)"
+            + " select i, md5(i::text) || md5(i::text), 1, now(), now() + interval '1 day'"
+            + " from generate_series(1, 1000) i");
+    jdbcTemplate.execute("analyze");
+  }
+
+  @Test
+  void testTaskFeedByAssigneeUsesIndex() throws SQLException {
+    assertThat(
+            explain(
+                "select * from tasks where assignee_id = 1"
+                    + " and (updated_at, id) < (now(), 500)"
+                    + " order by updated_at desc, id desc limit 21"))
+        .contains("idx_tasks_assignee_updated");
+  }
+
+  @Test
+  void testTaskFeedByAuthorUsesIndex() throws SQLException {
+    assertThat(
+            explain(
+                "select * from tasks where author_id = 1"
+                    + " order by updated_at desc, id desc limit 21"))
+        .contains("idx_tasks_author_updated");
+  }
+
+  @Test
+  void testTaskFeedUsesIndex() throws SQLException {
+    assertThat(explain("select * from tasks order by updated_at desc, id desc limit 21"))
+        .contains("idx_tasks_updated");
+  }
+
+  @Test
+  void testCommentFeedUsesIndex() throws SQLException {
+    assertThat(
+            explain(
+                "select * from comments where task_id = 1" + " order by created_at, id limit 21"))
+        .contains("idx_comments_task_created");
+  }
+
+  @Test
+  void testFindRefreshTokenByHashUsesIndex() throws SQLException {
+    assertThat(explain("select * from refresh_tokens where token_hash = 'hash'"))
+        .contains("uk_refresh_tokens_hash");
+  }
+
+  @Test
+  void testPurgeExpiredRefreshTokensUsesIndex() throws SQLException {
+    assertThat(explain("delete from refresh_tokens where expires_at < now()"))
+        .contains("idx_refresh_tokens_expires");
+  }
+
+  /**
+   * Возвращает план запроса. Последовательное сканирование отключается, так как на небольшом объеме
+   * тестовых данных планировщик может предпочесть его индексу.
+   */
+  private String explain(String sql) throws SQLException {
+    try (Connection connection = dataSource.getConnection();
+        Statement statement = connection.createStatement()) {
+      statement.execute("set enable_seqscan = off");
+      StringBuilder plan = new StringBuilder();
+      try (ResultSet resultSet = statement.executeQuery("explain " + sql)) {
+        while (resultSet.next()) {
+          plan.append(resultSet.getString(1)).append('\n');
+        }
+      }
+      statement.execute("reset enable_seqscan");
+      return plan.toString();
+    }
+  }
+}
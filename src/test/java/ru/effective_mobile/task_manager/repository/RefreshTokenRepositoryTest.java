@@ -0,0 +1,75 @@
+package ru.effective_mobile.task_manager.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import ru.effective_mobile.task_manager.entities.RefreshToken;
+import ru.effective_mobile.task_manager.entities.User;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+class RefreshTokenRepositoryTest {
+
+  @Autowired private RefreshTokenRepository refreshTokenRepository;
+
+  @Autowired private UserRepository userRepository;
+
+  @Test
+  void testFindByTokenHash() {
+    User user = saveUser("email@email.com");
+    saveToken(user, "hash1", LocalDateTime.now().plusDays(1));
+    saveToken(user, "hash2", LocalDateTime.now().plusDays(1));
+
+    Optional<RefreshToken> found = refreshTokenRepository.findByTokenHash("hash2");
+    assertThat(found).isPresent();
+    assertThat(found.get().getUser().getEmail()).isEqualTo("email@email.com");
+    assertThat(refreshTokenRepository.findByTokenHash("unknown")).isEmpty();
+  }
+
+  @Test
+  void testDeleteByUserId() {
+    User user = saveUser("email@email.com");
+    User otherUser = saveUser("other@email.com");
+    saveToken(user, "hash1", LocalDateTime.now().plusDays(1));
+    saveToken(user, "hash2", LocalDateTime.now().plusDays(1));
+    saveToken(otherUser, "hash3", LocalDateTime.now().plusDays(1));
+
+    assertThat(refreshTokenRepository.deleteByUserId(user.getId())).isEqualTo(2);
+    assertThat(refreshTokenRepository.findAll())
+        .extracting(RefreshToken::getTokenHash)
+        .containsExactly("hash3");
+  }
+
+  @Test
+  void testDeleteExpired() {
+    User user = saveUser("email@email.com");
+    saveToken(user, "expired", LocalDateTime.now().minusMinutes(1));
+    saveToken(user, "active", LocalDateTime.now().plusDays(1));
+
+    assertThat(refreshTokenRepository.deleteExpired(LocalDateTime.now())).isEqualTo(1);
+    assertThat(refreshTokenRepository.findAll())
+        .extracting(RefreshToken::getTokenHash)
+        .containsExactly("active");
+  }
+
+  private User saveUser(String email) {
+    return userRepository.save(
+        User.builder().email(email).password("password").role(User.Role.USER).build());
+  }
+
+  private void saveToken(User user, String tokenHash, LocalDateTime expiresAt) {
+    refreshTokenRepository.saveAndFlush(
+        RefreshToken.builder()
+            .tokenHash(tokenHash)
+            .user(user)
+            .createdAt(LocalDateTime.now())
+            .expiresAt(expiresAt)
+            .build());
+  }
+}
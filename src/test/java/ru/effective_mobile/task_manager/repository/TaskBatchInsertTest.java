@@ -0,0 +1,63 @@
+package ru.effective_mobile.task_manager.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import ru.effective_mobile.task_manager.entities.Task;
+import ru.effective_mobile.task_manager.entities.User;
+
+@DataJpaTest(
+    properties = {
+      "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+      "spring.jpa.properties.hibernate.order_inserts=true",
+      "spring.jpa.properties.hibernate.generate_statistics=true"
+    })
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+class TaskBatchInsertTest {
+
+  @Autowired private TaskRepository taskRepository;
+
+  @Autowired private UserRepository userRepository;
+
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  @Test
+  void testSaveAllIsBatched() {
+    User author =
+        User.builder().email("author@email.com").password("password").role(User.Role.ADMIN).build();
+    userRepository.saveAndFlush(author);
+
+    List<Task> tasks = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      tasks.add(
+          Task.builder()
+              .title("Task " + i)
+              .description("Task Description")
+              .status(Task.Status.PENDING)
+              .priority(Task.Priority.HIGH)
+              .author(author)
+              .createdAt(LocalDateTime.now())
+              .updatedAt(LocalDateTime.now())
+              .build());
+    }
+
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    taskRepository.saveAllAndFlush(tasks);
+
+    assertThat(statistics.getEntityInsertCount()).isEqualTo(200);
+    // 4 пакета вставок по 50 строк и 4 обращения к последовательности
+    assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(10);
+  }
+}
@@ -2,16 +2,23 @@ package ru.effective_mobile.task_manager.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import ru.effective_mobile.task_manager.dto.TaskResponse;
 import ru.effective_mobile.task_manager.entities.Task;
 import ru.effective_mobile.task_manager.entities.User;
 
@@ -84,6 +91,258 @@ class TaskRepositoryTest {
     assertThat(foundTasks.getContent().getFirst().getTitle()).isEqualTo("Task Title");
   }
 
+  @Test
+  void testFindAssigneeByTaskId() {
+    User author =
+        User.builder().email("author@email.com").password("password").role(User.Role.ADMIN).build();
+    userRepository.save(author);
+
+    User assignee =
+        User.builder()
+            .email("assignee@email.com")
+            .password("password")
+            .role(User.Role.USER)
+            .build();
+    userRepository.save(assignee);
+
+    Task assigned =
+        Task.builder()
+            .title("Task Title")
+            .description("Task Description")
+            .status(Task.Status.PENDING)
+            .priority(Task.Priority.HIGH)
+            .author(author)
+            .assignee(assignee)
+            .createdAt(LocalDateTime.now())
+            .updatedAt(LocalDateTime.now())
+            .build();
+    taskRepository.save(assigned);
+
+    Task unassigned =
+        Task.builder()
+            .title("Task Title")
+            .description("Task Description")
+            .status(Task.Status.PENDING)
+            .priority(Task.Priority.HIGH)
+            .author(author)
+            .createdAt(LocalDateTime.now())
+            .updatedAt(LocalDateTime.now())
+            .build();
+    taskRepository.save(unassigned);
+
+    assertThat(taskRepository.findAssigneeByTaskId(assigned.getId()))
+        .contains(new TaskAssignee(assigned.getId(), assignee.getId(), "assignee@email.com"));
+    assertThat(taskRepository.findAssigneeByTaskId(unassigned.getId()))
+        .contains(new TaskAssignee(unassigned.getId(), null, null));
+    assertThat(taskRepository.findAssigneeByTaskId(-1L)).isEmpty();
+  }
+
+  @Test
+  void testFindResponsesSelectsForeignKeys() {
+    User author =
+        User.builder().email("author@email.com").password("password").role(User.Role.ADMIN).build();
+    userRepository.save(author);
+
+    User assignee =
+        User.builder()
+            .email("assignee@email.com")
+            .password("password")
+            .role(User.Role.USER)
+            .build();
+    userRepository.save(assignee);
+
+    Task assigned =
+        Task.builder()
+            .title("Assigned")
+            .description("Task Description")
+            .status(Task.Status.PENDING)
+            .priority(Task.Priority.HIGH)
+            .author(author)
+            .assignee(assignee)
+            .createdAt(LocalDateTime.now())
+            .updatedAt(LocalDateTime.now())
+            .build();
+    taskRepository.save(assigned);
+
+    Task unassigned =
+        Task.builder()
+            .title("Unassigned")
+            .description("Task Description")
+            .status(Task.Status.IN_PROGRESS)
+            .priority(Task.Priority.LOW)
+            .author(author)
+            .createdAt(LocalDateTime.now())
+            .updatedAt(LocalDateTime.now())
+            .build();
+    taskRepository.save(unassigned);
+
+    Slice<TaskResponse> all =
+        taskRepository.findResponseSlice(PageRequest.of(0, 1, Sort.by("title")));
+    assertThat(all.hasNext()).isTrue();
+    assertThat(taskRepository.findResponseSlice(PageRequest.of(0, 10, Sort.by("title"))))
+        .extracting(TaskResponse::getTitle, TaskResponse::getAuthorId, TaskResponse::getAssigneeId)
+        .containsExactly(
+            tuple("Assigned", author.getId(), assignee.getId()),
+            tuple("Unassigned", author.getId(), null));
+
+    assertThat(taskRepository.findResponseSliceByAuthorId(author.getId(), PageRequest.of(0, 10)))
+        .hasSize(2);
+    assertThat(
+            taskRepository.findResponseSliceByAssigneeId(assignee.getId(), PageRequest.of(0, 10)))
+        .extracting(TaskResponse::getId)
+        .containsExactly(assigned.getId());
+
+    assertThat(taskRepository.countByAuthorId(author.getId())).isEqualTo(2);
+    assertThat(taskRepository.countByAssigneeId(assignee.getId())).isEqualTo(1);
+  }
+
+  @Test
+  void testFindFeedPagesByUpdatedAtAndId() {
+    User author =
+        User.builder().email("author@email.com").password("password").role(User.Role.ADMIN).build();
+    userRepository.save(author);
+
+    LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+    Task oldest = taskRepository.save(feedTask(author, "Oldest", base));
+    Task tiedFirst = taskRepository.save(feedTask(author, "Tied 1", base.plusMinutes(1)));
+    Task tiedSecond = taskRepository.save(feedTask(author, "Tied 2", base.plusMinutes(1)));
+    Task newest = taskRepository.save(feedTask(author, "Newest", base.plusMinutes(2)));
+
+    List<TaskResponse> firstPage = taskRepository.findFeedByAuthorId(author.getId(), Limit.of(2));
+    assertThat(firstPage)
+        .extracting(TaskResponse::getId)
+        .containsExactly(newest.getId(), tiedSecond.getId());
+
+    TaskResponse last = firstPage.getLast();
+    List<TaskResponse> secondPage =
+        taskRepository.findFeedByAuthorIdAfter(
+            author.getId(), last.getUpdatedAt(), last.getId(), Limit.of(2));
+    assertThat(secondPage)
+        .extracting(TaskResponse::getId)
+        .containsExactly(tiedFirst.getId(), oldest.getId());
+
+    assertThat(taskRepository.findFeedAfter(base, oldest.getId(), Limit.of(2))).isEmpty();
+  }
+
+  @Test
+  void testStreamAllOrdersById() {
+    User author =
+        User.builder().email("author@email.com").password("password").role(User.Role.ADMIN).build();
+    userRepository.save(author);
+
+    LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+    Task first = taskRepository.save(feedTask(author, "First", base.plusMinutes(1)));
+    Task second = taskRepository.save(feedTask(author, "Second", base));
+
+    try (Stream<TaskResponse> tasks = taskRepository.streamAll()) {
+      assertThat(tasks)
+          .extracting(TaskResponse::getId, TaskResponse::getTitle, TaskResponse::getAuthorId)
+          .containsExactly(
+              tuple(first.getId(), "First", author.getId()),
+              tuple(second.getId(), "Second", author.getId()));
+    }
+  }
+
+  @Test
+  void testUpdateStatusIfVersionMatches() {
+    User author =
+        User.builder().email("author@email.com").password("password").role(User.Role.ADMIN).build();
+    userRepository.save(author);
+
+    LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+    Task task = taskRepository.saveAndFlush(feedTask(author, "Task", base));
+    long version = task.getVersion();
+
+    int stale =
+        taskRepository.updateStatusIfVersion(
+            task.getId(), version + 1, Task.Status.COMPLETED, base.plusHours(1));
+    int updated =
+        taskRepository.updateStatusIfVersion(
+            task.getId(), version, Task.Status.COMPLETED, base.plusHours(1));
+
+    assertThat(stale).isZero();
+    assertThat(updated).isEqualTo(1);
+    assertThat(taskRepository.findResponseById(task.getId()))
+        .get()
+        .extracting(TaskResponse::getStatus, TaskResponse::getUpdatedAt, TaskResponse::getVersion)
+        .containsExactly(Task.Status.COMPLETED, base.plusHours(1), version + 1);
+  }
+
+  @Test
+  void testFindWatermarkChangesWithTasks() {
+    User author =
+        User.builder().email("author@email.com").password("password").role(User.Role.ADMIN).build();
+    userRepository.save(author);
+
+    LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+    Task first = taskRepository.save(feedTask(author, "First", base));
+    Task second = taskRepository.save(feedTask(author, "Second", base.plusMinutes(1)));
+
+    assertThat(taskRepository.findWatermarkByAuthorId(author.getId()))
+        .isEqualTo(new Watermark(2, first.getId() + second.getId(), base.plusMinutes(1)));
+    assertThat(taskRepository.findWatermarkByAssigneeId(author.getId()))
+        .isEqualTo(new Watermark(0, 0, null));
+
+    taskRepository.delete(first);
+    taskRepository.flush();
+
+    assertThat(taskRepository.findWatermark())
+        .isEqualTo(new Watermark(1, second.getId(), base.plusMinutes(1)));
+  }
+
+  @Test
+  void testFindWatermarkChangesWhenUpdateKeepsLastModifiedAt() {
+    User author =
+        User.builder().email("author@email.com").password("password").role(User.Role.ADMIN).build();
+    userRepository.save(author);
+
+    LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+    Task task = taskRepository.saveAndFlush(feedTask(author, "Task", base));
+    taskRepository.saveAndFlush(feedTask(author, "Newest", base.plusMinutes(1)));
+    Watermark before = taskRepository.findWatermark();
+
+    // Изменение с временем старше максимума, как у транзакции, зафиксированной позже соседней
+    taskRepository.updateStatus(task.getId(), Task.Status.COMPLETED, base.plusSeconds(1));
+
+    Watermark after = taskRepository.findWatermark();
+    assertThat(after.count()).isEqualTo(before.count());
+    assertThat(after.lastModifiedAt()).isEqualTo(before.lastModifiedAt());
+    assertThat(after.checksum()).isEqualTo(before.checksum() + 1);
+  }
+
+  @Test
+  void testFindChangedAfterReturnsSettledChangesInOrder() {
+    User author =
+        User.builder().email("author@email.com").password("password").role(User.Role.ADMIN).build();
+    userRepository.save(author);
+
+    LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+    Task seen = taskRepository.save(feedTask(author, "Seen", base));
+    Task changed = taskRepository.save(feedTask(author, "Changed", base.plusMinutes(1)));
+    taskRepository.save(feedTask(author, "Unsettled", base.plusMinutes(5)));
+
+    assertThat(
+            taskRepository.findChangedAfter(base, seen.getId(), base.plusMinutes(5), Limit.of(10)))
+        .extracting(TaskResponse::getId)
+        .containsExactly(changed.getId());
+    assertThat(
+            taskRepository.findChangedByAssigneeIdAfter(
+                author.getId(), base.minusMinutes(1), 0L, base.plusHours(1), Limit.of(10)))
+        .isEmpty();
+  }
+
+  private Task feedTask(User author, String title, LocalDateTime updatedAt) {
+    return Task.builder()
+        .title(title)
+        .description("Task Description")
+        .status(Task.Status.PENDING)
+        .priority(Task.Priority.HIGH)
+        .author(author)
+        .createdAt(updatedAt)
+        .updatedAt(updatedAt)
+        .build();
+  }
+
   @Test
   void testValidationException() {
     Task task =
@@ -96,6 +355,6 @@ class TaskRepositoryTest {
             .updatedAt(LocalDateTime.now())
             .build();
 
-    assertThatThrownBy(() -> taskRepository.save(task)).isInstanceOf(Exception.class);
+    assertThatThrownBy(() -> taskRepository.saveAndFlush(task)).isInstanceOf(Exception.class);
   }
 }
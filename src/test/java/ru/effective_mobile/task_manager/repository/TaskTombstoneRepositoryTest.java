@@ -0,0 +1,65 @@
+package ru.effective_mobile.task_manager.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import ru.effective_mobile.task_manager.entities.TaskTombstone;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+class TaskTombstoneRepositoryTest {
+
+  @Autowired private TaskTombstoneRepository taskTombstoneRepository;
+
+  @Test
+  void testFindTombstonesAfterCursor() {
+    LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+    taskTombstoneRepository.save(tombstone(1L, 2L, TaskTombstone.Reason.DELETED, base));
+    taskTombstoneRepository.save(
+        tombstone(2L, 2L, TaskTombstone.Reason.REASSIGNED, base.plusMinutes(1)));
+    taskTombstoneRepository.save(
+        tombstone(3L, null, TaskTombstone.Reason.DELETED, base.plusMinutes(2)));
+    taskTombstoneRepository.save(
+        tombstone(4L, 2L, TaskTombstone.Reason.DELETED, base.plusMinutes(3)));
+
+    assertThat(
+            taskTombstoneRepository.findDeletedAfter(base, 1L, base.plusMinutes(3), Limit.of(10)))
+        .extracting(TaskTombstone::getTaskId)
+        .containsExactly(3L);
+    assertThat(
+            taskTombstoneRepository.findByAssigneeIdAfter(
+                2L, base.minusMinutes(1), 0L, base.plusHours(1), Limit.of(10)))
+        .extracting(TaskTombstone::getTaskId)
+        .containsExactly(1L, 2L, 4L);
+  }
+
+  @Test
+  void testDeleteOlderThan() {
+    LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+    taskTombstoneRepository.save(tombstone(1L, null, TaskTombstone.Reason.DELETED, base));
+    taskTombstoneRepository.save(
+        tombstone(2L, null, TaskTombstone.Reason.DELETED, base.plusDays(1)));
+    taskTombstoneRepository.flush();
+
+    assertThat(taskTombstoneRepository.deleteOlderThan(base.plusHours(1))).isEqualTo(1);
+    assertThat(taskTombstoneRepository.findAll())
+        .extracting(TaskTombstone::getTaskId)
+        .containsExactly(2L);
+  }
+
+  private TaskTombstone tombstone(
+      Long taskId, Long assigneeId, TaskTombstone.Reason reason, LocalDateTime removedAt) {
+    return TaskTombstone.builder()
+        .taskId(taskId)
+        .assigneeId(assigneeId)
+        .reason(reason)
+        .removedAt(removedAt)
+        .build();
+  }
+}
@@ -28,22 +28,4 @@ class UserRepositoryTest {
     assertThat(found.get().getId()).isGreaterThan(0);
     assertThat(found.get().getEmail()).isEqualTo("email@email.com");
   }
-
-  @Test
-  void testFindByRefreshToken() {
-    User user =
-        User.builder()
-            .email("email@email.com")
-            .password("password")
-            .refreshToken("refreshToken")
-            .role(User.Role.ADMIN)
-            .build();
-
-    userRepository.save(user);
-
-    Optional<User> found = userRepository.findByRefreshToken("refreshToken");
-    assertThat(found).isPresent();
-    assertThat(found.get().getId()).isGreaterThan(0);
-    assertThat(found.get().getEmail()).isEqualTo("email@email.com");
-  }
 }
@@ -0,0 +1,150 @@
+package ru.effective_mobile.task_manager.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import ru.effective_mobile.task_manager.exception.PasswordHashingRejectedException;
+
+class BoundedPasswordEncoderTest {
+
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  private BoundedPasswordEncoder encoder;
+
+  @AfterEach
+  void tearDown() {
+    release.countDown();
+    encoder.destroy();
+  }
+
+  @Test
+  void testEncodeAndMatches() {
+    encoder = new BoundedPasswordEncoder(4, 1, 1, Duration.ofSeconds(5));
+
+    String encoded = encoder.encode("password");
+
+    assertThat(encoded).startsWith("$2a$04$");
+    assertThat(encoder.matches("password", encoded)).isTrue();
+    assertThat(encoder.matches("wrongPassword", encoded)).isFalse();
+  }
+
+  @Test
+  void testUpgradeEncodingForWeakerHash() {
+    encoder = new BoundedPasswordEncoder(5, 1, 1, Duration.ofSeconds(5));
+
+    assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password"))).isTrue();
+    assertThat(encoder.upgradeEncoding(encoder.encode("password"))).isFalse();
+  }
+
+  @Test
+  void testRejectsWhenQueueIsFull() throws Exception {
+    encoder = new BoundedPasswordEncoder(4, 1, 1, Duration.ofSeconds(5));
+    BlockingPassword running = new BlockingPassword();
+
+    CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> encoder.encode(running));
+    assertThat(running.started.await(5, TimeUnit.SECONDS)).isTrue();
+    CompletableFuture<String> queued =
+        CompletableFuture.supplyAsync(() -> encoder.encode("password"));
+    waitUntilQueued();
+
+    assertThatThrownBy(() -> encoder.encode("password"))
+        .isInstanceOf(PasswordHashingRejectedException.class)
+        .hasMessage("Password hashing queue is full");
+
+    release.countDown();
+    assertThat(first.get(5, TimeUnit.SECONDS)).isNotBlank();
+    assertThat(queued.get(5, TimeUnit.SECONDS)).isNotBlank();
+  }
+
+  @Test
+  void testRejectsWhenHashingTimesOut() {
+    encoder = new BoundedPasswordEncoder(4, 1, 1, Duration.ofMillis(50));
+
+    assertThatThrownBy(() -> encoder.encode(new BlockingPassword()))
+        .isInstanceOf(PasswordHashingRejectedException.class)
+        .hasMessage("Password hashing timed out");
+  }
+
+  @Test
+  void testRejectsUnknownUserLoginWhenQueueIsFull() throws Exception {
+    encoder = new BoundedPasswordEncoder(4, 1, 1, Duration.ofSeconds(5));
+    DaoAuthenticationProvider provider = new DaoAuthenticationProvider(encoder);
+    provider.setUserDetailsService(
+        email -> {
+          throw new UsernameNotFoundException("User not found with email: " + email);
+        });
+    ProviderManager authenticationManager = new ProviderManager(provider);
+    UsernamePasswordAuthenticationToken unknownUser =
+        new UsernamePasswordAuthenticationToken("unknown@example.com", "password");
+    assertThatThrownBy(() -> authenticationManager.authenticate(unknownUser))
+        .isInstanceOf(BadCredentialsException.class);
+
+    BlockingPassword running = new BlockingPassword();
+    CompletableFuture.runAsync(() -> encoder.encode(running));
+    assertThat(running.started.await(5, TimeUnit.SECONDS)).isTrue();
+    CompletableFuture.runAsync(() -> encoder.encode("password"));
+    waitUntilQueued();
+
+    // В зависимости от места отказа исключение приходит как есть или обернутым в
+    // InternalAuthenticationServiceException
+    Throwable thrown = catchThrowable(() -> authenticationManager.authenticate(unknownUser));
+    assertThat(NestedExceptionUtils.getMostSpecificCause(thrown))
+        .isInstanceOf(PasswordHashingRejectedException.class)
+        .hasMessage("Password hashing queue is full");
+  }
+
+  private void waitUntilQueued() throws InterruptedException {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    encoder.bindTo(registry);
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (registry.get("executor.queued").gauge().value() < 1 && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+  }
+
+  /** Пароль, хэширование которого блокируется до завершения теста. */
+  private class BlockingPassword implements CharSequence {
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    @Override
+    public String toString() {
+      started.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return "password";
+    }
+
+    @Override
+    public int length() {
+      return toString().length();
+    }
+
+    @Override
+    public char charAt(int index) {
+      return toString().charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+      return toString().subSequence(start, end);
+    }
+  }
+}
@@ -0,0 +1,146 @@
+package ru.effective_mobile.task_manager.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.effective_mobile.task_manager.service.TokenVersionService;
+
+class JwtRequestFilterTest {
+
+  @Mock private UserDetailsService userDetailsService;
+
+  @Mock private TokenVersionService tokenVersionService;
+
+  @InjectMocks private JwtRequestFilter jwtRequestFilter;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    SecurityContextHolder.clearContext();
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void testValidTokenAuthenticatesRequest() throws Exception {
+    UserDetails userDetails =
+        new User("user@example.com", "password", AuthorityUtils.createAuthorityList("ROLE_USER"));
+    when(userDetailsService.loadUserByUsername("user@example.com")).thenReturn(userDetails);
+    String token = jwtRequestFilter.generateToken(userDetails);
+
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader("Authorization", "Bearer " + token);
+    jwtRequestFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+    assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+    assertThat(SecurityContextHolder.getContext().getAuthentication().getName())
+        .isEqualTo("user@example.com");
+    verify(userDetailsService, times(1)).loadUserByUsername("user@example.com");
+  }
+
+  @Test
+  void testStatelessTokenAuthenticatesWithoutUserLookup() throws Exception {
+    AuthenticatedUser user =
+        new AuthenticatedUser(
+            7L, "user@example.com", "password", AuthorityUtils.createAuthorityList("ROLE_USER"), 3);
+    when(tokenVersionService.isCurrent(7L, 3)).thenReturn(true);
+    String token = jwtRequestFilter.generateToken(user);
+
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader("Authorization", "Bearer " + token);
+    jwtRequestFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+    assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+    assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal())
+        .isInstanceOfSatisfying(
+            AuthenticatedUser.class,
+            principal -> {
+              assertThat(principal.getId()).isEqualTo(7L);
+              assertThat(principal.getUsername()).isEqualTo("user@example.com");
+            });
+    assertThat(SecurityContextHolder.getContext().getAuthentication().getAuthorities())
+        .extracting("authority")
+        .containsExactly("ROLE_USER");
+    verifyNoInteractions(userDetailsService);
+  }
+
+  @Test
+  void testRevokedStatelessTokenIsRejected() throws Exception {
+    AuthenticatedUser user =
+        new AuthenticatedUser(
+            7L, "user@example.com", "password", AuthorityUtils.createAuthorityList("ROLE_USER"), 3);
+    when(tokenVersionService.isCurrent(7L, 3)).thenReturn(false);
+    String token = jwtRequestFilter.generateToken(user);
+
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader("Authorization", "Bearer " + token);
+    jwtRequestFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+    assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+  }
+
+  @Test
+  void testStatefulModeRejectsTokenWithOutdatedVersion() throws Exception {
+    ReflectionTestUtils.setField(jwtRequestFilter, "stateless", false);
+    AuthenticatedUser issuedFor =
+        new AuthenticatedUser(
+            7L, "user@example.com", "password", AuthorityUtils.createAuthorityList("ROLE_USER"), 3);
+    AuthenticatedUser current =
+        new AuthenticatedUser(
+            7L, "user@example.com", "password", AuthorityUtils.createAuthorityList("ROLE_USER"), 4);
+    when(userDetailsService.loadUserByUsername("user@example.com")).thenReturn(current);
+    String token = jwtRequestFilter.generateToken(issuedFor);
+
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader("Authorization", "Bearer " + token);
+    jwtRequestFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+    assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    verifyNoInteractions(tokenVersionService);
+  }
+
+  @Test
+  void testTamperedTokenIsIgnored() throws Exception {
+    UserDetails userDetails =
+        new User("user@example.com", "password", AuthorityUtils.createAuthorityList("ROLE_USER"));
+    String token = jwtRequestFilter.generateToken(userDetails);
+
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader("Authorization", "Bearer " + token.substring(0, token.length() - 2) + "xx");
+    MockFilterChain chain = new MockFilterChain();
+    jwtRequestFilter.doFilter(request, new MockHttpServletResponse(), chain);
+
+    assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    assertThat(chain.getRequest()).isNotNull();
+    verify(userDetailsService, never()).loadUserByUsername(any());
+  }
+
+  @Test
+  void testRequestWithoutTokenPassesThrough() throws Exception {
+    MockFilterChain chain = new MockFilterChain();
+    jwtRequestFilter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), chain);
+
+    assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    assertThat(chain.getRequest()).isNotNull();
+    verifyNoInteractions(userDetailsService);
+  }
+}
@@ -0,0 +1,79 @@
+package ru.effective_mobile.task_manager.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import ru.effective_mobile.task_manager.exception.PasswordHashingRejectedException;
+
+class RehashingAuthenticationProviderTest {
+
+  @Mock private PasswordEncoder passwordEncoder;
+
+  @Mock private UserDetailsService userDetailsService;
+
+  @Mock private UserDetailsPasswordService userDetailsPasswordService;
+
+  private RehashingAuthenticationProvider provider;
+
+  private final UserDetails user =
+      User.withUsername("user@example.com").password("oldHash").roles("USER").build();
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    provider =
+        new RehashingAuthenticationProvider(
+            passwordEncoder, userDetailsService, userDetailsPasswordService);
+    when(userDetailsService.loadUserByUsername("user@example.com")).thenReturn(user);
+    when(passwordEncoder.matches("password", "oldHash")).thenReturn(true);
+    when(passwordEncoder.upgradeEncoding("oldHash")).thenReturn(true);
+  }
+
+  @Test
+  void testRehashesPasswordAfterSuccessfulLogin() {
+    when(passwordEncoder.encode("password")).thenReturn("newHash");
+
+    Authentication result = provider.authenticate(credentials());
+
+    assertThat(result.isAuthenticated()).isTrue();
+    verify(userDetailsPasswordService, times(1)).updatePassword(user, "newHash");
+  }
+
+  @Test
+  void testLoginSucceedsWhenRehashIsRejected() {
+    when(passwordEncoder.encode("password"))
+        .thenThrow(new PasswordHashingRejectedException("Password hashing queue is full"));
+
+    Authentication result = provider.authenticate(credentials());
+
+    assertThat(result.isAuthenticated()).isTrue();
+    verify(userDetailsPasswordService, never()).updatePassword(any(), any());
+  }
+
+  @Test
+  void testLoginFailsWhenPasswordCheckIsRejected() {
+    when(passwordEncoder.matches("password", "oldHash"))
+        .thenThrow(new PasswordHashingRejectedException("Password hashing queue is full"));
+
+    assertThatThrownBy(() -> provider.authenticate(credentials()))
+        .isInstanceOf(PasswordHashingRejectedException.class);
+    verify(passwordEncoder, never()).encode("password");
+  }
+
+  private UsernamePasswordAuthenticationToken credentials() {
+    return new UsernamePasswordAuthenticationToken("user@example.com", "password");
+  }
+}
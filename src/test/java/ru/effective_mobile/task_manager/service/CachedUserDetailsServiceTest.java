@@ -0,0 +1,68 @@
+package ru.effective_mobile.task_manager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+class CachedUserDetailsServiceTest {
+
+  @Mock private UserDetailsServiceImpl delegate;
+
+  private CachedUserDetailsService cachedUserDetailsService;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    cachedUserDetailsService = new CachedUserDetailsService(delegate, 100, Duration.ofMinutes(5));
+  }
+
+  @Test
+  void testLoadUserByUsernameIsCached() {
+    String email = "user@example.com";
+    UserDetails userDetails =
+        new User(email, "password", AuthorityUtils.createAuthorityList("ROLE_USER"));
+    when(delegate.loadUserByUsername(email)).thenReturn(userDetails);
+
+    assertThat(cachedUserDetailsService.loadUserByUsername(email)).isSameAs(userDetails);
+    assertThat(cachedUserDetailsService.loadUserByUsername(email)).isSameAs(userDetails);
+
+    verify(delegate, times(1)).loadUserByUsername(email);
+    assertThat(cachedUserDetailsService.getCache().hitCount()).isEqualTo(1);
+    assertThat(cachedUserDetailsService.getCache().missCount()).isEqualTo(1);
+  }
+
+  @Test
+  void testInvalidateForcesReload() {
+    String email = "user@example.com";
+    UserDetails userDetails =
+        new User(email, "password", AuthorityUtils.createAuthorityList("ROLE_USER"));
+    when(delegate.loadUserByUsername(email)).thenReturn(userDetails);
+
+    cachedUserDetailsService.loadUserByUsername(email);
+    cachedUserDetailsService.invalidate(email);
+    cachedUserDetailsService.loadUserByUsername(email);
+
+    verify(delegate, times(2)).loadUserByUsername(email);
+  }
+
+  @Test
+  void testUnknownUserIsNotCached() {
+    String email = "user@example.com";
+    when(delegate.loadUserByUsername(email))
+        .thenThrow(new UsernameNotFoundException("User not found with email: " + email));
+
+    assertThatThrownBy(() -> cachedUserDetailsService.loadUserByUsername(email))
+        .isInstanceOf(UsernameNotFoundException.class);
+    assertThat(cachedUserDetailsService.getCache().size()).isZero();
+  }
+}
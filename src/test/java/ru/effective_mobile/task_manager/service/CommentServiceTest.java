@@ -3,8 +3,11 @@ package ru.effective_mobile.task_manager.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.Optional;
@@ -13,15 +16,14 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import ru.effective_mobile.task_manager.cache.RequestEntityCache;
 import ru.effective_mobile.task_manager.dto.CommentRequest;
 import ru.effective_mobile.task_manager.dto.CommentResponse;
-import ru.effective_mobile.task_manager.entities.Comment;
-import ru.effective_mobile.task_manager.entities.Task;
-import ru.effective_mobile.task_manager.entities.User;
 import ru.effective_mobile.task_manager.repository.CommentRepository;
 import ru.effective_mobile.task_manager.repository.TaskRepository;
 import ru.effective_mobile.task_manager.repository.UserRepository;
@@ -34,6 +36,9 @@ class CommentServiceTest {
 
   @Mock private UserRepository userRepository;
 
+  @Spy
+  private RequestEntityCache requestEntityCache = new RequestEntityCache(new SimpleMeterRegistry());
+
   @InjectMocks private CommentService commentService;
 
   @BeforeEach
@@ -46,45 +51,20 @@ class CommentServiceTest {
     Long taskId = 1L;
     Pageable pageable = PageRequest.of(0, 10);
 
-    User author =
-        User.builder()
-            .id(1L)
-            .email("author@email.com")
-            .password("password")
-            .role(User.Role.ADMIN)
-            .build();
-
-    Task task =
-        Task.builder()
-            .id(1L)
-            .title("Task Title")
-            .description("Task Description")
-            .status(Task.Status.PENDING)
-            .priority(Task.Priority.HIGH)
-            .author(author)
-            .createdAt(LocalDateTime.now())
-            .updatedAt(LocalDateTime.now())
-            .build();
-
-    Comment comment =
-        Comment.builder()
-            .id(1L)
-            .content("Content")
-            .task(task)
-            .author(author)
-            .createdAt(LocalDateTime.now())
-            .build();
-
-    Page<Comment> commentPage = new PageImpl<>(Collections.singletonList(comment));
+    CommentResponse comment = new CommentResponse(1L, "Content", taskId, 1L, LocalDateTime.now());
 
-    when(commentRepository.findByTaskId(taskId, pageable)).thenReturn(commentPage);
+    when(commentRepository.findResponseSliceByTaskId(taskId, pageable))
+        .thenReturn(new SliceImpl<>(Collections.singletonList(comment), pageable, false));
 
     Page<CommentResponse> responsePage = commentService.getCommentsByTask(taskId, pageable);
 
     assertThat(responsePage).isNotEmpty();
+    assertThat(responsePage.getTotalElements()).isEqualTo(1);
     assertThat(responsePage.getContent().getFirst().getId()).isEqualTo(1L);
     assertThat(responsePage.getContent().getFirst().getContent()).isEqualTo("Content");
     assertThat(responsePage.getContent().getFirst().getTaskId()).isEqualTo(1L);
     assertThat(responsePage.getContent().getFirst().getAuthorId()).isEqualTo(1L);
+    // Неполная первая страница: общее количество известно без запроса count
+    verify(commentRepository, never()).countByTaskId(taskId);
   }
 }
@@ -3,18 +3,23 @@ package ru.effective_mobile.task_manager.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import ru.effective_mobile.task_manager.entities.RefreshToken;
 import ru.effective_mobile.task_manager.entities.User;
+import ru.effective_mobile.task_manager.exception.TokenRefreshException;
+import ru.effective_mobile.task_manager.repository.RefreshTokenRepository;
 import ru.effective_mobile.task_manager.repository.UserRepository;
 import ru.effective_mobile.task_manager.security.JwtRequestFilter;
 
@@ -22,15 +27,27 @@ class RefreshTokenServiceTest {
 
   @Mock private UserRepository userRepository;
 
+  @Mock private RefreshTokenRepository refreshTokenRepository;
+
   @Mock private JwtRequestFilter jwtRequestFilter;
 
-  @Mock private UserDetailsService userDetailsService;
+  @Mock private CachedUserDetailsService userDetailsService;
+
+  @Mock private TokenVersionService tokenVersionService;
 
-  @InjectMocks private RefreshTokenService refreshTokenService;
+  private RefreshTokenService refreshTokenService;
 
   @BeforeEach
   void setUp() {
     MockitoAnnotations.openMocks(this);
+    refreshTokenService =
+        new RefreshTokenService(
+            userRepository,
+            refreshTokenRepository,
+            jwtRequestFilter,
+            userDetailsService,
+            tokenVersionService,
+            Duration.ofDays(30));
   }
 
   @Test
@@ -39,13 +56,21 @@ class RefreshTokenServiceTest {
     User user = User.builder().email(email).password("password").role(User.Role.USER).build();
 
     when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
-    when(userRepository.save(any(User.class))).thenReturn(user);
 
     String refreshToken = refreshTokenService.createRefreshToken(email);
 
-    assertThat(refreshToken).isNotNull();
-    verify(userRepository, times(1)).save(any(User.class));
-    assertThat(user.getRefreshToken()).isEqualTo(refreshToken);
+    ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+    verify(refreshTokenRepository, times(1)).save(saved.capture());
+    verify(userRepository, never()).save(any());
+    assertThat(refreshToken).isNotBlank();
+    assertThat(saved.getValue().getTokenHash())
+        .isEqualTo(RefreshTokenService.hash(refreshToken))
+        .hasSize(64)
+        .isNotEqualTo(refreshToken);
+    assertThat(saved.getValue().getUser()).isSameAs(user);
+    assertThat(saved.getValue().getExpiresAt())
+        .isAfter(LocalDateTime.now().plusDays(29))
+        .isBefore(LocalDateTime.now().plusDays(31));
   }
 
   @Test
@@ -63,53 +88,118 @@ class RefreshTokenServiceTest {
   void testRefreshAccessToken() {
     String refreshToken = "refreshToken";
     String email = "user@example.com";
-    User user =
-        User.builder()
-            .email(email)
-            .password("password")
-            .role(User.Role.USER)
-            .refreshToken(refreshToken)
+    User user = User.builder().email(email).password("password").role(User.Role.USER).build();
+    RefreshToken storedToken =
+        RefreshToken.builder()
+            .tokenHash(RefreshTokenService.hash(refreshToken))
+            .user(user)
+            .createdAt(LocalDateTime.now())
+            .expiresAt(LocalDateTime.now().plusDays(1))
             .build();
 
     UserDetails userDetails = mock(UserDetails.class);
-    String newAccessToken = "newAccessToken";
 
-    when(userRepository.findByRefreshToken(refreshToken)).thenReturn(Optional.of(user));
+    when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash(refreshToken)))
+        .thenReturn(Optional.of(storedToken));
     when(userDetailsService.loadUserByUsername(email)).thenReturn(userDetails);
+    when(jwtRequestFilter.generateToken(userDetails)).thenReturn("newAccessToken");
 
     String accessToken = refreshTokenService.refreshAccessToken(refreshToken);
 
-    assertThat(accessToken).isNotEqualTo(newAccessToken);
+    assertThat(accessToken).isEqualTo("newAccessToken");
   }
 
   @Test
-  void testDeleteRefreshToken() {
-    String email = "user@example.com";
-    User user =
-        User.builder()
-            .email(email)
-            .password("password")
-            .role(User.Role.USER)
-            .refreshToken("refreshToken")
+  void testRefreshAccessTokenWithUnknownToken() {
+    when(refreshTokenRepository.findByTokenHash(any())).thenReturn(Optional.empty());
+
+    assertThatThrownBy(() -> refreshTokenService.refreshAccessToken("refreshToken"))
+        .isInstanceOf(TokenRefreshException.class)
+        .hasMessageContaining("Refresh token is not in database!");
+  }
+
+  @Test
+  void testRefreshAccessTokenWithExpiredToken() {
+    RefreshToken storedToken =
+        RefreshToken.builder()
+            .tokenHash(RefreshTokenService.hash("refreshToken"))
+            .user(User.builder().email("user@example.com").build())
+            .createdAt(LocalDateTime.now().minusDays(31))
+            .expiresAt(LocalDateTime.now().minusDays(1))
             .build();
 
-    when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
+    when(refreshTokenRepository.findByTokenHash(any())).thenReturn(Optional.of(storedToken));
+
+    assertThatThrownBy(() -> refreshTokenService.refreshAccessToken("refreshToken"))
+        .isInstanceOf(TokenRefreshException.class)
+        .hasMessageContaining("Refresh token was expired!");
+    verify(refreshTokenRepository, times(1)).delete(storedToken);
+    verify(jwtRequestFilter, never()).generateToken(any());
+  }
+
+  @Test
+  void testDeleteRefreshToken() {
+    storedTokenOwner();
+
+    refreshTokenService.deleteRefreshToken("refreshToken", false);
+
+    verify(refreshTokenRepository, times(1))
+        .delete(
+            argThat(
+                token -> token.getTokenHash().equals(RefreshTokenService.hash("refreshToken"))));
+    verify(refreshTokenRepository, never()).deleteByUserId(any());
+    verify(tokenVersionService, never()).revoke(any());
+    verify(userDetailsService, never()).invalidate(any());
+  }
+
+  @Test
+  void testDeleteRefreshTokenOnAllDevices() {
+    User user = storedTokenOwner();
     when(userRepository.save(any(User.class))).thenReturn(user);
 
-    refreshTokenService.deleteRefreshToken(email);
+    refreshTokenService.deleteRefreshToken("refreshToken", true);
 
-    verify(userRepository, times(1)).save(any(User.class));
-    assertThat(user.getRefreshToken()).isNull();
+    verify(refreshTokenRepository, times(1)).deleteByUserId(1L);
+    verify(tokenVersionService, times(1)).revoke(user);
+    verify(userRepository, times(1)).save(user);
+    verify(userDetailsService, times(1)).invalidate(user.getEmail());
   }
 
   @Test
-  void testDeleteRefreshTokenWithInvalidEmail() {
-    String email = "user@example.com";
+  void testDeleteRefreshTokenWithUnknownToken() {
+    when(refreshTokenRepository.findByTokenHash(any())).thenReturn(Optional.empty());
+
+    assertThatThrownBy(() -> refreshTokenService.deleteRefreshToken("refreshToken", true))
+        .isInstanceOf(TokenRefreshException.class)
+        .hasMessageContaining("Refresh token is not in database!");
+    verify(refreshTokenRepository, never()).deleteByUserId(any());
+    verify(tokenVersionService, never()).revoke(any());
+  }
 
-    when(userRepository.findByEmail(email)).thenReturn(Optional.empty());
+  @Test
+  void testPurgeExpiredTokens() {
+    refreshTokenService.purgeExpiredTokens();
 
-    assertThatThrownBy(() -> refreshTokenService.deleteRefreshToken(email))
-        .isInstanceOf(UsernameNotFoundException.class)
-        .hasMessage("User not found with email: " + email);
+    verify(refreshTokenRepository, times(1)).deleteExpired(any(LocalDateTime.class));
+  }
+
+  private User storedTokenOwner() {
+    User user =
+        User.builder()
+            .id(1L)
+            .email("user@example.com")
+            .password("password")
+            .role(User.Role.USER)
+            .build();
+    when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("refreshToken")))
+        .thenReturn(
+            Optional.of(
+                RefreshToken.builder()
+                    .tokenHash(RefreshTokenService.hash("refreshToken"))
+                    .user(user)
+                    .createdAt(LocalDateTime.now())
+                    .expiresAt(LocalDateTime.now().plusDays(1))
+                    .build()));
+    return user;
   }
 }
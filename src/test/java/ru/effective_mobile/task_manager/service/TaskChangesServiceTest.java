@@ -0,0 +1,162 @@
+package ru.effective_mobile.task_manager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import ru.effective_mobile.task_manager.dto.ChangesCursor;
+import ru.effective_mobile.task_manager.dto.CursorPage;
+import ru.effective_mobile.task_manager.dto.FeedCursor;
+import ru.effective_mobile.task_manager.dto.TaskChange;
+import ru.effective_mobile.task_manager.dto.TaskResponse;
+import ru.effective_mobile.task_manager.entities.Task;
+import ru.effective_mobile.task_manager.entities.TaskTombstone;
+import ru.effective_mobile.task_manager.exception.ChangesCursorExpiredException;
+import ru.effective_mobile.task_manager.repository.TaskRepository;
+import ru.effective_mobile.task_manager.repository.TaskTombstoneRepository;
+
+class TaskChangesServiceTest {
+
+  private final TaskRepository taskRepository = mock(TaskRepository.class);
+
+  private final TaskTombstoneRepository taskTombstoneRepository =
+      mock(TaskTombstoneRepository.class);
+
+  private final TaskChangesService taskChangesService =
+      new TaskChangesService(
+          taskRepository, taskTombstoneRepository, Duration.ofSeconds(10), Duration.ofDays(30));
+
+  @Test
+  void testChangesMergeTasksAndTombstonesInOrder() {
+    LocalDateTime base = LocalDateTime.now().minusHours(1);
+    ChangesCursor since = new ChangesCursor(new FeedCursor(base, 5L), base);
+
+    when(taskRepository.findChangedAfter(eq(base), eq(5L), any(), eq(Limit.of(3))))
+        .thenReturn(List.of(task(7L, base.plusMinutes(1)), task(2L, base.plusMinutes(3))));
+    when(taskTombstoneRepository.findDeletedAfter(eq(base), eq(5L), any(), eq(Limit.of(3))))
+        .thenReturn(List.of(tombstone(9L, base.plusMinutes(2))));
+
+    CursorPage<TaskChange> page = taskChangesService.getChanges(since.encode(), 2);
+
+    assertThat(page.getContent())
+        .extracting(TaskChange::getTaskId, TaskChange::getType)
+        .containsExactly(tuple(7L, TaskChange.Type.UPDATED), tuple(9L, TaskChange.Type.DELETED));
+    assertThat(page.isHasNext()).isTrue();
+    assertThat(ChangesCursor.decode(page.getNextCursor()).position())
+        .isEqualTo(new FeedCursor(base.plusMinutes(2), 9L));
+  }
+
+  @Test
+  void testFullSyncPagesThroughTasksOlderThanTtl() {
+    LocalDateTime old = LocalDateTime.now().minusDays(60);
+    when(taskRepository.findChangedAfter(any(), any(), any(), any()))
+        .thenReturn(List.of(task(1L, old), task(2L, old.plusMinutes(1))));
+
+    CursorPage<TaskChange> first = taskChangesService.getChanges(null, 1);
+
+    assertThat(first.isHasNext()).isTrue();
+    assertThat(ChangesCursor.decode(first.getNextCursor()).position())
+        .isEqualTo(new FeedCursor(old, 1L));
+
+    when(taskRepository.findChangedAfter(eq(old), eq(1L), any(), any()))
+        .thenReturn(List.of(task(2L, old.plusMinutes(1))));
+
+    CursorPage<TaskChange> second = taskChangesService.getChanges(first.getNextCursor(), 1);
+
+    assertThat(second.getContent()).extracting(TaskChange::getTaskId).containsExactly(2L);
+    assertThat(second.isHasNext()).isFalse();
+  }
+
+  @Test
+  void testLegacyCursorExpiresByChangeTime() {
+    String fresh = new FeedCursor(LocalDateTime.now().minusDays(1), 5L).encode();
+    String stale = new FeedCursor(LocalDateTime.now().minusDays(31), 5L).encode();
+
+    assertThat(taskChangesService.getChanges(fresh, 20).getContent()).isEmpty();
+    assertThatThrownBy(() -> taskChangesService.getChanges(stale, 20))
+        .isInstanceOf(ChangesCursorExpiredException.class);
+  }
+
+  @Test
+  void testChangesAdvanceCursorWhenNothingChanged() {
+    LocalDateTime before = LocalDateTime.now();
+
+    CursorPage<TaskChange> page = taskChangesService.getChangesByAssignee(2L, null, 20);
+
+    assertThat(page.getContent()).isEmpty();
+    assertThat(page.isHasNext()).isFalse();
+    FeedCursor next = ChangesCursor.decode(page.getNextCursor()).position();
+    assertThat(next.id()).isZero();
+    assertThat(next.timestamp()).isAfterOrEqualTo(before.minusSeconds(10));
+  }
+
+  @Test
+  void testQuietFeedCursorOutlivesTombstoneTtl() {
+    TaskChangesService shortTtlService =
+        new TaskChangesService(
+            taskRepository, taskTombstoneRepository, Duration.ofSeconds(10), Duration.ofDays(1));
+    LocalDateTime lastPoll = LocalDateTime.now().minusHours(23);
+    String lastChange = new ChangesCursor(new FeedCursor(lastPoll, 5L), lastPoll).encode();
+
+    // Клиент без изменений опрашивает ленту, пока его последнее изменение не станет старше срока
+    // хранения отметок: полученный курсор остается действительным
+    String next = shortTtlService.getChangesByAssignee(2L, lastChange, 20).getNextCursor();
+    LocalDateTime expiredPoll = LocalDateTime.now().minusHours(25);
+    String expired = new ChangesCursor(new FeedCursor(expiredPoll, 5L), expiredPoll).encode();
+
+    assertThat(shortTtlService.getChangesByAssignee(2L, next, 20).getContent()).isEmpty();
+    assertThatThrownBy(() -> shortTtlService.getChangesByAssignee(2L, expired, 20))
+        .isInstanceOf(ChangesCursorExpiredException.class);
+  }
+
+  @Test
+  void testChangesSkipUnsettledWrites() {
+    LocalDateTime before = LocalDateTime.now();
+
+    taskChangesService.getChanges(null, 20);
+
+    verify(taskRepository)
+        .findChangedAfter(
+            any(), any(), argThat(until -> !until.isAfter(before.minusSeconds(9))), any());
+  }
+
+  @Test
+  void testExpiredCursorRequiresFullResync() {
+    String since =
+        new ChangesCursor(
+                new FeedCursor(LocalDateTime.now(), 5L), LocalDateTime.now().minusDays(31))
+            .encode();
+
+    assertThatThrownBy(() -> taskChangesService.getChanges(since, 20))
+        .isInstanceOf(ChangesCursorExpiredException.class);
+    verify(taskRepository, never()).findChangedAfter(any(), any(), any(), any());
+  }
+
+  private TaskResponse task(Long id, LocalDateTime updatedAt) {
+    TaskResponse task = new TaskResponse();
+    task.setId(id);
+    task.setStatus(Task.Status.PENDING);
+    task.setUpdatedAt(updatedAt);
+    return task;
+  }
+
+  private TaskTombstone tombstone(Long taskId, LocalDateTime removedAt) {
+    return TaskTombstone.builder()
+        .taskId(taskId)
+        .reason(TaskTombstone.Reason.DELETED)
+        .removedAt(removedAt)
+        .build();
+  }
+}
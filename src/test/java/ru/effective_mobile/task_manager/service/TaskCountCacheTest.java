@@ -0,0 +1,73 @@
+package ru.effective_mobile.task_manager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import ru.effective_mobile.task_manager.repository.TaskRepository;
+
+class TaskCountCacheTest {
+
+  @Mock private TaskRepository taskRepository;
+
+  private TaskCountCache taskCountCache;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    taskCountCache = new TaskCountCache(taskRepository, 100, Duration.ofMinutes(10));
+  }
+
+  @Test
+  void testCountsAreLoadedOnceAndMaintainedIncrementally() {
+    when(taskRepository.count()).thenReturn(10L);
+    when(taskRepository.countByAuthorId(1L)).thenReturn(4L);
+    when(taskRepository.countByAssigneeId(2L)).thenReturn(3L);
+
+    assertThat(taskCountCache.countAll()).isEqualTo(10);
+    assertThat(taskCountCache.countByAuthor(1L)).isEqualTo(4);
+    assertThat(taskCountCache.countByAssignee(2L)).isEqualTo(3);
+
+    taskCountCache.onCreated(1L, 2L);
+    taskCountCache.onCreated(1L, null);
+    taskCountCache.onDeleted(1L, 2L);
+    taskCountCache.onAssigneeChanged(null, 2L);
+
+    assertThat(taskCountCache.countAll()).isEqualTo(11);
+    assertThat(taskCountCache.countByAuthor(1L)).isEqualTo(5);
+    assertThat(taskCountCache.countByAssignee(2L)).isEqualTo(4);
+    verify(taskRepository, times(1)).count();
+    verify(taskRepository, times(1)).countByAuthorId(1L);
+    verify(taskRepository, times(1)).countByAssigneeId(2L);
+  }
+
+  @Test
+  void testChangesToUncachedCountsAreIgnored() {
+    taskCountCache.onCreated(1L, 2L);
+    taskCountCache.onAuthorChanged(1L, 3L);
+
+    when(taskRepository.countByAuthorId(3L)).thenReturn(7L);
+
+    assertThat(taskCountCache.countByAuthor(3L)).isEqualTo(7);
+  }
+
+  @Test
+  void testWritesDoNotAffectHitRatio() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    taskCountCache.bindTo(registry);
+    when(taskRepository.count()).thenReturn(10L);
+    taskCountCache.countAll();
+
+    taskCountCache.onCreated(1L, 2L);
+    taskCountCache.onDeleted(1L, 2L);
+
+    assertThat(registry.get("cache.gets").tag("result", "hit").functionCounter().count()).isZero();
+    assertThat(registry.get("cache.gets").tag("result", "miss").functionCounter().count())
+        .isEqualTo(1);
+  }
+}
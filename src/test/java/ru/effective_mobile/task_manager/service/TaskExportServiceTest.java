@@ -0,0 +1,87 @@
+package ru.effective_mobile.task_manager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import ru.effective_mobile.task_manager.dto.TaskResponse;
+import ru.effective_mobile.task_manager.entities.Task;
+import ru.effective_mobile.task_manager.repository.TaskRepository;
+
+class TaskExportServiceTest {
+
+  @Mock private TaskRepository taskRepository;
+
+  @Spy private ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+  @InjectMocks private TaskExportService taskExportService;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+  }
+
+  @Test
+  void testExportTasksWritesOneTaskPerLine() throws Exception {
+    LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+    AtomicBoolean closed = new AtomicBoolean();
+    when(taskRepository.streamAll())
+        .thenReturn(
+            Stream.of(
+                    new TaskResponse(
+                        1L,
+                        "First",
+                        "Description",
+                        Task.Status.PENDING,
+                        Task.Priority.HIGH,
+                        1L,
+                        null,
+                        now,
+                        now,
+                        0L),
+                    new TaskResponse(
+                        2L,
+                        "Second",
+                        "Description",
+                        Task.Status.COMPLETED,
+                        Task.Priority.LOW,
+                        1L,
+                        2L,
+                        now,
+                        now,
+                        0L))
+                .onClose(() -> closed.set(true)));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    long exported = taskExportService.exportTasks(out);
+
+    assertThat(exported).isEqualTo(2);
+    assertThat(closed).isTrue();
+    String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+    assertThat(lines).hasSize(2);
+    assertThat(objectMapper.readValue(lines[0], TaskResponse.class).getTitle()).isEqualTo("First");
+    assertThat(objectMapper.readValue(lines[1], TaskResponse.class).getAssigneeId()).isEqualTo(2L);
+  }
+
+  @Test
+  void testExportTasksWithNoTasks() throws Exception {
+    when(taskRepository.streamAll()).thenReturn(Stream.empty());
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    assertThat(taskExportService.exportTasks(out)).isZero();
+    assertThat(out.size()).isZero();
+  }
+}
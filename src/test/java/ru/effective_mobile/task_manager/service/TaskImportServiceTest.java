@@ -0,0 +1,147 @@
+package ru.effective_mobile.task_manager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import jakarta.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import ru.effective_mobile.task_manager.dto.TaskBatchResult;
+import ru.effective_mobile.task_manager.dto.TaskImportError;
+import ru.effective_mobile.task_manager.dto.TaskImportResult;
+import ru.effective_mobile.task_manager.dto.TaskRequest;
+
+class TaskImportServiceTest {
+
+  @Mock private TaskService taskService;
+
+  @Mock private EntityManager entityManager;
+
+  private TaskImportService taskImportService;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    taskImportService =
+        new TaskImportService(
+            taskService,
+            JsonMapper.builder().findAndAddModules().build(),
+            entityManager,
+            2,
+            10,
+            64);
+  }
+
+  @Test
+  void testImportTasksInChunks() throws Exception {
+    when(taskService.createTasksBatch(anyList()))
+        .thenAnswer(
+            invocation -> {
+              List<TaskRequest> chunk = invocation.getArgument(0);
+              List<TaskBatchResult> results = new ArrayList<>();
+              for (int i = 0; i < chunk.size(); i++) {
+                results.add(
+                    chunk.get(i).getAuthorId() == null
+                        ? TaskBatchResult.failure(i, List.of("Author ID is mandatory"))
+                        : TaskBatchResult.success(i, null));
+              }
+              return results;
+            });
+
+    TaskImportResult result =
+        taskImportService.importTasks(
+            ndjson(
+                "{\"title\":\"First\",\"authorId\":1}",
+                "",
+                "{\"title\":\"Second\",\"authorId\":1}",
+                "{not json",
+                "{\"title\":\"Third\"}"));
+
+    ArgumentCaptor<List<TaskRequest>> chunks = ArgumentCaptor.captor();
+    verify(taskService, times(2)).createTasksBatch(chunks.capture());
+    assertThat(chunks.getAllValues()).extracting(List::size).containsExactly(2, 1);
+    verify(entityManager, times(2)).clear();
+
+    assertThat(result.getImported()).isEqualTo(2);
+    assertThat(result.getFailed()).isEqualTo(2);
+    assertThat(result.getErrors()).extracting(TaskImportError::getLine).containsExactly(4L, 5L);
+    assertThat(result.getErrors().get(0).getErrors().getFirst()).startsWith("Malformed JSON");
+    assertThat(result.getErrors().get(1).getErrors()).containsExactly("Author ID is mandatory");
+    assertThat(result.isErrorsTruncated()).isFalse();
+  }
+
+  @Test
+  void testImportTasksRetriesRejectedChunkRowByRow() throws Exception {
+    when(taskService.createTasksBatch(anyList()))
+        .thenAnswer(
+            invocation -> {
+              List<TaskRequest> chunk = invocation.getArgument(0);
+              if (chunk.stream().anyMatch(task -> task.getTitle().equals("Second"))) {
+                throw new DataIntegrityViolationException("constraint violation");
+              }
+              return List.of(TaskBatchResult.success(0, null));
+            });
+
+    TaskImportResult result =
+        taskImportService.importTasks(
+            ndjson(
+                "{\"title\":\"First\",\"authorId\":1}", "{\"title\":\"Second\",\"authorId\":1}"));
+
+    verify(taskService, times(3)).createTasksBatch(anyList());
+    assertThat(result.getImported()).isEqualTo(1);
+    assertThat(result.getFailed()).isEqualTo(1);
+    assertThat(result.getErrors())
+        .extracting(TaskImportError::getLine, TaskImportError::getErrors)
+        .containsExactly(tuple(2L, List.of("Rejected by database")));
+  }
+
+  @Test
+  void testImportTasksTruncatesErrors() throws Exception {
+    String[] lines = new String[12];
+    Arrays.fill(lines, "{");
+
+    TaskImportResult result = taskImportService.importTasks(ndjson(lines));
+
+    assertThat(result.getFailed()).isEqualTo(12);
+    assertThat(result.getErrors()).hasSize(10);
+    assertThat(result.isErrorsTruncated()).isTrue();
+  }
+
+  @Test
+  void testImportTasksSkipsTooLongLine() throws Exception {
+    when(taskService.createTasksBatch(anyList()))
+        .thenReturn(List.of(TaskBatchResult.success(0, null)));
+
+    TaskImportResult result =
+        taskImportService.importTasks(
+            ndjson(
+                "{\"title\":\"" + "x".repeat(10_000) + "\",\"authorId\":1}",
+                "{\"title\":\"Second\",\"authorId\":1}"));
+
+    ArgumentCaptor<List<TaskRequest>> chunks = ArgumentCaptor.captor();
+    verify(taskService, times(1)).createTasksBatch(chunks.capture());
+    assertThat(chunks.getValue()).extracting(TaskRequest::getTitle).containsExactly("Second");
+    assertThat(result.getImported()).isEqualTo(1);
+    assertThat(result.getErrors())
+        .extracting(TaskImportError::getLine, TaskImportError::getErrors)
+        .containsExactly(tuple(1L, List.of("Line exceeds 64 characters")));
+  }
+
+  private ByteArrayInputStream ndjson(String... lines) {
+    return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+  }
+}
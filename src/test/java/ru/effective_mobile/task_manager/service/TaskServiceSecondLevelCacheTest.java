@@ -0,0 +1,181 @@
+package ru.effective_mobile.task_manager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.RequestContextHolder;
+import ru.effective_mobile.task_manager.dto.PartialUpdateTaskRequest;
+import ru.effective_mobile.task_manager.dto.TaskRequest;
+import ru.effective_mobile.task_manager.dto.TaskResponse;
+import ru.effective_mobile.task_manager.dto.UpdateTaskStatusRequest;
+import ru.effective_mobile.task_manager.entities.Task;
+import ru.effective_mobile.task_manager.entities.User;
+import ru.effective_mobile.task_manager.repository.UserRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskServiceSecondLevelCacheTest {
+
+  @Autowired private TaskService taskService;
+
+  @Autowired private UserRepository userRepository;
+
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  private Cache cache;
+
+  private Statistics statistics;
+
+  private User author;
+
+  @BeforeEach
+  void setUp() {
+    // Убираем mock-запрос, созданный тестовым контекстом: без него RequestEntityCache не
+    // кэширует сущности, и каждое чтение доходит до Hibernate
+    RequestContextHolder.resetRequestAttributes();
+    SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    cache = sessionFactory.getCache();
+    statistics = sessionFactory.getStatistics();
+    author =
+        userRepository
+            .findByEmail("cache-author@example.com")
+            .orElseGet(
+                () ->
+                    userRepository.save(
+                        User.builder()
+                            .email("cache-author@example.com")
+                            .password("password")
+                            .role(User.Role.ADMIN)
+                            .build()));
+  }
+
+  @Test
+  void testGetTaskByIdIsServedFromCache() {
+    Long id = createTask();
+    cache.evictAllRegions();
+    statistics.clear();
+
+    taskService.getTaskById(id);
+    taskService.getTaskById(id);
+
+    assertThat(taskRegion().getMissCount()).isEqualTo(1);
+    assertThat(taskRegion().getHitCount()).isEqualTo(1);
+  }
+
+  @Test
+  void testFullUpdateTaskRefreshesCachedTask() {
+    Long id = createTask();
+    taskService.getTaskById(id);
+    assertThat(cache.containsEntity(Task.class, id)).isTrue();
+
+    taskService.fullUpdateTask(
+        id,
+        TaskRequest.builder()
+            .title("Updated Title")
+            .description("Updated Description")
+            .status(Task.Status.IN_PROGRESS)
+            .priority(Task.Priority.LOW)
+            .authorId(author.getId())
+            .build());
+    statistics.clear();
+
+    TaskResponse task = taskService.getTaskById(id);
+    assertThat(task.getTitle()).isEqualTo("Updated Title");
+    assertThat(task.getStatus()).isEqualTo(Task.Status.IN_PROGRESS);
+    assertThat(taskRegion().getHitCount()).isEqualTo(1);
+    assertThat(taskRegion().getMissCount()).isZero();
+  }
+
+  @Test
+  void testPartialUpdateTaskRefreshesCachedTask() {
+    Long id = createTask();
+    taskService.getTaskById(id);
+
+    taskService.partialUpdateTask(
+        id, PartialUpdateTaskRequest.builder().status(Task.Status.COMPLETED).build());
+    statistics.clear();
+
+    TaskResponse task = taskService.getTaskById(id);
+    assertThat(task.getStatus()).isEqualTo(Task.Status.COMPLETED);
+    assertThat(task.getTitle()).isEqualTo("Task Title");
+    assertThat(taskRegion().getHitCount()).isEqualTo(1);
+  }
+
+  @Test
+  void testUpdateTaskStatusEvictsOnlyThatTask() {
+    Long id = createTask();
+    Long otherId = createTask();
+    taskService.getTaskById(id);
+    taskService.getTaskById(otherId);
+
+    taskService.updateTaskStatus(
+        id, UpdateTaskStatusRequest.builder().status(Task.Status.COMPLETED).build(), 0L);
+
+    assertThat(cache.containsEntity(Task.class, id)).isFalse();
+    assertThat(cache.containsEntity(Task.class, otherId)).isTrue();
+    assertThat(taskService.getTaskById(id).getStatus()).isEqualTo(Task.Status.COMPLETED);
+    assertThat(taskService.getTaskById(id).getVersion()).isEqualTo(1L);
+  }
+
+  @Test
+  void testDeleteTaskEvictsCachedTask() {
+    Long id = createTask();
+    Long otherId = createTask();
+    taskService.getTaskById(id);
+    taskService.getTaskById(otherId);
+    assertThat(cache.containsEntity(Task.class, id)).isTrue();
+
+    taskService.deleteTask(id);
+    assertThat(cache.containsEntity(Task.class, otherId)).isTrue();
+    statistics.clear();
+
+    assertThatThrownBy(() -> taskService.getTaskById(id))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Task not found");
+    assertThat(taskRegion().getHitCount()).isZero();
+  }
+
+  @Test
+  void testFindByEmailUsesQueryCache() {
+    userRepository.findByEmail("cache-author@example.com");
+    statistics.clear();
+
+    userRepository.findByEmail("cache-author@example.com");
+
+    assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    assertThat(
+            statistics
+                .getCacheRegionStatistics(
+                    RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME)
+                .getHitCount())
+        .isEqualTo(1);
+  }
+
+  private Long createTask() {
+    return taskService
+        .createTask(
+            TaskRequest.builder()
+                .title("Task Title")
+                .description("Task Description")
+                .status(Task.Status.PENDING)
+                .priority(Task.Priority.HIGH)
+                .authorId(author.getId())
+                .build())
+        .getId();
+  }
+
+  private CacheRegionStatistics taskRegion() {
+    return statistics.getCacheRegionStatistics(Task.class.getName());
+  }
+}
@@ -2,28 +2,54 @@ package ru.effective_mobile.task_manager.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import ru.effective_mobile.task_manager.cache.RequestEntityCache;
+import ru.effective_mobile.task_manager.dto.CursorPage;
+import ru.effective_mobile.task_manager.dto.FeedCursor;
 import ru.effective_mobile.task_manager.dto.PartialUpdateTaskRequest;
+import ru.effective_mobile.task_manager.dto.TaskBatchResult;
+import ru.effective_mobile.task_manager.dto.TaskBatchUpdateRequest;
 import ru.effective_mobile.task_manager.dto.TaskRequest;
 import ru.effective_mobile.task_manager.dto.TaskResponse;
 import ru.effective_mobile.task_manager.dto.UpdateTaskStatusRequest;
 import ru.effective_mobile.task_manager.entities.Task;
+import ru.effective_mobile.task_manager.entities.TaskTombstone;
 import ru.effective_mobile.task_manager.entities.User;
+import ru.effective_mobile.task_manager.repository.TaskAssignee;
+import ru.effective_mobile.task_manager.repository.TaskOwners;
 import ru.effective_mobile.task_manager.repository.TaskRepository;
+import ru.effective_mobile.task_manager.repository.TaskTombstoneRepository;
 import ru.effective_mobile.task_manager.repository.UserRepository;
 
 class TaskServiceTest {
@@ -32,6 +58,17 @@ class TaskServiceTest {
 
   @Mock private UserRepository userRepository;
 
+  @Mock private TaskTombstoneRepository taskTombstoneRepository;
+
+  @Mock private TaskAssigneeCache taskAssigneeCache;
+
+  @Mock private TaskCountCache taskCountCache;
+
+  @Spy
+  private RequestEntityCache requestEntityCache = new RequestEntityCache(new SimpleMeterRegistry());
+
+  @Spy private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
   @InjectMocks private TaskService taskService;
 
   @BeforeEach
@@ -39,6 +76,11 @@ class TaskServiceTest {
     MockitoAnnotations.openMocks(this);
   }
 
+  @AfterEach
+  void tearDown() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
   @Test
   void testCreateTaskWithInvalidAuthor() {
     TaskRequest taskRequest =
@@ -86,6 +128,208 @@ class TaskServiceTest {
         .hasMessage("Assignee not found");
   }
 
+  @Test
+  void testCreateTasksBatchLoadsUsersOnce() {
+    User author =
+        User.builder()
+            .id(1L)
+            .email("author@example.com")
+            .password("password")
+            .role(User.Role.ADMIN)
+            .build();
+    User assignee =
+        User.builder()
+            .id(2L)
+            .email("assignee@example.com")
+            .password("password")
+            .role(User.Role.USER)
+            .build();
+    TaskRequest assigned =
+        TaskRequest.builder()
+            .title("Task Title 1")
+            .description("Task Description")
+            .status(Task.Status.PENDING)
+            .priority(Task.Priority.HIGH)
+            .authorId(1L)
+            .assigneeId(2L)
+            .build();
+    TaskRequest unassigned =
+        TaskRequest.builder()
+            .title("Task Title 2")
+            .description("Task Description")
+            .status(Task.Status.PENDING)
+            .priority(Task.Priority.LOW)
+            .authorId(1L)
+            .build();
+
+    when(userRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(author, assignee));
+    when(taskRepository.saveAllAndFlush(anyList()))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+
+    List<TaskBatchResult> results = taskService.createTasksBatch(List.of(assigned, unassigned));
+
+    assertThat(results)
+        .extracting(TaskBatchResult::getTask)
+        .extracting(TaskResponse::getTitle, TaskResponse::getAuthorId, TaskResponse::getAssigneeId)
+        .containsExactly(tuple("Task Title 1", 1L, 2L), tuple("Task Title 2", 1L, null));
+    verify(userRepository, never()).findById(any());
+    verify(taskCountCache, times(1)).onCreated(1L, 2L);
+    verify(taskCountCache, times(1)).onCreated(1L, null);
+  }
+
+  @Test
+  void testCreateTasksBatchWithInvalidAssignee() {
+    User author =
+        User.builder()
+            .id(1L)
+            .email("author@example.com")
+            .password("password")
+            .role(User.Role.ADMIN)
+            .build();
+    TaskRequest taskRequest =
+        TaskRequest.builder()
+            .title("Task Title")
+            .description("Task Description")
+            .status(Task.Status.PENDING)
+            .priority(Task.Priority.HIGH)
+            .authorId(1L)
+            .assigneeId(2L)
+            .build();
+
+    when(userRepository.findAllById(any())).thenReturn(List.of(author));
+
+    List<TaskBatchResult> results = taskService.createTasksBatch(List.of(taskRequest));
+
+    assertThat(results).extracting(TaskBatchResult::isSuccess).containsExactly(false);
+    assertThat(results.get(0).getErrors()).containsExactly("Assignee not found");
+    verify(taskRepository, never()).saveAllAndFlush(any());
+    verify(taskCountCache, never()).onCreated(any(), any());
+  }
+
+  @Test
+  void testCreateTasksBatch() {
+    User author =
+        User.builder()
+            .id(1L)
+            .email("author@example.com")
+            .password("password")
+            .role(User.Role.ADMIN)
+            .build();
+    TaskRequest valid =
+        TaskRequest.builder()
+            .title("Task Title")
+            .description("Task Description")
+            .status(Task.Status.PENDING)
+            .priority(Task.Priority.HIGH)
+            .authorId(1L)
+            .build();
+    TaskRequest blankTitle =
+        TaskRequest.builder()
+            .title("")
+            .description("Task Description")
+            .status(Task.Status.PENDING)
+            .priority(Task.Priority.HIGH)
+            .authorId(1L)
+            .build();
+    TaskRequest unknownAssignee =
+        TaskRequest.builder()
+            .title("Task Title")
+            .description("Task Description")
+            .status(Task.Status.PENDING)
+            .priority(Task.Priority.HIGH)
+            .authorId(1L)
+            .assigneeId(3L)
+            .build();
+
+    when(userRepository.findAllById(Set.of(1L, 3L))).thenReturn(List.of(author));
+    when(taskRepository.saveAllAndFlush(anyList()))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+
+    List<TaskBatchResult> results =
+        taskService.createTasksBatch(Arrays.asList(valid, blankTitle, unknownAssignee, null));
+
+    assertThat(results).extracting(TaskBatchResult::getIndex).containsExactly(0, 1, 2, 3);
+    assertThat(results)
+        .extracting(TaskBatchResult::isSuccess)
+        .containsExactly(true, false, false, false);
+    assertThat(results.get(0).getTask().getTitle()).isEqualTo("Task Title");
+    assertThat(results.get(1).getErrors()).containsExactly("Title is mandatory");
+    assertThat(results.get(2).getErrors()).containsExactly("Assignee not found");
+    assertThat(results.get(3).getErrors()).containsExactly("Item is mandatory");
+    verify(userRepository, times(1)).findAllById(any());
+    verify(taskRepository, times(1))
+        .saveAllAndFlush(argThat(tasks -> tasks.spliterator().getExactSizeIfKnown() == 1));
+    verify(taskCountCache, times(1)).onCreated(1L, null);
+  }
+
+  @Test
+  void testCreateTasksBatchWithTooManyItems() {
+    List<TaskRequest> taskRequests =
+        Collections.nCopies(1001, TaskRequest.builder().title("Task Title").build());
+
+    assertThatThrownBy(() -> taskService.createTasksBatch(taskRequests))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Batch size must be between 1 and 1000");
+    verify(userRepository, never()).findAllById(any());
+  }
+
+  @Test
+  void testUpdateTasksBatch() {
+    User author =
+        User.builder()
+            .id(1L)
+            .email("author@example.com")
+            .password("password")
+            .role(User.Role.ADMIN)
+            .build();
+    User assignee =
+        User.builder()
+            .id(2L)
+            .email("assignee@example.com")
+            .password("password")
+            .role(User.Role.USER)
+            .build();
+    Task task =
+        Task.builder()
+            .id(1L)
+            .title("Task Title")
+            .description("Task Description")
+            .status(Task.Status.PENDING)
+            .priority(Task.Priority.HIGH)
+            .author(author)
+            .createdAt(LocalDateTime.now())
+            .updatedAt(LocalDateTime.now())
+            .build();
+
+    when(taskRepository.findAllById(Set.of(1L, 5L))).thenReturn(List.of(task));
+    when(userRepository.findAllById(Set.of(2L, 4L))).thenReturn(List.of(assignee));
+
+    List<TaskBatchResult> results =
+        taskService.updateTasksBatch(
+            List.of(
+                TaskBatchUpdateRequest.builder()
+                    .id(1L)
+                    .status(Task.Status.COMPLETED)
+                    .assigneeId(2L)
+                    .build(),
+                TaskBatchUpdateRequest.builder().id(5L).title("Missing").build(),
+                TaskBatchUpdateRequest.builder().id(1L).title("Ignored").assigneeId(4L).build(),
+                TaskBatchUpdateRequest.builder().title("No id").build()));
+
+    assertThat(results)
+        .extracting(TaskBatchResult::isSuccess)
+        .containsExactly(true, false, false, false);
+    assertThat(results.get(0).getTask().getStatus()).isEqualTo(Task.Status.COMPLETED);
+    assertThat(results.get(0).getTask().getAssigneeId()).isEqualTo(2L);
+    assertThat(results.get(1).getErrors()).containsExactly("Task not found");
+    assertThat(results.get(2).getErrors()).containsExactly("Assignee not found");
+    assertThat(results.get(3).getErrors()).containsExactly("Task ID is mandatory");
+    assertThat(task.getTitle()).isEqualTo("Task Title");
+    verify(taskRepository, times(1)).saveAllAndFlush(List.of(task));
+    verify(taskAssigneeCache, times(1)).evict(1L);
+    verify(taskCountCache, times(1)).onAssigneeChanged(null, 2L);
+  }
+
   @Test
   void testPartialUpdateTask() {
     Long taskId = 1L;
@@ -129,10 +373,11 @@ class TaskServiceTest {
 
     when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
     when(userRepository.findById(2L)).thenReturn(Optional.of(assignee));
-    when(taskRepository.save(any(Task.class))).thenReturn(task);
+    when(taskRepository.saveAndFlush(any(Task.class))).thenReturn(task);
 
     TaskResponse response = taskService.partialUpdateTask(taskId, taskRequest);
 
+    verify(taskAssigneeCache, times(1)).evict(taskId);
     assertThat(response).isNotNull();
     assertThat(response.getId()).isEqualTo(1L);
     assertThat(response.getTitle()).isEqualTo("Updated Title");
@@ -247,10 +492,11 @@ class TaskServiceTest {
     when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
     when(userRepository.findById(1L)).thenReturn(Optional.of(author));
     when(userRepository.findById(2L)).thenReturn(Optional.of(assignee));
-    when(taskRepository.save(any(Task.class))).thenReturn(task);
+    when(taskRepository.saveAndFlush(any(Task.class))).thenReturn(task);
 
     TaskResponse response = taskService.fullUpdateTask(taskId, taskRequest);
 
+    verify(taskAssigneeCache, times(1)).evict(taskId);
     assertThat(response).isNotNull();
     assertThat(response.getId()).isEqualTo(1L);
     assertThat(response.getTitle()).isEqualTo("Updated Title");
@@ -359,22 +605,88 @@ class TaskServiceTest {
   void testDeleteTask() {
     Long taskId = 1L;
 
-    when(taskRepository.existsById(taskId)).thenReturn(true);
+    when(taskRepository.findOwnersByIdIn(List.of(taskId)))
+        .thenReturn(List.of(new TaskOwners(taskId, 1L, null)));
 
     taskService.deleteTask(taskId);
 
-    verify(taskRepository, times(1)).deleteById(taskId);
+    verify(taskRepository, times(1)).deleteAllByIdIn(List.of(taskId));
+    verify(taskRepository, never()).findById(any());
+    verify(taskAssigneeCache, times(1)).evict(taskId);
+    verify(taskCountCache, times(1)).onDeleted(1L, null);
   }
 
   @Test
   void testDeleteTaskWithInvalidTask() {
     Long taskId = 1L;
 
-    when(taskRepository.existsById(taskId)).thenReturn(false);
+    when(taskRepository.findOwnersByIdIn(List.of(taskId))).thenReturn(List.of());
 
     assertThatThrownBy(() -> taskService.deleteTask(taskId))
         .isInstanceOf(IllegalArgumentException.class)
         .hasMessage("Task not found");
+    verify(taskRepository, never()).deleteAllByIdIn(any());
+  }
+
+  @Test
+  void testDeleteTasks() {
+    List<Long> ids = List.of(1L, 2L, 3L);
+
+    when(taskRepository.findOwnersByIdIn(ids))
+        .thenReturn(List.of(new TaskOwners(1L, 1L, null), new TaskOwners(3L, 1L, 2L)));
+
+    assertThat(taskService.deleteTasks(ids)).isEqualTo(2);
+
+    verify(taskRepository, times(1)).deleteAllByIdIn(List.of(1L, 3L));
+    verify(taskAssigneeCache, times(1)).evict(1L);
+    verify(taskAssigneeCache, times(1)).evict(3L);
+    verify(taskCountCache, times(1)).onDeleted(1L, null);
+    verify(taskCountCache, times(1)).onDeleted(1L, 2L);
+    verify(taskTombstoneRepository, times(1))
+        .saveAll(
+            argThat(
+                (List<TaskTombstone> tombstones) ->
+                    tombstones.stream()
+                        .map(t -> t.getTaskId() + ":" + t.getAssigneeId() + ":" + t.getReason())
+                        .toList()
+                        .equals(List.of("1:null:DELETED", "3:2:DELETED"))));
+  }
+
+  @Test
+  void testPartialUpdateTaskRecordsReassignment() {
+    User oldAssignee = User.builder().id(2L).email("old@example.com").build();
+    User newAssignee = User.builder().id(3L).email("new@example.com").build();
+    Task task =
+        Task.builder()
+            .id(1L)
+            .title("Task Title")
+            .status(Task.Status.PENDING)
+            .priority(Task.Priority.HIGH)
+            .author(User.builder().id(1L).build())
+            .assignee(oldAssignee)
+            .build();
+
+    when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+    when(userRepository.findById(3L)).thenReturn(Optional.of(newAssignee));
+    when(taskRepository.saveAndFlush(task)).thenReturn(task);
+
+    taskService.partialUpdateTask(1L, PartialUpdateTaskRequest.builder().assigneeId(3L).build());
+
+    verify(taskTombstoneRepository, times(1))
+        .save(
+            argThat(
+                tombstone ->
+                    tombstone.getTaskId().equals(1L)
+                        && tombstone.getAssigneeId().equals(2L)
+                        && tombstone.getReason() == TaskTombstone.Reason.REASSIGNED
+                        && tombstone.getRemovedAt().equals(task.getUpdatedAt())));
+  }
+
+  @Test
+  void testDeleteTasksWithoutIds() {
+    assertThatThrownBy(() -> taskService.deleteTasks(List.of()))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Batch size must be between 1 and 1000");
   }
 
   @Test
@@ -430,41 +742,35 @@ class TaskServiceTest {
     Long authorId = 1L;
     Pageable pageable = PageRequest.of(0, 10);
 
-    User author =
-        User.builder()
-            .id(1L)
-            .email("author@example.com")
-            .password("password")
-            .role(User.Role.ADMIN)
-            .build();
-
-    Task task1 =
-        Task.builder()
-            .id(1L)
-            .title("Task Title 1")
-            .description("Task Description 1")
-            .status(Task.Status.PENDING)
-            .priority(Task.Priority.HIGH)
-            .author(author)
-            .createdAt(LocalDateTime.now())
-            .updatedAt(LocalDateTime.now())
-            .build();
-
-    Task task2 =
-        Task.builder()
-            .id(2L)
-            .title("Task Title 2")
-            .description("Task Description 2")
-            .status(Task.Status.IN_PROGRESS)
-            .priority(Task.Priority.MEDIUM)
-            .author(author)
-            .createdAt(LocalDateTime.now())
-            .updatedAt(LocalDateTime.now())
-            .build();
-
-    Page<Task> taskPage = new PageImpl<>(Arrays.asList(task1, task2));
-
-    when(taskRepository.findByAuthorId(authorId, pageable)).thenReturn(taskPage);
+    TaskResponse task1 =
+        new TaskResponse(
+            1L,
+            "Task Title 1",
+            "Task Description 1",
+            Task.Status.PENDING,
+            Task.Priority.HIGH,
+            1L,
+            null,
+            LocalDateTime.now(),
+            LocalDateTime.now(),
+            0L);
+
+    TaskResponse task2 =
+        new TaskResponse(
+            2L,
+            "Task Title 2",
+            "Task Description 2",
+            Task.Status.IN_PROGRESS,
+            Task.Priority.MEDIUM,
+            1L,
+            null,
+            LocalDateTime.now(),
+            LocalDateTime.now(),
+            0L);
+
+    Slice<TaskResponse> taskSlice = new SliceImpl<>(Arrays.asList(task1, task2), pageable, false);
+
+    when(taskRepository.findResponseSliceByAuthorId(authorId, pageable)).thenReturn(taskSlice);
 
     Page<TaskResponse> responsePage = taskService.getTasksByAuthor(authorId, pageable);
 
@@ -474,6 +780,7 @@ class TaskServiceTest {
     assertThat(responsePage.getContent().get(0).getTitle()).isEqualTo("Task Title 1");
     assertThat(responsePage.getContent().get(1).getId()).isEqualTo(2L);
     assertThat(responsePage.getContent().get(1).getTitle()).isEqualTo("Task Title 2");
+    verify(taskRepository, never()).findByAuthorId(any(), any());
   }
 
   @Test
@@ -481,51 +788,35 @@ class TaskServiceTest {
     Long assigneeId = 2L;
     Pageable pageable = PageRequest.of(0, 10);
 
-    User author =
-        User.builder()
-            .id(1L)
-            .email("author@example.com")
-            .password("password")
-            .role(User.Role.ADMIN)
-            .build();
-
-    User assignee =
-        User.builder()
-            .id(2L)
-            .email("assignee@example.com")
-            .password("password")
-            .role(User.Role.USER)
-            .build();
-
-    Task task1 =
-        Task.builder()
-            .id(1L)
-            .title("Task Title 1")
-            .description("Task Description 1")
-            .status(Task.Status.PENDING)
-            .priority(Task.Priority.HIGH)
-            .author(author)
-            .assignee(assignee)
-            .createdAt(LocalDateTime.now())
-            .updatedAt(LocalDateTime.now())
-            .build();
-
-    Task task2 =
-        Task.builder()
-            .id(2L)
-            .title("Task Title 2")
-            .description("Task Description 2")
-            .status(Task.Status.IN_PROGRESS)
-            .priority(Task.Priority.MEDIUM)
-            .author(author)
-            .assignee(assignee)
-            .createdAt(LocalDateTime.now())
-            .updatedAt(LocalDateTime.now())
-            .build();
-
-    Page<Task> taskPage = new PageImpl<>(Arrays.asList(task1, task2));
-
-    when(taskRepository.findByAssigneeId(assigneeId, pageable)).thenReturn(taskPage);
+    TaskResponse task1 =
+        new TaskResponse(
+            1L,
+            "Task Title 1",
+            "Task Description 1",
+            Task.Status.PENDING,
+            Task.Priority.HIGH,
+            1L,
+            2L,
+            LocalDateTime.now(),
+            LocalDateTime.now(),
+            0L);
+
+    TaskResponse task2 =
+        new TaskResponse(
+            2L,
+            "Task Title 2",
+            "Task Description 2",
+            Task.Status.IN_PROGRESS,
+            Task.Priority.MEDIUM,
+            1L,
+            2L,
+            LocalDateTime.now(),
+            LocalDateTime.now(),
+            0L);
+
+    Slice<TaskResponse> taskSlice = new SliceImpl<>(Arrays.asList(task1, task2), pageable, false);
+
+    when(taskRepository.findResponseSliceByAssigneeId(assigneeId, pageable)).thenReturn(taskSlice);
 
     Page<TaskResponse> responsePage = taskService.getTasksByAssignee(assigneeId, pageable);
 
@@ -535,47 +826,42 @@ class TaskServiceTest {
     assertThat(responsePage.getContent().get(0).getTitle()).isEqualTo("Task Title 1");
     assertThat(responsePage.getContent().get(1).getId()).isEqualTo(2L);
     assertThat(responsePage.getContent().get(1).getTitle()).isEqualTo("Task Title 2");
+    verify(taskRepository, never()).findByAssigneeId(any(), any());
   }
 
   @Test
   void testGetAllTasks() {
     Pageable pageable = PageRequest.of(0, 10);
 
-    User author =
-        User.builder()
-            .id(1L)
-            .email("author@example.com")
-            .password("password")
-            .role(User.Role.ADMIN)
-            .build();
-
-    Task task1 =
-        Task.builder()
-            .id(1L)
-            .title("Task Title 1")
-            .description("Task Description 1")
-            .status(Task.Status.PENDING)
-            .priority(Task.Priority.HIGH)
-            .author(author)
-            .createdAt(LocalDateTime.now())
-            .updatedAt(LocalDateTime.now())
-            .build();
-
-    Task task2 =
-        Task.builder()
-            .id(2L)
-            .title("Task Title 2")
-            .description("Task Description 2")
-            .status(Task.Status.IN_PROGRESS)
-            .priority(Task.Priority.MEDIUM)
-            .author(author)
-            .createdAt(LocalDateTime.now())
-            .updatedAt(LocalDateTime.now())
-            .build();
-
-    Page<Task> taskPage = new PageImpl<>(Arrays.asList(task1, task2));
-
-    when(taskRepository.findAll(pageable)).thenReturn(taskPage);
+    TaskResponse task1 =
+        new TaskResponse(
+            1L,
+            "Task Title 1",
+            "Task Description 1",
+            Task.Status.PENDING,
+            Task.Priority.HIGH,
+            1L,
+            null,
+            LocalDateTime.now(),
+            LocalDateTime.now(),
+            0L);
+
+    TaskResponse task2 =
+        new TaskResponse(
+            2L,
+            "Task Title 2",
+            "Task Description 2",
+            Task.Status.IN_PROGRESS,
+            Task.Priority.MEDIUM,
+            1L,
+            null,
+            LocalDateTime.now(),
+            LocalDateTime.now(),
+            0L);
+
+    Slice<TaskResponse> taskSlice = new SliceImpl<>(Arrays.asList(task1, task2), pageable, false);
+
+    when(taskRepository.findResponseSlice(pageable)).thenReturn(taskSlice);
 
     Page<TaskResponse> responsePage = taskService.getAllTasks(pageable);
 
@@ -585,47 +871,129 @@ class TaskServiceTest {
     assertThat(responsePage.getContent().get(0).getTitle()).isEqualTo("Task Title 1");
     assertThat(responsePage.getContent().get(1).getId()).isEqualTo(2L);
     assertThat(responsePage.getContent().get(1).getTitle()).isEqualTo("Task Title 2");
+    verify(taskRepository, never()).findAll(any(Pageable.class));
   }
 
   @Test
-  void testIsAssignee() {
-    Long taskId = 1L;
-    String username = "assignee@example.com";
+  void testGetAllTasksUsesCachedCount() {
+    Pageable pageable = PageRequest.of(0, 1);
+    TaskResponse task =
+        new TaskResponse(
+            1L,
+            "Task Title",
+            "Task Description",
+            Task.Status.PENDING,
+            Task.Priority.HIGH,
+            1L,
+            null,
+            LocalDateTime.now(),
+            LocalDateTime.now(),
+            0L);
+
+    when(taskRepository.findResponseSlice(pageable))
+        .thenReturn(new SliceImpl<>(List.of(task), pageable, true));
+    when(taskCountCache.countAll()).thenReturn(42L);
 
-    User author =
-        User.builder()
-            .id(1L)
-            .email("author@example.com")
-            .password("password")
-            .role(User.Role.ADMIN)
-            .build();
+    Page<TaskResponse> responsePage = taskService.getAllTasks(pageable);
 
-    User assignee =
-        User.builder()
-            .id(2L)
-            .email("assignee@example.com")
-            .password("password")
-            .role(User.Role.USER)
-            .build();
+    assertThat(responsePage.getTotalElements()).isEqualTo(42L);
+    verify(taskRepository, never()).count();
+  }
 
-    Task task =
-        Task.builder()
-            .id(1L)
-            .title("Task Title")
-            .description("Task Description")
-            .status(Task.Status.PENDING)
-            .priority(Task.Priority.HIGH)
-            .author(author)
-            .assignee(assignee)
-            .createdAt(LocalDateTime.now())
-            .updatedAt(LocalDateTime.now())
-            .build();
+  @Test
+  void testGetAllTasksSkipsCountForLastPage() {
+    Pageable pageable = PageRequest.of(0, 10);
 
-    when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+    when(taskRepository.findResponseSlice(pageable))
+        .thenReturn(new SliceImpl<>(List.of(), pageable, false));
+
+    assertThat(taskService.getAllTasks(pageable).getTotalElements()).isZero();
+    verify(taskCountCache, never()).countAll();
+  }
+
+  @Test
+  void testGetTaskFeed() {
+    LocalDateTime now = LocalDateTime.now();
+    TaskResponse task1 =
+        new TaskResponse(
+            3L,
+            "Task 3",
+            "Description",
+            Task.Status.PENDING,
+            Task.Priority.HIGH,
+            1L,
+            null,
+            now,
+            now,
+            0L);
+    TaskResponse task2 =
+        new TaskResponse(
+            2L,
+            "Task 2",
+            "Description",
+            Task.Status.PENDING,
+            Task.Priority.HIGH,
+            1L,
+            null,
+            now,
+            now,
+            0L);
+    TaskResponse task3 =
+        new TaskResponse(
+            1L,
+            "Task 1",
+            "Description",
+            Task.Status.PENDING,
+            Task.Priority.HIGH,
+            1L,
+            null,
+            now,
+            now,
+            0L);
+
+    when(taskRepository.findFeed(Limit.of(3))).thenReturn(List.of(task1, task2, task3));
+
+    CursorPage<TaskResponse> page = taskService.getTaskFeed(null, 2);
+
+    assertThat(page.getContent()).containsExactly(task1, task2);
+    assertThat(page.isHasNext()).isTrue();
+    assertThat(FeedCursor.decode(page.getNextCursor())).isEqualTo(new FeedCursor(now, 2L));
+
+    when(taskRepository.findFeedAfter(now, 2L, Limit.of(3))).thenReturn(List.of(task3));
+
+    CursorPage<TaskResponse> nextPage = taskService.getTaskFeed(page.getNextCursor(), 2);
+
+    assertThat(nextPage.getContent()).containsExactly(task3);
+    assertThat(nextPage.isHasNext()).isFalse();
+    assertThat(nextPage.getNextCursor()).isNull();
+  }
+
+  @Test
+  void testGetTaskFeedWithInvalidCursor() {
+    assertThatThrownBy(() -> taskService.getTaskFeed("not-a-cursor", 20))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Invalid cursor");
+  }
+
+  @Test
+  void testGetTaskFeedWithInvalidSize() {
+    assertThatThrownBy(() -> taskService.getTaskFeedByAssignee(1L, null, CursorPage.MAX_SIZE + 1))
+        .isInstanceOf(IllegalArgumentException.class);
+    verify(taskRepository, never()).findFeedByAssigneeId(any(), any());
+  }
+
+  @Test
+  void testIsAssignee() {
+    Long taskId = 1L;
+    String username = "assignee@example.com";
+
+    when(taskAssigneeCache.get(taskId))
+        .thenReturn(Optional.of(new TaskAssignee(taskId, 2L, "assignee@example.com")));
 
     boolean isAssignee = taskService.isAssignee(username, taskId);
 
     assertThat(isAssignee).isTrue();
+    verify(taskRepository, never()).findById(any());
   }
 
   @Test
@@ -633,47 +1001,133 @@ class TaskServiceTest {
     Long taskId = 1L;
     String username = "different@example.com";
 
-    User author =
-        User.builder()
-            .id(1L)
-            .email("author@example.com")
-            .password("password")
-            .role(User.Role.ADMIN)
-            .build();
+    when(taskAssigneeCache.get(taskId))
+        .thenReturn(Optional.of(new TaskAssignee(taskId, 2L, "assignee@example.com")));
 
-    User assignee =
-        User.builder()
-            .id(2L)
-            .email("assignee@example.com")
-            .password("password")
-            .role(User.Role.USER)
+    boolean isAssignee = taskService.isAssignee(username, taskId);
+
+    assertThat(isAssignee).isFalse();
+  }
+
+  @Test
+  void testIsAssigneeWithoutAssignee() {
+    Long taskId = 1L;
+
+    when(taskAssigneeCache.get(taskId))
+        .thenReturn(Optional.of(new TaskAssignee(taskId, null, null)));
+
+    assertThat(taskService.isAssignee("assignee@example.com", taskId)).isFalse();
+  }
+
+  @Test
+  void testIsAssigneeWithInvalidTask() {
+    Long taskId = 1L;
+
+    when(taskAssigneeCache.get(taskId)).thenReturn(Optional.empty());
+
+    assertThatThrownBy(() -> taskService.isAssignee("assignee@example.com", taskId))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Task not found");
+  }
+
+  @Test
+  void testUpdateTaskStatus() {
+    Long taskId = 1L;
+    UpdateTaskStatusRequest updateTaskStatusRequest =
+        UpdateTaskStatusRequest.builder().status(Task.Status.COMPLETED).build();
+    LocalDateTime now = LocalDateTime.now();
+
+    when(taskRepository.updateStatus(eq(taskId), eq(Task.Status.COMPLETED), any())).thenReturn(1);
+    when(taskRepository.findResponseById(taskId))
+        .thenReturn(
+            Optional.of(
+                new TaskResponse(
+                    taskId,
+                    "Task Title",
+                    "Task Description",
+                    Task.Status.COMPLETED,
+                    Task.Priority.HIGH,
+                    1L,
+                    null,
+                    now,
+                    now,
+                    1L)));
+
+    TaskResponse response = taskService.updateTaskStatus(taskId, updateTaskStatusRequest);
+
+    assertThat(response).isNotNull();
+    assertThat(response.getId()).isEqualTo(1L);
+    assertThat(response.getStatus()).isEqualTo(Task.Status.COMPLETED);
+    assertThat(response.getVersion()).isEqualTo(1L);
+    verify(taskRepository, never()).findById(any());
+    verify(taskRepository, never()).save(any(Task.class));
+  }
+
+  @Test
+  void testUpdateTaskStatusVersionMismatch() {
+    Long taskId = 1L;
+    UpdateTaskStatusRequest updateTaskStatusRequest =
+        UpdateTaskStatusRequest.builder().status(Task.Status.COMPLETED).build();
+
+    when(taskRepository.updateStatusIfVersion(eq(taskId), eq(3L), eq(Task.Status.COMPLETED), any()))
+        .thenReturn(0);
+    when(taskRepository.existsById(taskId)).thenReturn(true);
+
+    assertThatThrownBy(() -> taskService.updateTaskStatus(taskId, updateTaskStatusRequest, 3L))
+        .isInstanceOf(OptimisticLockingFailureException.class)
+        .hasMessage("Task version mismatch");
+    verify(taskRepository, never()).findResponseById(any());
+  }
+
+  @Test
+  void testUpdateTaskStatusTaskNotFound() {
+    Long taskId = 1L;
+    UpdateTaskStatusRequest updateTaskStatusRequest =
+        UpdateTaskStatusRequest.builder().status(Task.Status.COMPLETED).build();
+
+    when(taskRepository.updateStatusIfVersion(eq(taskId), eq(3L), eq(Task.Status.COMPLETED), any()))
+        .thenReturn(0);
+    when(taskRepository.existsById(taskId)).thenReturn(false);
+
+    assertThatThrownBy(() -> taskService.updateTaskStatus(taskId, updateTaskStatusRequest, 3L))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Task not found");
+  }
+
+  @Test
+  void testFullUpdateTaskVersionMismatch() {
+    Long taskId = 1L;
+    TaskRequest taskRequest =
+        TaskRequest.builder()
+            .title("Updated Title")
+            .status(Task.Status.IN_PROGRESS)
+            .priority(Task.Priority.MEDIUM)
+            .authorId(1L)
             .build();
 
     Task task =
         Task.builder()
-            .id(1L)
+            .id(taskId)
             .title("Task Title")
-            .description("Task Description")
             .status(Task.Status.PENDING)
             .priority(Task.Priority.HIGH)
-            .author(author)
-            .assignee(assignee)
-            .createdAt(LocalDateTime.now())
-            .updatedAt(LocalDateTime.now())
+            .version(4L)
             .build();
 
     when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
 
-    boolean isAssignee = taskService.isAssignee(username, taskId);
-
-    assertThat(isAssignee).isFalse();
+    assertThatThrownBy(() -> taskService.fullUpdateTask(taskId, taskRequest, 3L))
+        .isInstanceOf(OptimisticLockingFailureException.class)
+        .hasMessage("Task version mismatch");
+    assertThat(task.getTitle()).isEqualTo("Task Title");
+    verify(taskRepository, never()).saveAndFlush(any(Task.class));
   }
 
   @Test
-  void testUpdateTaskStatus() {
+  void testTaskIsLoadedOncePerRequest() {
+    RequestContextHolder.setRequestAttributes(
+        new ServletRequestAttributes(new MockHttpServletRequest()));
     Long taskId = 1L;
-    UpdateTaskStatusRequest updateTaskStatusRequest =
-        UpdateTaskStatusRequest.builder().status(Task.Status.COMPLETED).build();
 
     User author =
         User.builder()
@@ -682,26 +1136,38 @@ class TaskServiceTest {
             .password("password")
             .role(User.Role.ADMIN)
             .build();
+    User assignee =
+        User.builder()
+            .id(2L)
+            .email("assignee@example.com")
+            .password("password")
+            .role(User.Role.USER)
+            .build();
 
     Task task =
         Task.builder()
-            .id(1L)
+            .id(taskId)
             .title("Task Title")
             .description("Task Description")
             .status(Task.Status.PENDING)
             .priority(Task.Priority.HIGH)
             .author(author)
+            .assignee(assignee)
             .createdAt(LocalDateTime.now())
             .updatedAt(LocalDateTime.now())
             .build();
 
     when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
-    when(taskRepository.save(any(Task.class))).thenReturn(task);
+    when(taskRepository.updateStatus(eq(taskId), eq(Task.Status.COMPLETED), any())).thenReturn(1);
+    when(taskRepository.findResponseById(taskId)).thenReturn(Optional.of(new TaskResponse()));
 
-    TaskResponse response = taskService.updateTaskStatus(taskId, updateTaskStatusRequest);
+    taskService.getTaskById(taskId);
+    boolean isAssignee = taskService.isAssignee("assignee@example.com", taskId);
+    taskService.updateTaskStatus(
+        taskId, UpdateTaskStatusRequest.builder().status(Task.Status.COMPLETED).build());
 
-    assertThat(response).isNotNull();
-    assertThat(response.getId()).isEqualTo(1L);
-    assertThat(response.getStatus()).isEqualTo(Task.Status.COMPLETED);
+    assertThat(isAssignee).isTrue();
+    verify(taskRepository, times(1)).findById(taskId);
+    verify(taskAssigneeCache, never()).get(any());
   }
 }
@@ -0,0 +1,89 @@
+package ru.effective_mobile.task_manager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.effective_mobile.task_manager.entities.User;
+import ru.effective_mobile.task_manager.repository.UserRepository;
+
+class TokenVersionServiceTest {
+
+  @Mock private UserRepository userRepository;
+
+  private TokenVersionService tokenVersionService;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    tokenVersionService = new TokenVersionService(userRepository, 100, Duration.ofSeconds(60));
+  }
+
+  @Test
+  void testIsCurrentLoadsVersionOnce() {
+    when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(0));
+
+    assertThat(tokenVersionService.isCurrent(1L, 0)).isTrue();
+    assertThat(tokenVersionService.isCurrent(1L, 0)).isTrue();
+    assertThat(tokenVersionService.isCurrent(1L, 1)).isFalse();
+
+    verify(userRepository, times(1)).findTokenVersionById(1L);
+  }
+
+  @Test
+  void testIsCurrentWithUnknownUser() {
+    when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.empty());
+
+    assertThat(tokenVersionService.isCurrent(1L, 0)).isFalse();
+  }
+
+  @Test
+  void testRevokeInvalidatesPreviousVersion() {
+    User user =
+        User.builder()
+            .id(1L)
+            .email("user@example.com")
+            .password("password")
+            .role(User.Role.USER)
+            .build();
+    when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(0));
+    assertThat(tokenVersionService.isCurrent(1L, 0)).isTrue();
+
+    tokenVersionService.revoke(user);
+    when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(1));
+
+    assertThat(user.getTokenVersion()).isEqualTo(1);
+    assertThat(tokenVersionService.isCurrent(1L, 0)).isFalse();
+    assertThat(tokenVersionService.isCurrent(1L, 1)).isTrue();
+  }
+
+  @Test
+  void testRevokeKeepsCachedVersionUntilCommit() {
+    User user =
+        User.builder()
+            .id(1L)
+            .email("user@example.com")
+            .password("password")
+            .role(User.Role.USER)
+            .build();
+    when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(0));
+    assertThat(tokenVersionService.isCurrent(1L, 0)).isTrue();
+
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      tokenVersionService.revoke(user);
+
+      // До фиксации в базе прежняя версия: действующие токены не отклоняются
+      assertThat(tokenVersionService.isCurrent(1L, 0)).isTrue();
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+    verify(userRepository, times(1)).findTokenVersionById(1L);
+  }
+}
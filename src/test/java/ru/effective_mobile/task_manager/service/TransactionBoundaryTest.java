@@ -0,0 +1,191 @@
+package ru.effective_mobile.task_manager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import ru.effective_mobile.task_manager.dto.CommentRequest;
+import ru.effective_mobile.task_manager.dto.PartialUpdateTaskRequest;
+import ru.effective_mobile.task_manager.dto.TaskRequest;
+import ru.effective_mobile.task_manager.entities.RefreshToken;
+import ru.effective_mobile.task_manager.entities.Task;
+import ru.effective_mobile.task_manager.entities.User;
+import ru.effective_mobile.task_manager.exception.TokenRefreshException;
+import ru.effective_mobile.task_manager.repository.RefreshTokenRepository;
+import ru.effective_mobile.task_manager.repository.UserRepository;
+
+/**
+ * Проверяет границы транзакций сервисов по статистике Hibernate: каждая операция записи выполняется
+ * одной транзакцией, чтение выполняется в транзакции только для чтения без flush.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TransactionBoundaryTest {
+
+  private static final String AUTHOR_EMAIL = "tx-author@example.com";
+
+  @Autowired private TaskService taskService;
+
+  @Autowired private CommentService commentService;
+
+  @Autowired private RefreshTokenService refreshTokenService;
+
+  @Autowired private UserRepository userRepository;
+
+  @Autowired private RefreshTokenRepository refreshTokenRepository;
+
+  @Autowired private TaskAssigneeCache taskAssigneeCache;
+
+  @Autowired private TaskCountCache taskCountCache;
+
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+
+  private User author;
+
+  private User assignee;
+
+  @BeforeEach
+  void setUp() {
+    RequestContextHolder.resetRequestAttributes();
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    author = findOrCreateUser(AUTHOR_EMAIL, User.Role.ADMIN);
+    assignee = findOrCreateUser("tx-assignee@example.com", User.Role.USER);
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void testPartialUpdateTaskCommitsOnce() {
+    Long id = createTask();
+    statistics.clear();
+
+    taskService.partialUpdateTask(
+        id,
+        PartialUpdateTaskRequest.builder()
+            .title("Updated Title")
+            .authorId(author.getId())
+            .assigneeId(assignee.getId())
+            .build());
+
+    assertThat(statistics.getTransactionCount()).isEqualTo(1);
+    assertThat(statistics.getSuccessfulTransactionCount()).isEqualTo(1);
+    assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+  }
+
+  @Test
+  void testReadsDoNotFlush() {
+    Long id = createTask();
+    statistics.clear();
+
+    taskService.getTaskById(id);
+    taskService.getAllTasks(PageRequest.of(0, 10));
+    taskService.isAssignee(AUTHOR_EMAIL, id);
+
+    assertThat(statistics.getTransactionCount()).isEqualTo(3);
+    assertThat(statistics.getFlushCount()).isZero();
+    assertThat(statistics.getEntityUpdateCount()).isZero();
+  }
+
+  @Test
+  void testCreateCommentCommitsOnce() {
+    Long id = createTask();
+    SecurityContextHolder.getContext()
+        .setAuthentication(
+            new UsernamePasswordAuthenticationToken(AUTHOR_EMAIL, "password", List.of()));
+    statistics.clear();
+
+    commentService.createComment(CommentRequest.builder().taskId(id).content("Content").build());
+
+    assertThat(statistics.getTransactionCount()).isEqualTo(1);
+    assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+  }
+
+  @Test
+  void testExpiredRefreshTokenDeletionIsCommitted() {
+    String token = refreshTokenService.createRefreshToken(AUTHOR_EMAIL);
+    RefreshToken stored =
+        refreshTokenRepository.findByTokenHash(RefreshTokenService.hash(token)).orElseThrow();
+    stored.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+    refreshTokenRepository.save(stored);
+
+    assertThatThrownBy(() -> refreshTokenService.refreshAccessToken(token))
+        .isInstanceOf(TokenRefreshException.class);
+
+    assertThat(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash(token))).isEmpty();
+  }
+
+  @Test
+  void testAssigneeCacheIsEvictedAfterCommit() {
+    Long id = createTask();
+    assertThat(taskAssigneeCache.get(id).orElseThrow().assigneeId()).isNull();
+
+    new TransactionTemplate(transactionManager)
+        .executeWithoutResult(
+            status -> {
+              taskService.partialUpdateTask(
+                  id, PartialUpdateTaskRequest.builder().assigneeId(assignee.getId()).build());
+              assertThat(taskAssigneeCache.get(id).orElseThrow().assigneeId()).isNull();
+            });
+
+    assertThat(taskAssigneeCache.get(id).orElseThrow().assigneeId()).isEqualTo(assignee.getId());
+  }
+
+  @Test
+  void testRolledBackCreateDoesNotChangeCachedCount() {
+    long count = taskCountCache.countByAuthor(author.getId());
+
+    new TransactionTemplate(transactionManager)
+        .executeWithoutResult(
+            status -> {
+              createTask();
+              status.setRollbackOnly();
+            });
+
+    assertThat(taskCountCache.countByAuthor(author.getId())).isEqualTo(count);
+  }
+
+  private User findOrCreateUser(String email, User.Role role) {
+    return userRepository
+        .findByEmail(email)
+        .orElseGet(
+            () ->
+                userRepository.save(
+                    User.builder().email(email).password("password").role(role).build()));
+  }
+
+  private Long createTask() {
+    return taskService
+        .createTask(
+            TaskRequest.builder()
+                .title("Task Title")
+                .description("Task Description")
+                .status(Task.Status.PENDING)
+                .priority(Task.Priority.HIGH)
+                .authorId(author.getId())
+                .build())
+        .getId();
+  }
+}
@@ -2,6 +2,7 @@ package ru.effective_mobile.task_manager.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Optional;
@@ -51,4 +52,20 @@ class UserDetailsServiceImplTest {
         .isInstanceOf(UsernameNotFoundException.class)
         .hasMessage("User not found with email: " + email);
   }
+
+  @Test
+  void testUpdatePassword() {
+    String email = "user@example.com";
+    User user = User.builder().id(1L).email(email).password("oldHash").role(User.Role.USER).build();
+
+    when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
+    when(userRepository.save(user)).thenReturn(user);
+
+    UserDetails userDetails =
+        userDetailsService.updatePassword(userDetailsService.loadUserByUsername(email), "newHash");
+
+    assertThat(user.getPassword()).isEqualTo("newHash");
+    assertThat(userDetails.getPassword()).isEqualTo("newHash");
+    verify(userRepository).save(user);
+  }
 }
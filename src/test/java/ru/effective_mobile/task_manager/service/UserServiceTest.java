@@ -11,7 +11,6 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import ru.effective_mobile.task_manager.dto.RegisterRequest;
 import ru.effective_mobile.task_manager.entities.User;
@@ -23,6 +22,10 @@ class UserServiceTest {
 
   @Mock private PasswordEncoder passwordEncoder;
 
+  @Mock private CachedUserDetailsService cachedUserDetailsService;
+
+  @Mock private TokenVersionService tokenVersionService;
+
   @InjectMocks private UserService userService;
 
   @BeforeEach
@@ -42,46 +45,34 @@ class UserServiceTest {
     userService.registerUser(registerRequest);
 
     verify(userRepository, times(1)).save(any(User.class));
+    verify(cachedUserDetailsService, times(1)).invalidate("user@example.com");
   }
 
   @Test
-  void testRegisterUserWithExistingEmail() {
-    RegisterRequest registerRequest =
-        RegisterRequest.builder().email("user@example.com").password("password").build();
-
-    when(userRepository.findByEmail(registerRequest.getEmail()))
-        .thenReturn(Optional.of(new User()));
-
-    assertThatThrownBy(() -> userService.registerUser(registerRequest))
-        .isInstanceOf(IllegalArgumentException.class)
-        .hasMessage("Email already exists");
-  }
-
-  @Test
-  void testSaveRefreshToken() {
+  void testChangeRole() {
     String email = "user@example.com";
-    String refreshToken = "refreshToken";
-
     User user = User.builder().email(email).password("password").role(User.Role.USER).build();
 
     when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
-    when(userRepository.save(any(User.class))).thenReturn(user);
 
-    userService.saveRefreshToken(email, refreshToken);
+    userService.changeRole(email, User.Role.ADMIN);
 
-    verify(userRepository, times(1)).save(any(User.class));
-    assertThat(user.getRefreshToken()).isEqualTo(refreshToken);
+    assertThat(user.getRole()).isEqualTo(User.Role.ADMIN);
+    verify(tokenVersionService, times(1)).revoke(user);
+    verify(userRepository, times(1)).save(user);
+    verify(cachedUserDetailsService, times(1)).invalidate(email);
   }
 
   @Test
-  void testSaveRefreshTokenWithInvalidEmail() {
-    String email = "user@example.com";
-    String refreshToken = "refreshToken";
+  void testRegisterUserWithExistingEmail() {
+    RegisterRequest registerRequest =
+        RegisterRequest.builder().email("user@example.com").password("password").build();
 
-    when(userRepository.findByEmail(email)).thenReturn(Optional.empty());
+    when(userRepository.findByEmail(registerRequest.getEmail()))
+        .thenReturn(Optional.of(new User()));
 
-    assertThatThrownBy(() -> userService.saveRefreshToken(email, refreshToken))
-        .isInstanceOf(UsernameNotFoundException.class)
-        .hasMessage("User not found with email: " + email);
+    assertThatThrownBy(() -> userService.registerUser(registerRequest))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Email already exists");
   }
 }